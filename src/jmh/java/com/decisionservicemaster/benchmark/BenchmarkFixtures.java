@@ -0,0 +1,133 @@
+package com.decisionservicemaster.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.decisionservicemaster.service.ApplicationParams;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.decisionservicemaster.service.Processor;
+import com.decisionservicemaster.service.RequestBuilder;
+import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.decisionservicemaster.service.rule.AdaptiveRuleOrder;
+import com.decisionservicemaster.service.rule.RuleRegistry;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.RuleSnapshotRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * Builds the decision pipeline without Spring for the benchmarks
+ * The repository is an in-memory stub so only application code is measured
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static {
+        // Keep per-call debug/error logging out of the measurements
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    static RuleSnapshotRegistry ruleSnapshotRegistry() {
+        RuleSnapshotRegistry registry = new RuleSnapshotRegistry();
+        registry.init();
+        return registry;
+    }
+
+    /**
+     * Compiles the bundled rules plus the given expression-rules.yml content
+     */
+    static RuleSnapshot ruleSnapshotWith(String expressionRules) {
+        try {
+            Path directory = Files.createTempDirectory("benchmark-rules");
+            for (String fileName : List.of("credit-rule.yml", "mortgage-rule.yml")) {
+                try (InputStream inputStream = new ClassPathResource("rules/" + fileName).getInputStream()) {
+                    Files.copy(inputStream, directory.resolve(fileName));
+                }
+            }
+            Files.writeString(directory.resolve("expression-rules.yml"), expressionRules);
+            return RuleSnapshotRegistry.compile(directory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write benchmark rules", e);
+        }
+    }
+
+    /**
+     * Repository stub whose save returns its argument and performs no I/O
+     */
+    static DecisionRequestRepository inMemoryRepository() {
+        return (DecisionRequestRepository) Proxy.newProxyInstance(
+            DecisionRequestRepository.class.getClassLoader(),
+            new Class<?>[] {DecisionRequestRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "save" -> args[0];
+                case "saveAll" -> args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "InMemoryDecisionRequestRepository";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    static Processor processor(ObjectMapper objectMapper, String executionMode) {
+        Processor processor = new Processor();
+        ReflectionTestUtils.setField(processor, "decisionRequestRepository", inMemoryRepository());
+        ReflectionTestUtils.setField(processor, "reportServiceFactory", ReportServiceFactory.standalone(objectMapper));
+        ReflectionTestUtils.setField(processor, "ruleSnapshotRegistry", ruleSnapshotRegistry());
+        ReflectionTestUtils.setField(processor, "ruleRegistry", RuleRegistry.standalone());
+        ReflectionTestUtils.setField(processor, "adaptiveRuleOrder", AdaptiveRuleOrder.disabled());
+        ReflectionTestUtils.setField(processor, "executionMode", executionMode);
+        ReflectionTestUtils.setField(processor, "decisionMetrics", DecisionMetrics.noop());
+        return processor;
+    }
+
+    /**
+     * Request body in the public API format; the SSN and street exist in the bundled mock data
+     */
+    static Map<String, Object> requestBody() {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", "212 encounter bay");
+        address.put("unitNumber", "123");
+        address.put("city", "test_city");
+        address.put("zip", "321");
+        address.put("state", "California");
+        address.put("county", "Alameda");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("applicationId", 123);
+        request.put("firstName", "john");
+        request.put("lastName", "doe");
+        request.put("ssn", "123456789");
+        request.put("income", 10000);
+        request.put("incomeType", "salary");
+        request.put("requestedLoanAmount", 20000);
+        request.put("address", address);
+        return request;
+    }
+
+    static DecisionRequest newDecisionRequest(RequestBuilder requestBuilder) {
+        ApplicationParams params = ApplicationParams.from(requestBody());
+        return requestBuilder.build(params.applicationId(), params.addressParams(), params.applicantParams());
+    }
+
+    static final List<String> STREETS = List.of(
+        "212 Encounter Bay",
+        "  977 Stannage Avenue ",
+        "1313 Lee Street, Apt #4",
+        "2233 Ashbourne Dr."
+    );
+}
@@ -0,0 +1,157 @@
+package com.decisionservicemaster.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.decisionservicemaster.DecisionServiceMasterApplication;
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.ApplicationParams;
+import com.decisionservicemaster.service.Processor;
+import com.decisionservicemaster.service.RequestBuilder;
+import com.decisionservicemaster.service.report.ApplicantDataService;
+import com.decisionservicemaster.service.report.PropertyDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load test: 32 concurrent callers against a 4-connection pool, with providers that take
+ * providerLatencyMs per call and the report cache off, so every decision waits on I/O.
+ * transactionScope=request holds a transaction (and its connection) around evaluation, as
+ * Processor.process used to; persist opens one only for the save. Throughput is the
+ * sustainable decisions per second for that pool size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ConnectionPoolLoadBenchmark {
+
+    private static final int POOL_SIZE = 4;
+
+    @Param({"request", "persist"})
+    public String transactionScope;
+
+    @Param({"20", "50"})
+    public long providerLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private RequestBuilder requestBuilder;
+    private Processor processor;
+    private TransactionTemplate transactionTemplate;
+    private ApplicationParams params;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DecisionServiceMasterApplication.class)
+            .profiles("test")
+            .initializers(applicationContext -> applicationContext.getBeanFactory()
+                .addBeanPostProcessor(slowProvidersPostProcessor()))
+            .run("--spring.main.web-application-type=none",
+                 "--spring.main.banner-mode=off",
+                 "--logging.level.root=WARN",
+                 "--logging.level.com.decisionservicemaster=OFF",
+                 "--logging.level.org.hibernate.SQL=OFF",
+                 "--app.reports.cache.enabled=false",
+                 "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                 "--spring.datasource.hikari.connection-timeout=60000");
+        requestBuilder = context.getBean(RequestBuilder.class);
+        processor = context.getBean(Processor.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        params = ApplicationParams.from(BenchmarkFixtures.requestBody());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DecisionRequest createDecision() {
+        DecisionRequest decisionRequest = requestBuilder.build(
+            params.applicationId(), params.addressParams(), params.applicantParams());
+        if ("request".equals(transactionScope)) {
+            return transactionTemplate.execute(status -> processor.process(decisionRequest));
+        }
+        return processor.process(decisionRequest);
+    }
+
+    private BeanPostProcessor slowProvidersPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ApplicantDataService) {
+                    SlowApplicantDataService slow = new SlowApplicantDataService(providerLatencyMs);
+                    slow.init();
+                    return slow;
+                }
+                if (bean instanceof PropertyDataService) {
+                    SlowPropertyDataService slow = new SlowPropertyDataService(providerLatencyMs);
+                    slow.init();
+                    return slow;
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class SlowApplicantDataService extends ApplicantDataService {
+
+        private final long latencyMs;
+
+        SlowApplicantDataService(long latencyMs) {
+            super(new ObjectMapper());
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Map<String, Object> call(String ssn) {
+            sleep(latencyMs);
+            return super.call(ssn);
+        }
+    }
+
+    static class SlowPropertyDataService extends PropertyDataService {
+
+        private final long latencyMs;
+
+        SlowPropertyDataService(long latencyMs) {
+            super(new ObjectMapper());
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Map<String, Object> call(String street) {
+            sleep(latencyMs);
+            return super.call(street);
+        }
+    }
+}
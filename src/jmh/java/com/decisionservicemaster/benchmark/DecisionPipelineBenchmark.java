@@ -0,0 +1,77 @@
+package com.decisionservicemaster.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.dto.DecisionRequestResponse;
+import com.decisionservicemaster.service.ApplicationParams;
+import com.decisionservicemaster.service.Processor;
+import com.decisionservicemaster.service.RequestBuilder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Processor.process, response mapping, and the whole request path end to end,
+ * against the bundled mock providers and an in-memory repository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class DecisionPipelineBenchmark {
+
+    @Param({"sequential", "concurrent"})
+    public String executionMode;
+
+    private ObjectMapper objectMapper;
+    private RequestBuilder requestBuilder;
+    private Processor processor;
+    private Map<String, Object> requestBody;
+    private DecisionRequest processedRequest;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        requestBuilder = new RequestBuilder();
+        processor = BenchmarkFixtures.processor(objectMapper, executionMode);
+        requestBody = BenchmarkFixtures.requestBody();
+        processedRequest = processor.process(BenchmarkFixtures.newDecisionRequest(requestBuilder));
+    }
+
+    @Benchmark
+    public DecisionRequest process() {
+        return processor.process(BenchmarkFixtures.newDecisionRequest(requestBuilder));
+    }
+
+    @Benchmark
+    public DecisionRequestResponse responseFrom() {
+        return DecisionRequestResponse.from(processedRequest);
+    }
+
+    /**
+     * Request body to serialized response, i.e. everything DecisionsController.create does except HTTP and JPA
+     */
+    @Benchmark
+    public byte[] endToEnd() throws JsonProcessingException {
+        ApplicationParams params = ApplicationParams.from(requestBody);
+        DecisionRequest decisionRequest = requestBuilder.build(
+            params.applicationId(), params.addressParams(), params.applicantParams());
+        DecisionRequest processed = processor.process(decisionRequest);
+        return objectMapper.writeValueAsBytes(DecisionRequestResponse.from(processed));
+    }
+}
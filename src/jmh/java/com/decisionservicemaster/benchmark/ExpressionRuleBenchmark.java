@@ -0,0 +1,133 @@
+package com.decisionservicemaster.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.RequestBuilder;
+import com.decisionservicemaster.service.report.ReportContext;
+import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.decisionservicemaster.service.rule.MortgageRule;
+import com.decisionservicemaster.service.rule.RuleOutcome;
+import com.decisionservicemaster.service.rule.RuleRegistry;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.expression.Expression;
+import com.decisionservicemaster.service.rule.expression.ExpressionCompiler;
+import com.decisionservicemaster.service.rule.expression.ExpressionInterpreter;
+import com.decisionservicemaster.service.rule.expression.ExpressionRule;
+import com.decisionservicemaster.service.rule.expression.ExpressionRuleDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Declarative rules against the hand-written MortgageRule, with reports already in the context:
+ * the mortgage condition as YAML (mortgage_expression) evaluated as a whole rule, as a compiled
+ * condition and by walking the parsed tree, plus a larger condition compiled and interpreted.
+ * compiled* should be close to mortgageRule and allocate nothing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ExpressionRuleBenchmark {
+
+    private static final String EXPRESSION_RULES = """
+        mortgage_expression:
+          threshold_key: mortgage_threshold
+          eligible_when: "pending_mortgage <= income * mortgage_threshold"
+          states:
+            California:
+              counties:
+                Alameda:
+                  enabled: true
+                  mortgage_threshold: 10
+        compound_expression:
+          eligible_when: >-
+            (pending_mortgage <= income * threshold and credit_score > 600)
+            or (total_mortgage - pending_mortgage) / (requested_loan_amount + 1) >= 2 * 0.5
+          states:
+            California:
+              enabled: true
+              threshold: 10
+        """;
+
+    private MortgageRule mortgageRule;
+    private ExpressionRule mortgageExpressionRule;
+    private ExpressionCompiler.CompiledCondition mortgageCondition;
+    private Expression mortgageExpression;
+    private ExpressionRule compoundExpressionRule;
+    private ExpressionCompiler.CompiledCondition compoundCondition;
+    private Expression compoundExpression;
+
+    @Setup
+    public void setUp() {
+        RuleSnapshot ruleSnapshot = BenchmarkFixtures.ruleSnapshotWith(EXPRESSION_RULES);
+        DecisionRequest decisionRequest = BenchmarkFixtures.newDecisionRequest(new RequestBuilder());
+        ReportContext reportContext = ReportServiceFactory.standalone(new ObjectMapper()).newContext(decisionRequest);
+        RuleRegistry ruleRegistry = RuleRegistry.standalone();
+        reportContext.prefetch(ruleRegistry.ruleNames(ruleSnapshot).stream()
+            .flatMap(ruleName -> ruleRegistry.create(ruleName, decisionRequest, reportContext, ruleSnapshot)
+                .getReportsRequired().stream())
+            .distinct()
+            .toList());
+
+        mortgageRule = new MortgageRule(decisionRequest, reportContext, ruleSnapshot);
+
+        mortgageExpressionRule = new ExpressionRule("mortgage_expression", decisionRequest, reportContext, ruleSnapshot);
+        ExpressionRuleDefinition mortgage = ruleSnapshot.getExpressionRule("mortgage_expression");
+        mortgageCondition = mortgage.condition();
+        mortgageExpression = mortgage.expression();
+
+        compoundExpressionRule = new ExpressionRule("compound_expression", decisionRequest, reportContext, ruleSnapshot);
+        ExpressionRuleDefinition compound = ruleSnapshot.getExpressionRule("compound_expression");
+        compoundCondition = compound.condition();
+        compoundExpression = compound.expression();
+
+        // outcome() also binds the reports the bare condition benchmarks read
+        compoundExpressionRule.outcome();
+        if (mortgageRule.outcome() != mortgageExpressionRule.outcome()) {
+            throw new IllegalStateException("Expression and hand-written mortgage rules disagree");
+        }
+    }
+
+    @Benchmark
+    public RuleOutcome mortgageRule() {
+        return mortgageRule.outcome();
+    }
+
+    @Benchmark
+    public RuleOutcome compiledMortgageRule() {
+        return mortgageExpressionRule.outcome();
+    }
+
+    @Benchmark
+    public boolean compiledMortgageCondition() {
+        return mortgageCondition.test(mortgageExpressionRule);
+    }
+
+    @Benchmark
+    public boolean interpretedMortgageCondition() {
+        return ExpressionInterpreter.test(mortgageExpression, mortgageExpressionRule);
+    }
+
+    @Benchmark
+    public boolean compiledCompoundCondition() {
+        return compoundCondition.test(compoundExpressionRule);
+    }
+
+    @Benchmark
+    public boolean interpretedCompoundCondition() {
+        return ExpressionInterpreter.test(compoundExpression, compoundExpressionRule);
+    }
+}
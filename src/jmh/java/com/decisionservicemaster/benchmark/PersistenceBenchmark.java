@@ -0,0 +1,171 @@
+package com.decisionservicemaster.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.decisionservicemaster.DecisionServiceMasterApplication;
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.ApplicationParams;
+import com.decisionservicemaster.service.BatchDecisionService;
+import com.decisionservicemaster.service.BatchDecisionService.BatchItemResult;
+import com.decisionservicemaster.service.Processor;
+import com.decisionservicemaster.service.RequestBuilder;
+
+/**
+ * The single and batch create paths through Spring Data JPA against the in-memory H2 database
+ * of the test profile, counting JDBC round trips per decision (printed at the end of each trial).
+ * batchSize=1 reproduces the unbatched inserts IDENTITY ids forced; 50 is the configured value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PersistenceBenchmark {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"1", "50"})
+    public String batchSize;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private long decisions;
+    private ConfigurableApplicationContext context;
+    private RequestBuilder requestBuilder;
+    private Processor processor;
+    private BatchDecisionService batchDecisionService;
+    private ApplicationParams params;
+    private List<ApplicationParams> batch;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they take precedence over the profile's yml
+        context = new SpringApplicationBuilder(DecisionServiceMasterApplication.class)
+            .profiles("test")
+            .initializers(applicationContext -> applicationContext.getBeanFactory()
+                .addBeanPostProcessor(countingDataSourcePostProcessor()))
+            .run("--spring.main.web-application-type=none",
+                 "--spring.main.banner-mode=off",
+                 "--logging.level.root=WARN",
+                 "--logging.level.com.decisionservicemaster=OFF",
+                 "--logging.level.org.hibernate.SQL=OFF",
+                 "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        requestBuilder = context.getBean(RequestBuilder.class);
+        processor = context.getBean(Processor.class);
+        batchDecisionService = context.getBean(BatchDecisionService.class);
+        params = ApplicationParams.from(BenchmarkFixtures.requestBody());
+        batch = Collections.nCopies(BATCH_SIZE, params);
+        createDecision();
+        roundTrips.set(0);
+        decisions = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nbatchSize=%s: %.2f JDBC round trips per decision%n",
+            batchSize, (double) roundTrips.get() / Math.max(decisions, 1));
+        context.close();
+    }
+
+    /**
+     * POST /api/v1/decisions in the default two-phase write mode
+     */
+    @Benchmark
+    public DecisionRequest createDecision() {
+        decisions++;
+        DecisionRequest built = requestBuilder
+            .buildDecisionRequest(params.applicationId(), params.addressParams(), params.applicantParams())
+            .getDecisionRequest();
+        return processor.process(built);
+    }
+
+    /**
+     * POST /api/v1/decisions with app.processor.write-mode=single-write: the aggregate is persisted once
+     */
+    @Benchmark
+    public DecisionRequest createDecisionSingleWrite() {
+        decisions++;
+        DecisionRequest built = requestBuilder.build(params.applicationId(), params.addressParams(), params.applicantParams());
+        return processor.process(built);
+    }
+
+    /**
+     * POST /api/v1/decisions/batch: aggregates saved together in chunks, where rows of the same table share a batch
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResult> createBatch() {
+        decisions += BATCH_SIZE;
+        return batchDecisionService.process(batch);
+    }
+
+    private BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? counting(DataSource.class, dataSource) : bean;
+            }
+        };
+    }
+
+    /**
+     * Proxies a DataSource, Connection or Statement so every execute* call is counted
+     * and every Connection or Statement it hands out is proxied in turn
+     */
+    private <T> T counting(Class<T> type, T target) {
+        Class<?> proxyType = target instanceof CallableStatement ? CallableStatement.class
+            : target instanceof PreparedStatement ? PreparedStatement.class
+            : type;
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {proxyType},
+            (proxy, method, args) -> {
+                if (EXECUTE_METHODS.contains(method.getName())) {
+                    roundTrips.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection) {
+                    return counting(Connection.class, connection);
+                }
+                if (result instanceof Statement statement && !"getStatement".equals(method.getName())) {
+                    return counting(Statement.class, statement);
+                }
+                return result;
+            }));
+    }
+}
@@ -0,0 +1,105 @@
+package com.decisionservicemaster.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.decisionservicemaster.domain.entity.Address;
+import com.decisionservicemaster.domain.entity.Applicant;
+import com.decisionservicemaster.domain.entity.CreditReport;
+import com.decisionservicemaster.domain.entity.MortgageReport;
+import com.decisionservicemaster.service.parser.ApplicantReportParser;
+import com.decisionservicemaster.service.parser.PropertyReportParser;
+import com.decisionservicemaster.service.report.PropertyDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Street normalization and provider payload parsing, the per-report CPU work of a decision
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ReportParsingBenchmark {
+
+    private PropertyDataService propertyDataService;
+    private ApplicantReportParser applicantReportParser;
+    private PropertyReportParser propertyReportParser;
+    private Map<String, Object> creditPayload;
+    private Map<String, Object> propertyPayload;
+    private Applicant applicant;
+    private Address address;
+
+    @Setup
+    public void setUp() {
+        propertyDataService = new PropertyDataService(new ObjectMapper());
+        // Fuzzy matching is off by default; fuzzyPropertyLookup measures it with one typo allowed
+        ReflectionTestUtils.setField(propertyDataService, "maxEdits", 1);
+        propertyDataService.init();
+        applicantReportParser = new ApplicantReportParser();
+        propertyReportParser = new PropertyReportParser();
+
+        creditPayload = Map.of("credit_score", 9, "other_data", "abc");
+        propertyPayload = Map.of(
+            "total_mortgage_amount", "100000",
+            "pending_mortgage_amount", "10000",
+            "regular_in_payment", "regular");
+        applicant = new Applicant();
+        address = new Address();
+    }
+
+    @Benchmark
+    public void normalizeStreet(Blackhole blackhole) {
+        for (String street : BenchmarkFixtures.STREETS) {
+            blackhole.consume(propertyDataService.normalizeStreet(street));
+        }
+    }
+
+    /**
+     * The regex normalization StreetNormalizer replaced, as the baseline for normalizeStreet
+     */
+    @Benchmark
+    public void regexNormalizeStreet(Blackhole blackhole) {
+        for (String street : BenchmarkFixtures.STREETS) {
+            blackhole.consume(street.toLowerCase()
+                .trim()
+                .replaceAll("[^a-z0-9]+", "_")
+                .replaceAll("_+", "_")
+                .replaceAll("^_|_$", ""));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> exactPropertyLookup() {
+        return propertyDataService.call("2233 Ashbourne Drive");
+    }
+
+    @Benchmark
+    public Map<String, Object> fuzzyPropertyLookup() {
+        return propertyDataService.call("2233 Ashborne Dr");
+    }
+
+    @Benchmark
+    public CreditReport parseCreditReport() {
+        return applicantReportParser.parse(creditPayload, applicant);
+    }
+
+    @Benchmark
+    public MortgageReport parseMortgageReport() {
+        return propertyReportParser.parse(propertyPayload, address);
+    }
+}
@@ -0,0 +1,83 @@
+package com.decisionservicemaster.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decisionservicemaster.service.report.store.ReportStore;
+import com.decisionservicemaster.service.report.store.ReportStoreBuilder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Random-key lookups in the memory-mapped report store against the heap map it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ReportStoreBenchmark {
+
+    @Param("1000000")
+    private int records;
+
+    private Path file;
+    private ReportStore store;
+    private Map<String, Map<String, Object>> heapMap;
+    private String[] keys;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        keys = new String[records];
+        for (int i = 0; i < records; i++) {
+            keys[i] = String.valueOf(100_000_000 + i);
+            json.append(i == 0 ? "" : ",").append('"').append(keys[i])
+                .append("\": {\"credit_score\": ").append(i % 850).append(", \"other_data\": \"abc\"}");
+        }
+        byte[] bytes = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+
+        file = Files.createTempFile("report-store-benchmark-", ".store");
+        new ReportStoreBuilder(new JsonFactory()).build(new ByteArrayInputStream(bytes), file);
+        store = ReportStore.open(file);
+        heapMap = new ObjectMapper().readValue(bytes, new TypeReference<HashMap<String, Map<String, Object>>>() {});
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Map<String, Object> storeLookup() {
+        return store.get(keys[ThreadLocalRandom.current().nextInt(records)]);
+    }
+
+    @Benchmark
+    public Map<String, Object> heapMapLookup() {
+        return heapMap.get(keys[ThreadLocalRandom.current().nextInt(records)]);
+    }
+}
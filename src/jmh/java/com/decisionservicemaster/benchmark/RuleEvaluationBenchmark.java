@@ -0,0 +1,83 @@
+package com.decisionservicemaster.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.RequestBuilder;
+import com.decisionservicemaster.service.report.ReportContext;
+import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.decisionservicemaster.service.rule.CreditRule;
+import com.decisionservicemaster.service.rule.MortgageRule;
+import com.decisionservicemaster.service.rule.RuleIndex;
+import com.decisionservicemaster.service.rule.RuleOutcome;
+import com.decisionservicemaster.service.rule.RuleRegistry;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Rule evaluation core with reports already in the request's context: config slot resolution,
+ * threshold reads and the credit and mortgage decisions. Run with -prof gc; every benchmark
+ * here should report ~0 B/op
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RuleEvaluationBenchmark {
+
+    private RuleIndex creditRules;
+    private CreditRule creditRule;
+    private MortgageRule mortgageRule;
+    private int creditScore;
+
+    @Setup
+    public void setUp() {
+        RuleSnapshot ruleSnapshot = BenchmarkFixtures.ruleSnapshotRegistry().current();
+        DecisionRequest decisionRequest = BenchmarkFixtures.newDecisionRequest(new RequestBuilder());
+        ReportContext reportContext = ReportServiceFactory.standalone(new ObjectMapper()).newContext(decisionRequest);
+        RuleRegistry ruleRegistry = RuleRegistry.standalone();
+        reportContext.prefetch(ruleRegistry.ruleNames(ruleSnapshot).stream()
+            .flatMap(ruleName -> ruleRegistry.create(ruleName, decisionRequest, reportContext, ruleSnapshot)
+                .getReportsRequired().stream())
+            .toList());
+
+        creditRules = ruleSnapshot.getIndex("credit_rule");
+        creditRule = new CreditRule(decisionRequest, reportContext, ruleSnapshot);
+        mortgageRule = new MortgageRule(decisionRequest, reportContext, ruleSnapshot);
+        creditScore = 700;
+    }
+
+    @Benchmark
+    public RuleOutcome creditRule() {
+        return creditRule.outcome();
+    }
+
+    @Benchmark
+    public RuleOutcome mortgageRule() {
+        return mortgageRule.outcome();
+    }
+
+    /**
+     * State/county interning and the credit decision from primitive inputs
+     */
+    @Benchmark
+    public RuleOutcome creditDecisionFromAddress() {
+        int slot = creditRules.slot("California", "Alameda");
+        return creditRules.isEnabled(slot)
+            ? CreditRule.decide(creditScore, creditRules.threshold(slot))
+            : RuleOutcome.UNAVAILABLE;
+    }
+}
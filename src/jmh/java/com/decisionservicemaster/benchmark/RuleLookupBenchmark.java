@@ -0,0 +1,51 @@
+package com.decisionservicemaster.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decisionservicemaster.service.rule.RuleConfig;
+import com.decisionservicemaster.service.rule.RuleIndex;
+
+/**
+ * Rule config lookup (successor of RulesConfigHelper.getConfig) for the three lookup outcomes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RuleLookupBenchmark {
+
+    private RuleIndex creditRules;
+
+    @Setup
+    public void setUp() {
+        creditRules = BenchmarkFixtures.ruleSnapshotRegistry().getIndex("credit_rule");
+    }
+
+    @Benchmark
+    public RuleConfig countyOverride() {
+        return creditRules.lookup("California", "Alameda");
+    }
+
+    @Benchmark
+    public RuleConfig stateDefault() {
+        return creditRules.lookup("California", "Unlisted County");
+    }
+
+    @Benchmark
+    public RuleConfig unknownState() {
+        return creditRules.lookup("Nowhere", "Alameda");
+    }
+}
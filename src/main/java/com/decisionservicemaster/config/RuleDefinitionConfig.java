@@ -0,0 +1,28 @@
+package com.decisionservicemaster.config;
+
+import com.decisionservicemaster.service.rule.CreditRule;
+import com.decisionservicemaster.service.rule.MortgageRule;
+import com.decisionservicemaster.service.rule.RuleDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Built-in rules; RuleRegistry picks up every RuleDefinition bean, in @Order order
+ * A new rule class only needs a definition bean here (or a @Component implementing RuleDefinition)
+ */
+@Configuration
+public class RuleDefinitionConfig {
+    
+    @Bean
+    @Order(10)
+    public RuleDefinition mortgageRuleDefinition() {
+        return MortgageRule.DEFINITION;
+    }
+    
+    @Bean
+    @Order(20)
+    public RuleDefinition creditRuleDefinition() {
+        return CreditRule.DEFINITION;
+    }
+}
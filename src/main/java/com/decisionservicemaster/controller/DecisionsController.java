@@ -1,97 +1,239 @@
 package com.decisionservicemaster.controller;
 
+import com.decisionservicemaster.service.ApplicationParams;
+import com.decisionservicemaster.service.BatchDecisionService;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.decisionservicemaster.service.DecisionQueryService;
+import com.decisionservicemaster.service.IdempotencyService;
+import com.decisionservicemaster.service.BatchDecisionService.BatchItemResult;
 import com.decisionservicemaster.service.Processor;
 import com.decisionservicemaster.service.RequestBuilder;
+import com.decisionservicemaster.service.StreamingDecisionService;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.dto.BatchDecisionResponse;
 import com.decisionservicemaster.dto.DecisionRequestResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 @RestController
 @RequestMapping("/api/v1/decisions")
 public class DecisionsController {
 
+    private static final Logger logger = LoggerFactory.getLogger(DecisionsController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String SINGLE_WRITE = "single-write";
+    private static final String WRITE_BEHIND = "write-behind";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final Processor processor;
     private final RequestBuilder requestBuilder;
+    private final BatchDecisionService batchDecisionService;
+    private final StreamingDecisionService streamingDecisionService;
+    private final DecisionMetrics decisionMetrics;
+    private final IdempotencyService idempotencyService;
+    private final DecisionQueryService decisionQueryService;
+
+    @Value("${app.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    /**
+     * two-phase: save the request, then process and save again (default)
+     * single-write: build and evaluate in memory, then persist the aggregate once
+     * write-behind: build and evaluate in memory, journal the aggregate locally and persist it in the background
+     */
+    @Value("${app.processor.write-mode:two-phase}")
+    private String writeMode;
 
-    public DecisionsController(Processor processor, RequestBuilder requestBuilder) {
+    public DecisionsController(Processor processor, RequestBuilder requestBuilder,
+                               BatchDecisionService batchDecisionService,
+                               StreamingDecisionService streamingDecisionService,
+                               DecisionMetrics decisionMetrics,
+                               IdempotencyService idempotencyService,
+                               DecisionQueryService decisionQueryService) {
         this.processor = processor;
         this.requestBuilder = requestBuilder;
+        this.batchDecisionService = batchDecisionService;
+        this.streamingDecisionService = streamingDecisionService;
+        this.decisionMetrics = decisionMetrics;
+        this.idempotencyService = idempotencyService;
+        this.decisionQueryService = decisionQueryService;
     }
 
     @PostMapping
-    public ResponseEntity<?> create(@RequestBody Map<String, Object> requestBody) {
-        Integer applicationId = parseApplicationId(requestBody);
-        Map<String, Object> addressParams = extractAddressParams(requestBody);
-        Map<String, Object> applicantParams = extractApplicantParams(requestBody);
+    public ResponseEntity<?> create(@RequestBody Map<String, Object> requestBody,
+                                    @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (!IdempotencyService.isAcceptedKey(idempotencyKey)) {
+            return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("message",
+                    "Idempotency key longer than " + IdempotencyService.MAX_KEY_LENGTH + " characters"));
+        }
+        ApplicationParams params = ApplicationParams.from(requestBody);
         
-        RequestBuilder builder = requestBuilder.buildDecisionRequest(
-            applicationId,
-            addressParams,
-            applicantParams
-        );
-
-        if (!builder.isValid()) {
+        IdempotencyService.Result result = idempotencyService.submit(
+            idempotencyKey, params.applicationId(), requestBody, () -> decide(params));
+        if (result.conflict()) {
+            return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("message", "Idempotency key already used with a different request"));
+        }
+        if (result.response() == null) {
             return ResponseEntity
                 .status(HttpStatus.UNPROCESSABLE_ENTITY)
                 .body(Map.of("message", "Request not valid"));
         }
 
-        DecisionRequest decision = processor.process(builder.getDecisionRequest());
-        DecisionRequestResponse response = DecisionRequestResponse.from(decision);
-        return ResponseEntity.ok(response);
+        if (result.replayed()) {
+            return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, "true").body(result.response());
+        }
+        decisionQueryService.invalidate(params.applicationId());
+        return ResponseEntity.ok(result.response());
     }
 
-    private Integer parseApplicationId(Map<String, Object> requestBody) {
-        if (requestBody.get("applicationId") == null) {
+    /**
+     * Returns the newest stored decision of an application
+     * Answers 304 when If-None-Match carries the current ETag
+     */
+    @GetMapping("/{applicationId}")
+    public ResponseEntity<?> show(@PathVariable Integer applicationId, WebRequest webRequest) {
+        Optional<DecisionQueryService.StoredDecision> stored = decisionQueryService.find(applicationId);
+        if (stored.isEmpty()) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", "Decision not found"));
+        }
+
+        String etag = stored.get().etag();
+        if (webRequest.checkNotModified(etag)) {
             return null;
         }
-        
-        Object appIdObj = requestBody.get("applicationId");
-        if (appIdObj instanceof Number) {
-            return ((Number) appIdObj).intValue();
-        } else if (appIdObj instanceof String) {
-            try {
-                return Integer.parseInt((String) appIdObj);
-            } catch (NumberFormatException e) {
-                return null;
-            }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(stored.get().response());
+    }
+
+    /**
+     * Builds, evaluates and persists one application in the configured write mode
+     *
+     * @return The response, or null if the request could not be built
+     */
+    private DecisionRequestResponse decide(ApplicationParams params) {
+        DecisionRequest decision = switch (writeMode) {
+            case SINGLE_WRITE -> createInMemory(params, processor::process);
+            case WRITE_BEHIND -> createInMemory(params, processor::processWriteBehind);
+            default -> createTwoPhase(params);
+        };
+        if (decision == null) {
+            return null;
         }
-        return null;
+        return decisionMetrics.timeResponse(() -> DecisionRequestResponse.from(decision));
     }
 
-    private Map<String, Object> extractAddressParams(Map<String, Object> requestBody) {
-        Map<String, Object> addressMap = (Map<String, Object>) requestBody.get("address");
-        
-        if (addressMap == null) {
-            return new HashMap<>();
+    /**
+     * Saves the request, applicant and address first, then processes and saves again
+     *
+     * @return The processed request, or null if it could not be built
+     */
+    private DecisionRequest createTwoPhase(ApplicationParams params) {
+        RequestBuilder builder = requestBuilder.buildDecisionRequest(
+            params.applicationId(),
+            params.addressParams(),
+            params.applicantParams()
+        );
+
+        if (!builder.isValid()) {
+            return null;
         }
-        
-        Map<String, Object> addressParams = new HashMap<>();
-        addressParams.put("street", addressMap.get("street"));
-        addressParams.put("unitNumber", addressMap.get("unitNumber"));
-        addressParams.put("city", addressMap.get("city"));
-        addressParams.put("zip", addressMap.get("zip"));
-        addressParams.put("state", addressMap.get("state"));
-        addressParams.put("county", addressMap.get("county"));
-        
-        return addressParams;
+        return processor.process(builder.getDecisionRequest());
     }
 
-    private Map<String, Object> extractApplicantParams(Map<String, Object> requestBody) {
-        Map<String, Object> applicantParams = new HashMap<>();
-        
-        applicantParams.put("firstName", requestBody.get("firstName"));
-        applicantParams.put("lastName", requestBody.get("lastName"));
-        applicantParams.put("ssn", requestBody.get("ssn"));
-        applicantParams.put("income", requestBody.get("income"));
-        applicantParams.put("incomeType", requestBody.get("incomeType"));
-        applicantParams.put("requestedLoanAmount", requestBody.get("requestedLoanAmount"));
-        
-        return applicantParams;
+    /**
+     * Builds the whole aggregate in memory and hands it to the given processing step
+     * Required columns are checked first, so a request that could never be saved is rejected
+     * before any report provider is called, as the two-phase path rejects it on its first save
+     *
+     * @return The processed request, or null if it is not valid or violates a database constraint
+     */
+    private DecisionRequest createInMemory(ApplicationParams params, UnaryOperator<DecisionRequest> process) {
+        List<String> errors = RequestBuilder.validate(params.addressParams(), params.applicantParams());
+        if (!errors.isEmpty()) {
+            logger.warn("Rejected decision request for application {}: {}", params.applicationId(), errors);
+            return null;
+        }
+
+        DecisionRequest decisionRequest;
+        try {
+            decisionRequest = decisionMetrics.timeRequestBuild(() -> requestBuilder.build(
+                params.applicationId(),
+                params.addressParams(),
+                params.applicantParams()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to build decision request", e);
+            return null;
+        }
+        try {
+            return process.apply(decisionRequest);
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Failed to save decision request for application {}", params.applicationId(), e);
+            return null;
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBatch(@RequestBody List<Map<String, Object>> requestBody) {
+        if (requestBody.isEmpty()) {
+            return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("message", "Batch is empty"));
+        }
+        if (requestBody.size() > maxBatchSize) {
+            return ResponseEntity
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("message", "Batch exceeds maximum size of " + maxBatchSize));
+        }
+
+        List<ApplicationParams> items = new ArrayList<>(requestBody.size());
+        for (Map<String, Object> itemBody : requestBody) {
+            items.add(ApplicationParams.from(itemBody));
+        }
+
+        List<BatchItemResult> results = batchDecisionService.process(items);
+        return ResponseEntity.ok(decisionMetrics.timeResponse(() -> BatchDecisionResponse.from(results)));
+    }
+
+    /**
+     * Streams NDJSON results back while the NDJSON request body is still being read
+     * Results are written in completion order; each line carries the record's input index
+     */
+    @PostMapping(path = "/stream", consumes = NDJSON, produces = NDJSON)
+    public void createStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+
+        StreamingDecisionService.StreamSummary summary =
+            streamingDecisionService.process(request.getInputStream(), response.getOutputStream());
+        logger.info("Streamed {} decisions ({} processed, {} failed)",
+            summary.received(), summary.processed(), summary.failed());
     }
-}
\ No newline at end of file
+}
@@ -18,7 +18,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Address {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_seq")
+    @SequenceGenerator(name = "addresses_seq", sequenceName = "addresses_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "street", nullable = false, columnDefinition = "TEXT")
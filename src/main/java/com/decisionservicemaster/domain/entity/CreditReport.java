@@ -17,7 +17,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class CreditReport {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credit_reports_seq")
+    @SequenceGenerator(name = "credit_reports_seq", sequenceName = "credit_reports_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "credit_score")
@@ -19,7 +19,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Decision {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "decisions_seq")
+    @SequenceGenerator(name = "decisions_seq", sequenceName = "decisions_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "rule_name")
@@ -31,6 +32,9 @@ public class Decision {
     @Column(name = "message")
     private String message;
     
+    @Column(name = "rule_snapshot_version")
+    private String ruleSnapshotVersion;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -14,23 +14,27 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
-@Table(name = "decision_requests")
+@Table(name = "decision_requests",
+       indexes = @Index(name = "idx_decision_requests_application_id", columnList = "application_id"))
 @Data
 @NoArgsConstructor
 @ToString(exclude = {"decisions", "applicants", "addresses"})
 public class DecisionRequest {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "decision_requests_seq")
+    @SequenceGenerator(name = "decision_requests_seq", sequenceName = "decision_requests_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "application_id")
@@ -81,19 +85,36 @@ public class DecisionRequest {
         return addresses;
     }
     
+    public void addDecision(Decision decision) {
+        decision.setDecisionRequest(this);
+        getDecisions().add(decision);
+    }
+    
     @PrePersist
     @PreUpdate
     private void setDecision() {
-        this.decision = isRuleWithDeclineOrUnavailable() ? "decline" : "eligible";
+        this.decision = finalDecisionOf(decisions);
+    }
+    
+    /**
+     * Combines rule decisions: any decline or unavailable rule declines the request
+     */
+    public static String finalDecisionOf(List<Decision> decisions) {
+        return isRuleWithDeclineOrUnavailable(decisions) ? "decline" : "eligible";
     }
     
-    private boolean isRuleWithDeclineOrUnavailable() {
+    private static boolean isRuleWithDeclineOrUnavailable(List<Decision> decisions) {
         if (decisions == null) return false;
         
-        return decisions.stream().anyMatch(decision -> 
-            "decline".equals(decision.getDecision()) || 
-            "unavailable".equals(decision.getDecision())
-        );
+        return decisions.stream().anyMatch(DecisionRequest::declines);
+    }
+    
+    /**
+     * True if the rule decision alone declines the request
+     */
+    public static boolean declines(Decision decision) {
+        return "decline".equals(decision.getDecision()) || 
+               "unavailable".equals(decision.getDecision());
     }
     
     // Helper methods to get primary applicant and address
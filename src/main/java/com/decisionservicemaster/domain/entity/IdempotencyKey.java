@@ -0,0 +1,57 @@
+package com.decisionservicemaster.domain.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The first result of an idempotent submission, keyed by its Idempotency-Key or applicationId
+ *
+ * The unique constraint on idempotency_key lets only one instance record a key; the request hash
+ * tells a retry of the same body apart from a key reused for a different request.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_idempotency_key",
+                                             columnNames = "idempotency_key"))
+@Data
+@NoArgsConstructor
+public class IdempotencyKey {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_seq")
+    @SequenceGenerator(name = "idempotency_keys_seq", sequenceName = "idempotency_keys_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "idempotency_key", nullable = false, length = 300)
+    private String idempotencyKey;  // "key:<header>" or "application:<applicationId>"
+    
+    @Column(name = "application_id")
+    private Integer applicationId;
+    
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;  // SHA-256 of the request body, hex
+    
+    @Column(name = "response", nullable = false, length = 10000)
+    private String response;  // DecisionRequestResponse as JSON
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public IdempotencyKey(String idempotencyKey, Integer applicationId, String requestHash, String response) {
+        this.idempotencyKey = idempotencyKey;
+        this.applicationId = applicationId;
+        this.requestHash = requestHash;
+        this.response = response;
+        this.createdAt = LocalDateTime.now();
+    }
+}
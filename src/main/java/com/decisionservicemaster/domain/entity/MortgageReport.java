@@ -17,7 +17,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class MortgageReport {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mortgage_reports_seq")
+    @SequenceGenerator(name = "mortgage_reports_seq", sequenceName = "mortgage_reports_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "total_mortgage")
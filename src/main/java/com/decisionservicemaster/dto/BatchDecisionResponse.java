@@ -0,0 +1,75 @@
+package com.decisionservicemaster.dto;
+
+import com.decisionservicemaster.service.BatchDecisionService.BatchItemResult;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BatchDecisionResponse {
+    
+    @JsonProperty("processed")
+    private int processed;
+    
+    @JsonProperty("failed")
+    private int failed;
+    
+    @JsonProperty("results")
+    private List<Item> results;
+    
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        
+        @JsonProperty("index")
+        private int index;
+        
+        @JsonProperty("application_id")
+        private Integer applicationId;
+        
+        @JsonProperty("status")
+        private String status;
+        
+        @JsonProperty("errors")
+        private List<String> errors;
+        
+        @JsonProperty("result")
+        private DecisionRequestResponse result;
+        
+        public static Item from(BatchItemResult batchResult) {
+            Item item = new Item();
+            item.setIndex(batchResult.index());
+            item.setApplicationId(batchResult.applicationId());
+            item.setStatus(batchResult.status());
+            
+            if (batchResult.isProcessed()) {
+                item.setResult(DecisionRequestResponse.from(batchResult.decisionRequest()));
+            } else {
+                item.setErrors(batchResult.errors());
+            }
+            return item;
+        }
+    }
+    
+    // Static factory method to create response from batch results (already in input order)
+    public static BatchDecisionResponse from(List<BatchItemResult> batchResults) {
+        BatchDecisionResponse response = new BatchDecisionResponse();
+        List<Item> items = new ArrayList<>(batchResults.size());
+        
+        for (BatchItemResult batchResult : batchResults) {
+            if (batchResult.isProcessed()) {
+                response.processed++;
+            } else {
+                response.failed++;
+            }
+            items.add(Item.from(batchResult));
+        }
+        
+        response.setResults(items);
+        return response;
+    }
+}
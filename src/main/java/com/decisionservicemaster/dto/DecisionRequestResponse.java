@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Data
 @NoArgsConstructor
@@ -43,7 +44,59 @@ public class DecisionRequestResponse {
         response.setApplicant(serializeApplicant(decisionRequest.getPrimaryApplicant()));
         response.setFinalDecision(decisionRequest.getDecision());
         response.setDecision(serializeDecisions(decisionRequest));
-        response.setFundingOptions(getFundingOptions(decisionRequest));
+        response.setFundingOptions(getFundingOptions(decisionRequest.getDecision()));
+        
+        return response;
+    }
+    
+    /**
+     * Creates the response for the request in rows from findNewestRowsByApplicationId,
+     * using its first address and applicant like from(DecisionRequest) does
+     */
+    public static DecisionRequestResponse fromRows(List<DecisionRow> rows) {
+        DecisionRow first = rows.get(0);
+        DecisionRequestResponse response = new DecisionRequestResponse();
+        
+        response.setApplicationId(first.applicationId());
+        response.setFinalDecision(first.finalDecision());
+        
+        Map<String, String> addressMap = new HashMap<>();
+        if (first.addressId() != null) {
+            addressMap.put("street", first.street());
+            addressMap.put("unit_number", first.unitNumber());
+            addressMap.put("city", first.city());
+            addressMap.put("zip", first.zip());
+            addressMap.put("state", first.state());
+            addressMap.put("county", first.county());
+        }
+        response.setAddress(addressMap);
+        
+        Map<String, Object> applicantMap = new HashMap<>();
+        if (first.applicantId() != null) {
+            applicantMap.put("first_name", first.firstName());
+            applicantMap.put("last_name", first.lastName());
+            applicantMap.put("ssn", first.encryptedSsn()); // Return encrypted SSN
+            applicantMap.put("income", first.income());
+            applicantMap.put("income_type", first.incomeType());
+            applicantMap.put("requested_loan_amount", first.requestedLoanAmount());
+        }
+        response.setApplicant(applicantMap);
+        
+        // Each decision appears once per address-applicant pair; keep the first pair's copy
+        List<Map<String, String>> decisionsList = new ArrayList<>();
+        for (DecisionRow row : rows) {
+            if (row.decisionId() != null
+                    && Objects.equals(row.addressId(), first.addressId())
+                    && Objects.equals(row.applicantId(), first.applicantId())) {
+                Map<String, String> decisionMap = new HashMap<>();
+                decisionMap.put("rule_name", row.ruleName());
+                decisionMap.put("decision", row.decision());
+                decisionMap.put("message", row.message());
+                decisionsList.add(decisionMap);
+            }
+        }
+        response.setDecision(decisionsList);
+        response.setFundingOptions(getFundingOptions(first.finalDecision()));
         
         return response;
     }
@@ -88,10 +141,10 @@ public class DecisionRequestResponse {
         return decisionsList;
     }
     
-    private static List<Map<String, Object>> getFundingOptions(DecisionRequest decisionRequest) {
+    private static List<Map<String, Object>> getFundingOptions(String finalDecision) {
         List<Map<String, Object>> options = new ArrayList<>();
         
-        if ("eligible".equals(decisionRequest.getDecision())) {
+        if ("eligible".equals(finalDecision)) {
             Map<String, Object> option1 = new HashMap<>();
             option1.put("years", 5);
             option1.put("interest_rate", 6);
@@ -0,0 +1,30 @@
+package com.decisionservicemaster.dto;
+
+/**
+ * One flattened row of a stored decision: the request joined with an address, an applicant and
+ * a rule decision. Selected directly by DecisionRequestRepository.findNewestRowsByApplicationId, so no
+ * entities are loaded; the join columns are null when the request has none of that child
+ */
+public record DecisionRow(
+        Long requestId,
+        Integer applicationId,
+        String finalDecision,
+        Long addressId,
+        String street,
+        String unitNumber,
+        String city,
+        String zip,
+        String state,
+        String county,
+        Long applicantId,
+        String firstName,
+        String lastName,
+        String encryptedSsn,
+        Double income,
+        String incomeType,
+        Double requestedLoanAmount,
+        Long decisionId,
+        String ruleName,
+        String decision,
+        String message) {
+}
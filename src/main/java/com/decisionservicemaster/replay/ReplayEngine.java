@@ -0,0 +1,117 @@
+package com.decisionservicemaster.replay;
+
+import com.decisionservicemaster.domain.entity.Address;
+import com.decisionservicemaster.domain.entity.Decision;
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.ApplicationParams;
+import com.decisionservicemaster.service.RequestBuilder;
+import com.decisionservicemaster.service.report.ReportContext;
+import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.decisionservicemaster.service.rule.RuleRegistry;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Replays recorded applications against one or two rule snapshots, with no database or HTTP
+ * Uses the same RequestBuilder, rules and report services as the live Processor, so a
+ * replayed decision matches what the service would have returned for that snapshot.
+ * Reports are fetched once per record and shared by both snapshots.
+ */
+public class ReplayEngine {
+    
+    private static final TypeReference<Map<String, Object>> REQUEST_BODY = new TypeReference<>() {};
+    
+    private final RuleSnapshot baseline;
+    private final RuleSnapshot candidate;
+    private final ObjectMapper objectMapper;
+    private final RequestBuilder requestBuilder = new RequestBuilder();
+    private final ReportServiceFactory reportServiceFactory;
+    private final RuleRegistry ruleRegistry = RuleRegistry.standalone();
+    
+    /**
+     * @param baseline Rules currently in production
+     * @param candidate Proposed rules to compare against, or null to only replay the baseline
+     */
+    public ReplayEngine(RuleSnapshot baseline, RuleSnapshot candidate, ObjectMapper objectMapper) {
+        this.baseline = baseline;
+        this.candidate = candidate;
+        this.objectMapper = objectMapper;
+        this.reportServiceFactory = ReportServiceFactory.standalone(objectMapper);
+        ruleRegistry.validate(baseline);
+        if (candidate != null) {
+            ruleRegistry.validate(candidate);
+        }
+    }
+    
+    /**
+     * Replays every non-blank line of an NDJSON file in parallel on the current fork/join pool
+     */
+    public ReplayReport run(Path input) throws IOException {
+        try (Stream<String> lines = Files.lines(input)) {
+            return lines.parallel()
+                .filter(line -> !line.isBlank())
+                .collect(ReplayReport::new, this::replay, ReplayReport::merge);
+        }
+    }
+    
+    /**
+     * Replays a single record into the given (thread-confined) report
+     */
+    void replay(ReplayReport report, String line) {
+        ApplicationParams params;
+        DecisionRequest decisionRequest;
+        try {
+            params = ApplicationParams.from(objectMapper.readValue(line, REQUEST_BODY));
+            decisionRequest = requestBuilder.build(
+                params.applicationId(), params.addressParams(), params.applicantParams());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            report.addInvalid();
+            return;
+        }
+        
+        ReportContext reportContext = reportServiceFactory.newContext(decisionRequest);
+        Outcome baselineOutcome = evaluate(decisionRequest, reportContext, baseline);
+        Outcome candidateOutcome = candidate != null ? evaluate(decisionRequest, reportContext, candidate) : null;
+        
+        Address address = decisionRequest.getPrimaryAddress();
+        report.add(params.applicationId(), address.getState(), address.getCounty(), baselineOutcome, candidateOutcome);
+    }
+    
+    private Outcome evaluate(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot) {
+        List<String> ruleNames = ruleRegistry.ruleNames(ruleSnapshot);
+        Map<String, String> ruleDecisions = new LinkedHashMap<>();
+        List<Decision> decisions = new ArrayList<>(ruleNames.size());
+        
+        for (String ruleName : ruleNames) {
+            Decision decision = ruleRegistry.create(ruleName, decisionRequest, reportContext, ruleSnapshot).evaluate();
+            if (decision == null) {
+                ruleDecisions.put(ruleName, ReplayReport.DISABLED);
+            } else {
+                ruleDecisions.put(ruleName, decision.getDecision());
+                decisions.add(decision);
+            }
+        }
+        
+        return new Outcome(ruleDecisions, DecisionRequest.finalDecisionOf(decisions));
+    }
+    
+    /**
+     * Decisions for one record under one snapshot
+     *
+     * @param ruleDecisions Decision per rule name, in evaluation order ("disabled" if the rule did not apply)
+     * @param finalDecision Combined decision, as stored on the DecisionRequest
+     */
+    record Outcome(Map<String, String> ruleDecisions, String finalDecision) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.decisionservicemaster.replay;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Mutable replay totals, accumulated per thread and merged at the end
+ * Not thread-safe: each fork/join task fills its own instance (see Stream.collect)
+ */
+public class ReplayReport {
+    
+    static final String DISABLED = "disabled";
+    static final String FINAL_DECISION = "final_decision";
+    
+    private long records;
+    private long invalid;
+    private final Map<String, Long> baselineCounts = new HashMap<>();
+    private final Map<String, Long> candidateCounts = new HashMap<>();
+    private final Map<Location, Long> recordsByLocation = new HashMap<>();
+    private final Map<Flip, Long> flips = new HashMap<>();
+    private final List<Integer> flippedApplicationIds = new ArrayList<>();
+    
+    /**
+     * State/county a record was evaluated for
+     */
+    record Location(String state, String county) {
+    }
+    
+    /**
+     * A rule (or the final decision) whose outcome changed between snapshots at a location
+     */
+    record Flip(Location location, String rule, String from, String to) {
+    }
+    
+    void addInvalid() {
+        invalid++;
+    }
+    
+    void add(Integer applicationId, String state, String county,
+             ReplayEngine.Outcome baseline, ReplayEngine.Outcome candidate) {
+        records++;
+        Location location = new Location(state, county);
+        recordsByLocation.merge(location, 1L, Long::sum);
+        count(baselineCounts, baseline);
+        
+        if (candidate == null) {
+            return;
+        }
+        count(candidateCounts, candidate);
+        
+        // A rule only one snapshot declares counts as disabled in the other
+        Set<String> ruleNames = new LinkedHashSet<>(baseline.ruleDecisions().keySet());
+        ruleNames.addAll(candidate.ruleDecisions().keySet());
+        for (String ruleName : ruleNames) {
+            String from = baseline.ruleDecisions().getOrDefault(ruleName, DISABLED);
+            String to = candidate.ruleDecisions().getOrDefault(ruleName, DISABLED);
+            if (!from.equals(to)) {
+                flips.merge(new Flip(location, ruleName, from, to), 1L, Long::sum);
+            }
+        }
+        
+        if (!baseline.finalDecision().equals(candidate.finalDecision())) {
+            flips.merge(new Flip(location, FINAL_DECISION, baseline.finalDecision(), candidate.finalDecision()),
+                        1L, Long::sum);
+            flippedApplicationIds.add(applicationId);
+        }
+    }
+    
+    private void count(Map<String, Long> counts, ReplayEngine.Outcome outcome) {
+        outcome.ruleDecisions().forEach((ruleName, decision) -> counts.merge(ruleName + "." + decision, 1L, Long::sum));
+        counts.merge(FINAL_DECISION + "." + outcome.finalDecision(), 1L, Long::sum);
+    }
+    
+    void merge(ReplayReport other) {
+        records += other.records;
+        invalid += other.invalid;
+        other.baselineCounts.forEach((key, count) -> baselineCounts.merge(key, count, Long::sum));
+        other.candidateCounts.forEach((key, count) -> candidateCounts.merge(key, count, Long::sum));
+        other.recordsByLocation.forEach((key, count) -> recordsByLocation.merge(key, count, Long::sum));
+        other.flips.forEach((key, count) -> flips.merge(key, count, Long::sum));
+        flippedApplicationIds.addAll(other.flippedApplicationIds);
+    }
+    
+    public long getRecords() {
+        return records;
+    }
+    
+    public long getInvalid() {
+        return invalid;
+    }
+    
+    /**
+     * Number of records whose final decision differs between the snapshots
+     */
+    public long getFlippedCount() {
+        return flippedApplicationIds.size();
+    }
+    
+    /**
+     * Number of records at a location whose rule (or "final_decision") went from one outcome to another
+     */
+    public long getFlips(String state, String county, String rule, String from, String to) {
+        return flips.getOrDefault(new Flip(new Location(state, county), rule, from, to), 0L);
+    }
+    
+    /**
+     * Returns the report as nested maps with a stable key order, ready for JSON serialization
+     */
+    public Map<String, Object> toMap(Map<String, Object> baselineInfo, Map<String, Object> candidateInfo) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("baseline", baselineInfo);
+        if (candidateInfo != null) {
+            result.put("candidate", candidateInfo);
+        }
+        result.put("records", records);
+        result.put("invalid", invalid);
+        result.put("baseline_counts", new TreeMap<>(baselineCounts));
+        if (candidateInfo != null) {
+            result.put("candidate_counts", new TreeMap<>(candidateCounts));
+            result.put("flipped", flippedApplicationIds.size());
+        }
+        
+        Map<String, Map<String, Object>> byLocation = new TreeMap<>();
+        recordsByLocation.forEach((location, count) -> locationEntry(byLocation, location).put("records", count));
+        flips.forEach((flip, count) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Long> ruleFlips = (Map<String, Long>) locationEntry(byLocation, flip.location())
+                .computeIfAbsent("flips", key -> new TreeMap<String, Long>());
+            ruleFlips.merge(flip.rule() + ": " + flip.from() + " -> " + flip.to(), count, Long::sum);
+        });
+        result.put("by_location", byLocation.values());
+        
+        if (candidateInfo != null) {
+            result.put("flipped_application_ids", flippedApplicationIds.stream()
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList());
+        }
+        return result;
+    }
+    
+    private Map<String, Object> locationEntry(Map<String, Map<String, Object>> byLocation, Location location) {
+        return byLocation.computeIfAbsent(location.state() + "/" + location.county(), key -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("state", location.state());
+            entry.put("county", location.county());
+            return entry;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.decisionservicemaster.replay;
+
+import ch.qos.logback.classic.Level;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.RuleSnapshotRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless backtest: replays an NDJSON file of applications against two rule versions
+ * and writes a JSON diff report. Runs without Spring, a database or HTTP.
+ *
+ * Usage:
+ *   mvn -Preplay compile exec:exec -Dreplay.input=requests.jsonl -Dreplay.candidate=/path/to/new-rules
+ *
+ * Arguments:
+ *   --input=FILE        NDJSON file, one application per line (required)
+ *   --baseline=DIR      Current rule directory (default: bundled classpath rules)
+ *   --candidate=DIR     Proposed rule directory (omit to only replay the baseline)
+ *   --output=FILE       Report file (default: replay-report.json)
+ *   --parallelism=N     Worker threads (default: all cores)
+ *   --verbose=true      Keep application logging (off by default; it dominates at high volume)
+ */
+public class ReplayRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplayRunner.class);
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String input = options.get("input");
+        if (input == null || input.isBlank()) {
+            System.err.println("Usage: ReplayRunner --input=FILE [--baseline=DIR] [--candidate=DIR] "
+                + "[--output=FILE] [--parallelism=N] [--verbose=true]");
+            System.exit(2);
+        }
+        
+        if (!Boolean.parseBoolean(options.get("verbose"))) {
+            quietApplicationLogging();
+        }
+        
+        RuleSnapshot baseline = RuleSnapshotRegistry.compile(toPath(options.get("baseline")));
+        Path candidateDirectory = toPath(options.get("candidate"));
+        RuleSnapshot candidate = candidateDirectory != null ? RuleSnapshotRegistry.compile(candidateDirectory) : null;
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReplayEngine engine = new ReplayEngine(baseline, candidate, objectMapper);
+        int parallelism = Integer.parseInt(
+            options.getOrDefault("parallelism", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        
+        long start = System.nanoTime();
+        ReplayReport report = run(engine, Path.of(input), parallelism);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        Path output = Path.of(options.getOrDefault("output", "replay-report.json"));
+        Map<String, Object> result = report.toMap(describe(baseline), candidate != null ? describe(candidate) : null);
+        result.put("elapsed_ms", elapsedMillis);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+        
+        logger.info("Replayed {} records ({} invalid) in {} ms, {} final decisions flipped; report written to {}",
+                    report.getRecords(), report.getInvalid(), elapsedMillis, report.getFlippedCount(), output);
+    }
+    
+    private static ReplayReport run(ReplayEngine engine, Path input, int parallelism)
+            throws InterruptedException, ExecutionException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Parallel streams run on the pool of the task that starts them
+            return pool.submit(() -> {
+                try {
+                    return engine.run(input);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read " + input, e);
+                }
+            }).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private static Map<String, Object> describe(RuleSnapshot snapshot) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("version", snapshot.getVersion());
+        info.put("source", snapshot.getSource());
+        return info;
+    }
+    
+    private static Path toPath(String value) {
+        return value == null || value.isBlank() || "classpath".equals(value) ? null : Path.of(value);
+    }
+    
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+    
+    private static void quietApplicationLogging() {
+        // Not-found reports are logged per record by the report services
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.decisionservicemaster")).setLevel(Level.OFF);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ReplayRunner.class)).setLevel(Level.INFO);
+    }
+}
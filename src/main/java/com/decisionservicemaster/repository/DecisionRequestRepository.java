@@ -1,6 +1,7 @@
 package com.decisionservicemaster.repository;
 
 import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.dto.DecisionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -34,4 +35,24 @@ public interface DecisionRequestRepository extends JpaRepository<DecisionRequest
     Optional<DecisionRequest> findByApplicationIdWithRelations(@Param("applicationId") Integer applicationId);
     
     boolean existsByApplicationId(Integer applicationId);
+    
+    /**
+     * The newest request of an application flattened into rows in one query, without loading entities
+     * Older resubmissions are excluded by the query, so the read cost does not grow with them
+     * Rows are its addresses, applicants and decisions in insertion order
+     */
+    @Query("SELECT new com.decisionservicemaster.dto.DecisionRow(" +
+           "dr.id, dr.applicationId, dr.decision, " +
+           "a.id, a.street, a.unitNumber, a.city, a.zip, a.state, a.county, " +
+           "ap.id, ap.firstName, ap.lastName, ap.encryptedSsn, ap.income, ap.incomeType, ap.requestedLoanAmount, " +
+           "d.id, d.ruleName, d.decision, d.message) " +
+           "FROM DecisionRequest dr " +
+           "LEFT JOIN dr.addresses a " +
+           "LEFT JOIN dr.applicants ap " +
+           "LEFT JOIN dr.decisions d " +
+           "WHERE dr.id = (SELECT newest.id FROM DecisionRequest newest " +
+           "               WHERE newest.applicationId = :applicationId " +
+           "               ORDER BY newest.createdAt DESC, newest.id DESC LIMIT 1) " +
+           "ORDER BY a.id, ap.id, d.id")
+    List<DecisionRow> findNewestRowsByApplicationId(@Param("applicationId") Integer applicationId);
 }
\ No newline at end of file
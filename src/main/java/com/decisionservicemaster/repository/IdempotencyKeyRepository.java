@@ -0,0 +1,13 @@
+package com.decisionservicemaster.repository;
+
+import com.decisionservicemaster.domain.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    
+    Optional<IdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+}
@@ -0,0 +1,90 @@
+package com.decisionservicemaster.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One submitted application split into the parameters RequestBuilder expects
+ * Shared by the single, batch and streaming decision endpoints
+ *
+ * @param applicationId Parsed application ID, or null if missing or not numeric
+ * @param addressParams Address parameters, or null if the address is malformed
+ * @param applicantParams Applicant parameters
+ */
+public record ApplicationParams(
+        Integer applicationId,
+        Map<String, Object> addressParams,
+        Map<String, Object> applicantParams) {
+    
+    /**
+     * Extracts the parameters from a request body in the public API format
+     */
+    public static ApplicationParams from(Map<String, Object> requestBody) {
+        if (requestBody == null) {
+            return new ApplicationParams(null, null, null);
+        }
+        
+        Map<String, Object> addressParams;
+        try {
+            addressParams = extractAddressParams(requestBody);
+        } catch (ClassCastException e) {
+            addressParams = null;  // malformed address is reported as a validation error
+        }
+        
+        return new ApplicationParams(
+            parseApplicationId(requestBody),
+            addressParams,
+            extractApplicantParams(requestBody)
+        );
+    }
+    
+    private static Integer parseApplicationId(Map<String, Object> requestBody) {
+        if (requestBody.get("applicationId") == null) {
+            return null;
+        }
+        
+        Object appIdObj = requestBody.get("applicationId");
+        if (appIdObj instanceof Number) {
+            return ((Number) appIdObj).intValue();
+        } else if (appIdObj instanceof String) {
+            try {
+                return Integer.parseInt((String) appIdObj);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> extractAddressParams(Map<String, Object> requestBody) {
+        Map<String, Object> addressMap = (Map<String, Object>) requestBody.get("address");
+        
+        if (addressMap == null) {
+            return new HashMap<>();
+        }
+        
+        Map<String, Object> addressParams = new HashMap<>();
+        addressParams.put("street", addressMap.get("street"));
+        addressParams.put("unitNumber", addressMap.get("unitNumber"));
+        addressParams.put("city", addressMap.get("city"));
+        addressParams.put("zip", addressMap.get("zip"));
+        addressParams.put("state", addressMap.get("state"));
+        addressParams.put("county", addressMap.get("county"));
+        
+        return addressParams;
+    }
+    
+    private static Map<String, Object> extractApplicantParams(Map<String, Object> requestBody) {
+        Map<String, Object> applicantParams = new HashMap<>();
+        
+        applicantParams.put("firstName", requestBody.get("firstName"));
+        applicantParams.put("lastName", requestBody.get("lastName"));
+        applicantParams.put("ssn", requestBody.get("ssn"));
+        applicantParams.put("income", requestBody.get("income"));
+        applicantParams.put("incomeType", requestBody.get("incomeType"));
+        applicantParams.put("requestedLoanAmount", requestBody.get("requestedLoanAmount"));
+        
+        return applicantParams;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.decisionservicemaster.service;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.decisionservicemaster.service.journal.JournalEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Evaluates a batch of applications in parallel and persists the results in chunked transactions
+ * Each item succeeds or fails on its own; results are returned in input order
+ */
+@Service
+public class BatchDecisionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BatchDecisionService.class);
+    
+    private final RequestBuilder requestBuilder;
+    private final Processor processor;
+    private final DecisionRequestRepository decisionRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DecisionMetrics decisionMetrics;
+    
+    /**
+     * Maximum number of items evaluated at once (bounds load on the report providers)
+     */
+    @Value("${app.batch.max-concurrency:16}")
+    private int maxConcurrency;
+    
+    /**
+     * Number of decision aggregates saved per transaction
+     */
+    @Value("${app.batch.persist-chunk-size:100}")
+    private int persistChunkSize;
+    
+    public BatchDecisionService(
+            RequestBuilder requestBuilder,
+            Processor processor,
+            DecisionRequestRepository decisionRequestRepository,
+            PlatformTransactionManager transactionManager,
+            DecisionMetrics decisionMetrics) {
+        this.requestBuilder = requestBuilder;
+        this.processor = processor;
+        this.decisionRequestRepository = decisionRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.decisionMetrics = decisionMetrics;
+    }
+    
+    /**
+     * Outcome of one batch item
+     *
+     * @param status "processed", "invalid" (validation failed) or "error" (evaluation or persist failed)
+     * @param decisionRequest Saved request with its decisions; null unless processed
+     * @param errors Validation or failure messages; empty when processed
+     */
+    public record BatchItemResult(
+            int index,
+            Integer applicationId,
+            String status,
+            DecisionRequest decisionRequest,
+            List<String> errors) {
+        
+        static BatchItemResult processed(int index, DecisionRequest decisionRequest) {
+            return new BatchItemResult(index, decisionRequest.getApplicationId(), "processed", decisionRequest, List.of());
+        }
+        
+        static BatchItemResult failed(int index, Integer applicationId, String status, List<String> errors) {
+            return new BatchItemResult(index, applicationId, status, null, errors);
+        }
+        
+        public boolean isProcessed() {
+            return "processed".equals(status);
+        }
+    }
+    
+    /**
+     * Validates, evaluates and persists a batch of applications
+     *
+     * @param items Applications in submission order
+     * @return One result per item, in the same order
+     */
+    public List<BatchItemResult> process(List<ApplicationParams> items) {
+        List<BatchItemResult> results = evaluateAll(items);
+        persist(results);
+        return results;
+    }
+    
+    /**
+     * Validates, evaluates and persists a single application in its own short transaction
+     * Used by the streaming endpoint, which bounds how many of these run at once
+     *
+     * @param index Position of the application in its stream
+     */
+    public BatchItemResult processOne(int index, ApplicationParams item) {
+        BatchItemResult result = evaluate(index, item);
+        if (!result.isProcessed()) {
+            return result;
+        }
+        
+        try {
+            decisionMetrics.timePersist(() -> transactionTemplate.execute(
+                status -> decisionRequestRepository.save(result.decisionRequest())));
+            return result;
+        } catch (Exception e) {
+            logger.error("Failed to persist decision request for application {}", item.applicationId(), e);
+            return BatchItemResult.failed(index, item.applicationId(), "error", List.of("Failed to persist decision"));
+        }
+    }
+    
+    /**
+     * Evaluates every item on its own virtual thread, at most maxConcurrency at a time
+     */
+    private List<BatchItemResult> evaluateAll(List<ApplicationParams> items) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<BatchItemResult>> futures = new ArrayList<>(items.size());
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < items.size(); i++) {
+                int index = i;
+                ApplicationParams item = items.get(i);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return evaluate(index, item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            
+            List<BatchItemResult> results = new ArrayList<>(items.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), i, items.get(i)));
+            }
+            return results;
+        }
+    }
+    
+    private BatchItemResult evaluate(int index, ApplicationParams item) {
+        List<String> errors = validate(item);
+        if (!errors.isEmpty()) {
+            return BatchItemResult.failed(index, item.applicationId(), "invalid", errors);
+        }
+        
+        try {
+            DecisionRequest decisionRequest = requestBuilder.build(
+                item.applicationId(), item.addressParams(), item.applicantParams());
+            processor.evaluate(decisionRequest);
+            return BatchItemResult.processed(index, decisionRequest);
+        } catch (IllegalArgumentException e) {
+            return BatchItemResult.failed(index, item.applicationId(), "invalid", List.of(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to evaluate batch item {} (application {})", index, item.applicationId(), e);
+            return BatchItemResult.failed(index, item.applicationId(), "error", List.of("Evaluation failed"));
+        }
+    }
+    
+    private BatchItemResult await(Future<BatchItemResult> future, int index, ApplicationParams item) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating batch", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to evaluate batch item {} (application {})", index, item.applicationId(), e.getCause());
+            return BatchItemResult.failed(index, item.applicationId(), "error", List.of("Evaluation failed"));
+        }
+    }
+    
+    /**
+     * Saves the evaluated requests in chunks, one short transaction per chunk
+     * A failed chunk is rolled back and its items are saved again one per transaction,
+     * so only the items that cannot be saved are reported as errors
+     */
+    private void persist(List<BatchItemResult> results) {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isProcessed()) {
+                pending.add(i);
+            }
+        }
+        
+        for (int start = 0; start < pending.size(); start += persistChunkSize) {
+            List<Integer> chunk = pending.subList(start, Math.min(start + persistChunkSize, pending.size()));
+            List<DecisionRequest> requests = chunk.stream()
+                .map(i -> results.get(i).decisionRequest())
+                .toList();
+            
+            try {
+                decisionMetrics.timePersist(() -> transactionTemplate.execute(
+                    status -> decisionRequestRepository.saveAll(requests)));
+            } catch (Exception e) {
+                logger.warn("Failed to persist batch chunk of {} decision requests, saving them one by one",
+                            requests.size(), e);
+                chunk.forEach(i -> persistAlone(results, i));
+            }
+        }
+    }
+    
+    /**
+     * Saves one item of a failed chunk in its own transaction
+     * The rolled-back attempt left generated ids on the entities, so a fresh copy of the
+     * aggregate is saved instead
+     */
+    private void persistAlone(List<BatchItemResult> results, int i) {
+        BatchItemResult result = results.get(i);
+        DecisionRequest copy = JournalEntry.from(result.decisionRequest()).toDecisionRequest();
+        try {
+            decisionMetrics.timePersist(() -> transactionTemplate.execute(
+                status -> decisionRequestRepository.save(copy)));
+            results.set(i, BatchItemResult.processed(i, copy));
+        } catch (Exception e) {
+            logger.error("Failed to persist batch item {} (application {})", i, result.applicationId(), e);
+            results.set(i, BatchItemResult.failed(
+                i, result.applicationId(), "error", List.of("Failed to persist decision")));
+        }
+    }
+    
+    private List<String> validate(ApplicationParams item) {
+        List<String> errors = new ArrayList<>();
+        
+        if (item.applicationId() == null) {
+            errors.add("applicationId is required");
+        }
+        errors.addAll(RequestBuilder.validate(item.addressParams(), item.applicantParams()));
+        
+        return errors;
+    }
+}
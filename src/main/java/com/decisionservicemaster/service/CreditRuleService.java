@@ -4,34 +4,32 @@ import com.decisionservicemaster.domain.entity.Address;
 import com.decisionservicemaster.domain.entity.Applicant;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.domain.entity.Decision;
-import org.springframework.core.io.ClassPathResource;
+import com.decisionservicemaster.service.rule.RuleConfig;
+import com.decisionservicemaster.service.rule.RuleIndex;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.RuleSnapshotRegistry;
 import org.springframework.stereotype.Service;
-import org.yaml.snakeyaml.Yaml;
-
-import jakarta.annotation.PostConstruct;
-import java.io.InputStream;
-import java.util.Map;
 
 @Service
 public class CreditRuleService {
     
-    private Map<String, Object> creditRules;
+    private final RuleSnapshotRegistry ruleSnapshotRegistry;
     
-    @PostConstruct
-    public void init() {
-        try {
-            Yaml yaml = new Yaml();
-            InputStream inputStream = new ClassPathResource("rules/credit-rule.yml").getInputStream();
-            creditRules = yaml.load(inputStream);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load credit rules", e);
-        }
+    public CreditRuleService(RuleSnapshotRegistry ruleSnapshotRegistry) {
+        this.ruleSnapshotRegistry = ruleSnapshotRegistry;
     }
     
     /**
-     * Evaluates credit rule for a decision request
+     * Evaluates credit rule for a decision request against the current rule snapshot
      */
     public Decision evaluate(DecisionRequest decisionRequest) {
+        RuleSnapshot ruleSnapshot = ruleSnapshotRegistry.current();
+        Decision decision = evaluate(decisionRequest, ruleSnapshot.getIndex("credit_rule"));
+        decision.setRuleSnapshotVersion(ruleSnapshot.getVersion());
+        return decision;
+    }
+    
+    private Decision evaluate(DecisionRequest decisionRequest, RuleIndex creditRules) {
         Address address = decisionRequest.getPrimaryAddress();
         Applicant applicant = decisionRequest.getPrimaryApplicant();
         
@@ -46,10 +44,10 @@ public class CreditRuleService {
         String state = address.getState();
         String county = address.getCounty();
         
-        // Get state rules
-        Map<String, Object> stateRule = (Map<String, Object>) creditRules.get(state);
+        // Get state/county rules
+        RuleConfig rule = creditRules.lookup(state, county);
         
-        if (stateRule == null || !isEnabled(stateRule)) {
+        if (!rule.isEnabled()) {
             return new Decision(
                 "credit_rule",
                 "unavailable",
@@ -58,7 +56,7 @@ public class CreditRuleService {
         }
         
         // Get credit score threshold (state level or county level)
-        Integer threshold = getCreditScoreThreshold(stateRule, county);
+        Integer threshold = rule.getThreshold();
         
         if (threshold == null) {
             return new Decision(
@@ -95,27 +93,6 @@ public class CreditRuleService {
         }
     }
     
-    private boolean isEnabled(Map<String, Object> rule) {
-        Object enabled = rule.get("enabled");
-        return enabled != null && (Boolean) enabled;
-    }
-    
-    private Integer getCreditScoreThreshold(Map<String, Object> stateRule, String county) {
-        // Check county-specific threshold first
-        if (county != null) {
-            Map<String, Object> counties = (Map<String, Object>) stateRule.get("counties");
-            if (counties != null && counties.containsKey(county)) {
-                Map<String, Object> countyRule = (Map<String, Object>) counties.get(county);
-                if (countyRule != null && countyRule.containsKey("credit_score_threshold")) {
-                    return (Integer) countyRule.get("credit_score_threshold");
-                }
-            }
-        }
-        
-        // Fall back to state-level threshold
-        return (Integer) stateRule.get("credit_score_threshold");
-    }
-    
     private Integer getCreditScore(Applicant applicant) {
         if (applicant.getCreditReports() != null && !applicant.getCreditReports().isEmpty()) {
             return applicant.getCreditReports().get(0).getCreditScore();
@@ -0,0 +1,132 @@
+package com.decisionservicemaster.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for each stage of a decision, exported under the "decision." prefix
+ * Percentile histograms are enabled for all of them in application.yml
+ */
+@Component
+public class DecisionMetrics {
+    
+    public static final String OUTCOME_FOUND = "found";
+    public static final String OUTCOME_NOT_FOUND = "not-found";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_REJECTED = "rejected";
+    
+    /**
+     * State tag of decisions whose state no rule is configured for, so clients cannot add series
+     */
+    public static final String STATE_OTHER = "other";
+    
+    private final MeterRegistry meterRegistry;
+    private final Timer requestBuildTimer;
+    private final Timer persistTimer;
+    private final Timer responseTimer;
+    
+    public DecisionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.requestBuildTimer = Timer.builder("decision.request.build")
+            .description("RequestBuilder.buildDecisionRequest, including its save")
+            .register(meterRegistry);
+        this.persistTimer = Timer.builder("decision.persist")
+            .description("Saving evaluated decision requests")
+            .register(meterRegistry);
+        this.responseTimer = Timer.builder("decision.response")
+            .description("Mapping a decision request to its API response")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Metrics that record nothing, for code running outside the Spring context
+     */
+    public static DecisionMetrics noop() {
+        return new DecisionMetrics(new CompositeMeterRegistry());
+    }
+    
+    public <T> T timeRequestBuild(Supplier<T> stage) {
+        return requestBuildTimer.record(stage);
+    }
+    
+    public <T> T timePersist(Supplier<T> stage) {
+        return persistTimer.record(stage);
+    }
+    
+    public <T> T timeResponse(Supplier<T> stage) {
+        return responseTimer.record(stage);
+    }
+    
+    public <T> T timeRuleInit(String ruleName, Supplier<T> stage) {
+        return Timer.builder("decision.rule.init")
+            .description("Rule construction and config lookup")
+            .tag("rule", ruleName)
+            .register(meterRegistry)
+            .record(stage);
+    }
+    
+    public <T> T timeRuleRun(String ruleName, Supplier<T> stage) {
+        return Timer.builder("decision.rule.run")
+            .description("Rule evaluation, including any report fetch not done up front")
+            .tag("rule", ruleName)
+            .register(meterRegistry)
+            .record(stage);
+    }
+    
+    public Timer.Sample startReportFetch() {
+        return Timer.start(meterRegistry);
+    }
+    
+    /**
+     * @param outcome OUTCOME_FOUND, OUTCOME_NOT_FOUND, OUTCOME_ERROR or OUTCOME_REJECTED
+     */
+    public void stopReportFetch(Timer.Sample sample, String reportType, String outcome) {
+        sample.stop(Timer.builder("decision.report.fetch")
+            .description("Report provider call, parse and attach")
+            .tag("report_type", reportType)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+    
+    /**
+     * Counts a report that fail-fast mode did not fetch because every rule needing it was skipped
+     */
+    public void recordAvoidedFetch(String reportType) {
+        Counter.builder("decision.report.avoided")
+            .description("Report fetches avoided by skipping rules after a decline")
+            .tag("report_type", reportType)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    /**
+     * Counts a second request sent to a report provider because the first was slow to answer
+     */
+    public void recordHedge(String reportType) {
+        Counter.builder("decision.report.hedged")
+            .description("Hedged report provider requests")
+            .tag("report_type", reportType)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    /**
+     * Counts a rule outcome (or the final decision, with rule "final_decision") by state
+     *
+     * @param state A state known to the rule snapshot, or STATE_OTHER
+     */
+    public void recordDecision(String ruleName, String state, String decision) {
+        Counter.builder("decision.outcome")
+            .description("Decisions by rule, state and outcome")
+            .tag("rule", ruleName)
+            .tag("state", state != null ? state : STATE_OTHER)
+            .tag("decision", decision != null ? decision : "unknown")
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,105 @@
+package com.decisionservicemaster.service;
+
+import com.decisionservicemaster.dto.DecisionRequestResponse;
+import com.decisionservicemaster.dto.DecisionRow;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads stored decisions for GET /api/v1/decisions/{applicationId}
+ * Each lookup is one projection query straight into the response, with no managed entities;
+ * results are kept briefly in a read cache together with their ETag, so repeated polls
+ * (conditional or not) usually cost no query at all. Missing applications are not cached.
+ */
+@Service
+public class DecisionQueryService {
+    
+    /**
+     * @param response The newest decision of the application
+     * @param etag Strong entity tag over the response content, quoted
+     */
+    public record StoredDecision(DecisionRequestResponse response, String etag) {
+    }
+    
+    private final DecisionRequestRepository decisionRequestRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean cacheEnabled;
+    private final Cache<Integer, StoredDecision> readCache;
+    
+    public DecisionQueryService(DecisionRequestRepository decisionRequestRepository,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.read-cache.enabled:true}") boolean cacheEnabled,
+                                @Value("${app.read-cache.ttl:5s}") Duration ttl,
+                                @Value("${app.read-cache.maximum-size:10000}") long maximumSize) {
+        this.decisionRequestRepository = decisionRequestRepository;
+        this.objectMapper = objectMapper;
+        this.cacheEnabled = cacheEnabled;
+        this.readCache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, readCache, "decisions");
+    }
+    
+    /**
+     * Returns the newest stored decision of the application, or empty if there is none
+     */
+    public Optional<StoredDecision> find(Integer applicationId) {
+        if (cacheEnabled) {
+            StoredDecision cached = readCache.getIfPresent(applicationId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        
+        List<DecisionRow> rows = decisionRequestRepository.findNewestRowsByApplicationId(applicationId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        DecisionRequestResponse response = DecisionRequestResponse.fromRows(rows);
+        StoredDecision stored = new StoredDecision(response, etagOf(response));
+        if (cacheEnabled) {
+            readCache.put(applicationId, stored);
+        }
+        return Optional.of(stored);
+    }
+    
+    /**
+     * Drops the cached decision of an application after a new one was submitted
+     */
+    public void invalidate(Integer applicationId) {
+        if (applicationId != null) {
+            readCache.invalidate(applicationId);
+        }
+    }
+    
+    private String etagOf(DecisionRequestResponse response) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(objectMapper.writeValueAsString(response).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize decision for its ETag", e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.decisionservicemaster.service;
+
+import com.decisionservicemaster.domain.entity.IdempotencyKey;
+import com.decisionservicemaster.dto.DecisionRequestResponse;
+import com.decisionservicemaster.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes decision submission idempotent, keyed by the Idempotency-Key header or else the applicationId
+ *
+ * A repeated key within the window gets the first result back without re-running the rules or
+ * calling report providers, as long as the request body is the same; a key reused with a different
+ * body is a conflict. Each result is stored in idempotency_keys, whose unique key makes instances
+ * racing on one key agree on the first stored result. Lookups go to a bounded cache of recent
+ * results, then to that table. Concurrent submissions of one key in this instance share a single
+ * in-flight evaluation. Invalid requests and failures are not remembered.
+ */
+@Service
+public class IdempotencyService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    
+    public static final String SOURCE_CACHE = "cache";
+    public static final String SOURCE_IN_FLIGHT = "in-flight";
+    public static final String SOURCE_DATABASE = "database";
+    
+    /**
+     * Longest Idempotency-Key accepted; with its "key:" prefix it fits the idempotency_key column
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+    
+    /**
+     * @param response The decision, or null if the request was not valid or conflicts
+     * @param replayed True if the response was produced by an earlier submission
+     * @param conflict True if the key was used before with a different request body
+     */
+    public record Result(DecisionRequestResponse response, boolean replayed, boolean conflict) {
+    }
+    
+    /**
+     * A result together with the hash of the request body that produced it
+     */
+    private record Remembered(String requestHash, DecisionRequestResponse response) {
+    }
+    
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter canonicalWriter;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration window;
+    private final Cache<String, Remembered> recentResults;
+    private final ConcurrentMap<String, CompletableFuture<Remembered>> inFlight = new ConcurrentHashMap<>();
+    
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.idempotency.enabled:true}") boolean enabled,
+                              @Value("${app.idempotency.window:24h}") Duration window,
+                              @Value("${app.idempotency.maximum-size:100000}") long maximumSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.window = window;
+        this.recentResults = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(window)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentResults, "idempotency");
+    }
+    
+    /**
+     * Returns the result for this submission, evaluating it only if the key has not been seen
+     *
+     * @param idempotencyKey Idempotency-Key header value, or null to key by applicationId
+     * @param applicationId Parsed application ID, or null
+     * @param requestBody Request body, compared by hash with the body that first used the key
+     * @param evaluation Builds, evaluates and saves the decision; returns null if the request is invalid
+     */
+    public Result submit(String idempotencyKey, Integer applicationId, Map<String, Object> requestBody,
+                         Supplier<DecisionRequestResponse> evaluation) {
+        String key = keyFor(idempotencyKey, applicationId);
+        if (!enabled || key == null) {
+            return new Result(evaluation.get(), false, false);
+        }
+        String requestHash = requestHash(requestBody);
+        
+        Remembered recent = recentResults.getIfPresent(key);
+        if (recent != null) {
+            return replay(recent, requestHash, SOURCE_CACHE);
+        }
+        
+        CompletableFuture<Remembered> owned = new CompletableFuture<>();
+        CompletableFuture<Remembered> running = inFlight.putIfAbsent(key, owned);
+        if (running != null) {
+            return replay(await(running), requestHash, SOURCE_IN_FLIGHT);
+        }
+        
+        try {
+            // Another submission may have finished between the cache check and claiming the key
+            Remembered remembered = recentResults.getIfPresent(key);
+            String source = SOURCE_CACHE;
+            IdempotencyKey stored = null;
+            if (remembered == null) {
+                stored = idempotencyKeyRepository.findByIdempotencyKey(key).orElse(null);
+                if (stored != null && stored.getCreatedAt().isAfter(LocalDateTime.now().minus(window))) {
+                    remembered = fromStored(stored);
+                    source = SOURCE_DATABASE;
+                }
+            }
+            
+            if (remembered == null) {
+                Remembered evaluated = new Remembered(requestHash, evaluation.get());
+                remembered = evaluated.response() != null ? store(key, applicationId, evaluated, stored) : evaluated;
+                // Not a replay unless another instance stored the key first
+                source = remembered != evaluated ? SOURCE_DATABASE : null;
+            }
+            if (remembered.response() != null) {
+                recentResults.put(key, remembered);
+            }
+            owned.complete(remembered);
+            return source != null ? replay(remembered, requestHash, source)
+                : new Result(remembered.response(), false, false);
+        } catch (RuntimeException e) {
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+    
+    /**
+     * False if an Idempotency-Key header is too long to be stored, so the submission must be
+     * rejected before it is evaluated
+     */
+    public static boolean isAcceptedKey(String idempotencyKey) {
+        return idempotencyKey == null || idempotencyKey.length() <= MAX_KEY_LENGTH;
+    }
+    
+    /**
+     * SHA-256 of the request body serialized with map keys sorted, so key order and whitespace do not matter
+     */
+    public String requestHash(Map<String, Object> requestBody) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(canonicalWriter.writeValueAsBytes(requestBody)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash request body", e);
+        }
+    }
+    
+    private static String keyFor(String idempotencyKey, Integer applicationId) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return "key:" + idempotencyKey;
+        }
+        return applicationId != null ? "application:" + applicationId : null;
+    }
+    
+    /**
+     * Records the result of a new key, or of one whose stored result has left the window
+     *
+     * @return The given result, or the one stored first if another instance recorded the key meanwhile
+     */
+    private Remembered store(String key, Integer applicationId, Remembered remembered, IdempotencyKey expired) {
+        String response;
+        try {
+            response = objectMapper.writeValueAsString(remembered.response());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize decision response", e);
+        }
+        
+        try {
+            if (expired != null) {
+                expired.setRequestHash(remembered.requestHash());
+                expired.setResponse(response);
+                expired.setCreatedAt(LocalDateTime.now());
+                idempotencyKeyRepository.save(expired);
+            } else {
+                idempotencyKeyRepository.saveAndFlush(
+                    new IdempotencyKey(key, applicationId, remembered.requestHash(), response));
+            }
+            return remembered;
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Idempotency key {} was stored by a concurrent submission, returning its result", key);
+            return idempotencyKeyRepository.findByIdempotencyKey(key).map(this::fromStored).orElseThrow(() -> e);
+        }
+    }
+    
+    private Remembered fromStored(IdempotencyKey stored) {
+        try {
+            return new Remembered(stored.getRequestHash(),
+                objectMapper.readValue(stored.getResponse(), DecisionRequestResponse.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored decision response for " + stored.getIdempotencyKey(), e);
+        }
+    }
+    
+    private Result replay(Remembered remembered, String requestHash, String source) {
+        if (!remembered.requestHash().equals(requestHash)) {
+            Counter.builder("decision.idempotent.conflict")
+                .description("Submissions rejected for reusing a key with a different request body")
+                .register(meterRegistry)
+                .increment();
+            return new Result(null, false, true);
+        }
+        DecisionRequestResponse response = remembered.response();
+        if (response != null) {
+            Counter.builder("decision.idempotent.replay")
+                .description("Submissions answered from an earlier evaluation")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        }
+        return new Result(response, response != null, false);
+    }
+    
+    private static Remembered await(CompletableFuture<Remembered> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Decision evaluation failed", e.getCause());
+        }
+    }
+}
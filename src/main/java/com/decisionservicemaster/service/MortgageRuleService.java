@@ -3,34 +3,32 @@ package com.decisionservicemaster.service;
 import com.decisionservicemaster.domain.entity.Address;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.domain.entity.Decision;
-import org.springframework.core.io.ClassPathResource;
+import com.decisionservicemaster.service.rule.RuleConfig;
+import com.decisionservicemaster.service.rule.RuleIndex;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.RuleSnapshotRegistry;
 import org.springframework.stereotype.Service;
-import org.yaml.snakeyaml.Yaml;
-
-import jakarta.annotation.PostConstruct;
-import java.io.InputStream;
-import java.util.Map;
 
 @Service
 public class MortgageRuleService {
     
-    private Map<String, Object> mortgageRules;
+    private final RuleSnapshotRegistry ruleSnapshotRegistry;
     
-    @PostConstruct
-    public void init() {
-        try {
-            Yaml yaml = new Yaml();
-            InputStream inputStream = new ClassPathResource("rules/mortgage-rule.yml").getInputStream();
-            mortgageRules = yaml.load(inputStream);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load mortgage rules", e);
-        }
+    public MortgageRuleService(RuleSnapshotRegistry ruleSnapshotRegistry) {
+        this.ruleSnapshotRegistry = ruleSnapshotRegistry;
     }
     
     /**
-     * Evaluates mortgage rule for a decision request
+     * Evaluates mortgage rule for a decision request against the current rule snapshot
      */
     public Decision evaluate(DecisionRequest decisionRequest) {
+        RuleSnapshot ruleSnapshot = ruleSnapshotRegistry.current();
+        Decision decision = evaluate(decisionRequest, ruleSnapshot.getIndex("mortgage_rule"));
+        decision.setRuleSnapshotVersion(ruleSnapshot.getVersion());
+        return decision;
+    }
+    
+    private Decision evaluate(DecisionRequest decisionRequest, RuleIndex mortgageRules) {
         Address address = decisionRequest.getPrimaryAddress();
         
         if (address == null) {
@@ -45,9 +43,7 @@ public class MortgageRuleService {
         String county = address.getCounty();
         
         // Get state rules
-        Map<String, Object> stateRule = (Map<String, Object>) mortgageRules.get(state);
-        
-        if (stateRule == null) {
+        if (!mortgageRules.containsState(state)) {
             return new Decision(
                 "mortgage_rule",
                 "unavailable",
@@ -56,7 +52,9 @@ public class MortgageRuleService {
         }
         
         // Check if state or county is enabled
-        if (!isRuleEnabled(stateRule, county)) {
+        RuleConfig rule = mortgageRules.lookup(state, county);
+        
+        if (!rule.isEnabled()) {
             return new Decision(
                 "mortgage_rule",
                 "unavailable",
@@ -65,7 +63,7 @@ public class MortgageRuleService {
         }
         
         // Get mortgage threshold (county level or state level)
-        Integer threshold = getMortgageThreshold(stateRule, county);
+        Integer threshold = rule.getThreshold();
         
         if (threshold == null) {
             return new Decision(
@@ -102,36 +100,6 @@ public class MortgageRuleService {
         }
     }
     
-    private boolean isRuleEnabled(Map<String, Object> stateRule, String county) {
-        if (county != null) {
-            Map<String, Object> counties = (Map<String, Object>) stateRule.get("counties");
-            if (counties != null && counties.containsKey(county)) {
-                Map<String, Object> countyRule = (Map<String, Object>) counties.get(county);
-                if (countyRule != null && countyRule.containsKey("enabled")) {
-                    return (Boolean) countyRule.get("enabled");
-                }
-                return true;
-            }
-        }
-        
-        Object enabled = stateRule.get("enabled");
-        return enabled != null && (Boolean) enabled;
-    }
-    
-    private Integer getMortgageThreshold(Map<String, Object> stateRule, String county) {
-        if (county != null) {
-            Map<String, Object> counties = (Map<String, Object>) stateRule.get("counties");
-            if (counties != null && counties.containsKey(county)) {
-                Map<String, Object> countyRule = (Map<String, Object>) counties.get(county);
-                if (countyRule != null && countyRule.containsKey("mortgage_threshold")) {
-                    return (Integer) countyRule.get("mortgage_threshold");
-                }
-            }
-        }
-        
-        return (Integer) stateRule.get("mortgage_threshold");
-    }
-    
     private Integer getTotalMortgage(Address address) {
         if (address.getMortgageReports() != null && !address.getMortgageReports().isEmpty()) {
             return address.getMortgageReports().get(0).getTotalMortgage();
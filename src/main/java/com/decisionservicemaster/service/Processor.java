@@ -1,22 +1,38 @@
 package com.decisionservicemaster.service;
 
+import com.decisionservicemaster.domain.entity.Address;
+import com.decisionservicemaster.domain.entity.Decision;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.decisionservicemaster.service.journal.DecisionJournal;
+import com.decisionservicemaster.service.journal.JournalEntry;
+import com.decisionservicemaster.service.report.ReportContext;
 import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.decisionservicemaster.service.rule.AdaptiveRuleOrder;
 import com.decisionservicemaster.service.rule.BaseRule;
-import com.decisionservicemaster.service.rule.CreditRule;
-import com.decisionservicemaster.service.rule.MortgageRule;
+import com.decisionservicemaster.service.rule.RuleRegistry;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.RuleSnapshotRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
 
 @Service
 public class Processor {
     
-    private static final List<String> RULE_SET = List.of("mortgage_rule", "credit_rule");
+    private static final Logger logger = LoggerFactory.getLogger(Processor.class);
+    
+    static final String FAIL_FAST = "fail-fast";
     
     @Autowired
     private DecisionRequestRepository decisionRequestRepository;
@@ -24,29 +40,243 @@ public class Processor {
     @Autowired
     private ReportServiceFactory reportServiceFactory;
     
+    @Autowired
+    private RuleSnapshotRegistry ruleSnapshotRegistry;
+    
+    @Autowired
+    private RuleRegistry ruleRegistry;
+    
+    @Autowired
+    private AdaptiveRuleOrder adaptiveRuleOrder;
+    
+    @Autowired
+    private DecisionMetrics decisionMetrics;
+    
+    @Autowired
+    private DecisionJournal decisionJournal;
+    
+    /**
+     * sequential: rules are evaluated one after another
+     * concurrent: independent rules are evaluated in parallel on virtual threads
+     * Required reports are planned and fetched once, in parallel, in both modes
+     * fail-fast: rules run one after another and stop at the first decline or unavailable
+     * decision; the rest are recorded as skipped and their reports are never fetched.
+     * Rules run in AdaptiveRuleOrder's order, so decisions are recorded in that order
+     */
+    @Value("${app.processor.execution-mode:sequential}")
+    private String executionMode;
+    
     /**
      * Processes a decision request by running all business rules
-     * 
-     * @param decisionRequest The decision request to process
+     * Report I/O and rule evaluation run with no open transaction, so no pooled
+     * connection is held during provider calls; only the final save takes one
+     * The single-write pipeline passes an unsaved request built by RequestBuilder.build, so the
+     * whole aggregate (request, applicant, address, reports and decisions) is inserted once
+     *
+     * @param decisionRequest The decision request to process (saved, or not yet saved)
      * @return The processed and saved DecisionRequest with all decisions
      */
-    @Transactional
     public DecisionRequest process(DecisionRequest decisionRequest) {
-        // Execute all rules in order
-        for (String ruleName : RULE_SET) {
-            BaseRule rule = initRule(ruleName, decisionRequest);
-            rule.run();
+        evaluate(decisionRequest);
+        
+        // Repository save runs in its own short transaction
+        return decisionMetrics.timePersist(() -> decisionRequestRepository.save(decisionRequest));
+    }
+    
+    /**
+     * Evaluates an unsaved request and appends the aggregate to the local journal, returning as soon
+     * as the entry is durable on disk; the journal drains it into the database in the background
+     * If the journal cannot take the entry, the aggregate is saved synchronously instead
+     *
+     * @param decisionRequest A request built by RequestBuilder.build, not yet saved
+     * @return The evaluated DecisionRequest (unsaved, so without ids)
+     */
+    public DecisionRequest processWriteBehind(DecisionRequest decisionRequest) {
+        evaluate(decisionRequest);
+        decisionRequest.setDecision(DecisionRequest.finalDecisionOf(decisionRequest.getDecisions()));
+        
+        try {
+            decisionJournal.append(JournalEntry.from(decisionRequest));
+            return decisionRequest;
+        } catch (IllegalStateException e) {
+            logger.warn("Decision journal unavailable for application {}, saving synchronously",
+                        decisionRequest.getApplicationId(), e);
+            return decisionMetrics.timePersist(() -> decisionRequestRepository.save(decisionRequest));
+        }
+    }
+    
+    /**
+     * Runs all business rules against the request and attaches the decisions, without saving
+     * Safe to call concurrently for different requests
+     *
+     * @param decisionRequest The decision request to evaluate (may be unsaved)
+     */
+    public void evaluate(DecisionRequest decisionRequest) {
+        // Pin one rule snapshot for the whole request
+        RuleSnapshot ruleSnapshot = ruleSnapshotRegistry.current();
+        
+        // Build all rules up front (config only), in dependency order
+        ReportContext reportContext = reportServiceFactory.newContext(decisionRequest);
+        RuleRegistry.Plan plan = ruleRegistry.plan(ruleSnapshot);
+        String state = knownStateOf(decisionRequest, ruleSnapshot);
+        boolean failFast = FAIL_FAST.equals(executionMode);
+        List<String> ruleNames = failFast ? adaptiveRuleOrder.order(plan, state) : plan.ruleNames();
+        List<BaseRule> rules = new ArrayList<>(ruleNames.size());
+        for (String ruleName : ruleNames) {
+            rules.add(decisionMetrics.timeRuleInit(ruleName,
+                () -> ruleRegistry.create(ruleName, decisionRequest, reportContext, ruleSnapshot)));
+        }
+        
+        if (failFast) {
+            // Reports are fetched by the rules that actually run
+            runFailFast(decisionRequest, reportContext, rules, state, adaptiveRuleOrder.explore());
+        } else {
+            // Fetch every required report once, in parallel
+            reportContext.prefetch(planReports(rules));
+            if ("concurrent".equals(executionMode)) {
+                runConcurrently(decisionRequest, rules, plan);
+            } else {
+                runSequentially(decisionRequest, rules);
+            }
         }
         
-        // Save and return
-        return decisionRequestRepository.save(decisionRequest);
+        recordOutcomes(decisionRequest, state);
     }
     
-    private BaseRule initRule(String ruleName, DecisionRequest decisionRequest) {
-        return switch (ruleName) {
-            case "mortgage_rule" -> new MortgageRule(decisionRequest, reportServiceFactory);
-            case "credit_rule" -> new CreditRule(decisionRequest, reportServiceFactory);
-            default -> throw new IllegalArgumentException("Unknown rule: " + ruleName);
-        };
+    /**
+     * Collects the distinct report types required by the enabled rules,
+     * so each provider is called once per request however many rules need it
+     */
+    private Set<String> planReports(List<BaseRule> rules) {
+        Set<String> reportTypes = new LinkedHashSet<>();
+        for (BaseRule rule : rules) {
+            if (rule.isEnabled()) {
+                reportTypes.addAll(rule.getReportsRequired());
+            }
+        }
+        return reportTypes;
+    }
+    
+    /**
+     * Executes all rules in order on the calling thread
+     */
+    private void runSequentially(DecisionRequest decisionRequest, List<BaseRule> rules) {
+        for (BaseRule rule : rules) {
+            Decision decision = decisionMetrics.timeRuleRun(rule.getRuleName(), rule::evaluate);
+            if (decision != null) {
+                decisionRequest.addDecision(decision);
+            }
+        }
+    }
+    
+    /**
+     * Executes rules in order until one declines the request; once the final decision is
+     * known, the remaining enabled rules are recorded as skipped without being evaluated
+     * Every evaluation feeds AdaptiveRuleOrder's statistics, and each report that only skipped
+     * rules needed is counted as an avoided fetch
+     *
+     * @param explore Evaluate every rule anyway, so rules usually skipped keep their statistics
+     */
+    private void runFailFast(DecisionRequest decisionRequest, ReportContext reportContext, List<BaseRule> rules,
+                             String state, boolean explore) {
+        String decidedBy = null;
+        Set<String> skippedReports = null;
+        for (BaseRule rule : rules) {
+            Decision decision;
+            if (decidedBy != null && !explore) {
+                decision = rule.skipped(decidedBy);
+                if (decision != null) {
+                    if (skippedReports == null) {
+                        skippedReports = new LinkedHashSet<>();
+                    }
+                    skippedReports.addAll(rule.getReportsRequired());
+                }
+            } else {
+                long start = System.nanoTime();
+                decision = decisionMetrics.timeRuleRun(rule.getRuleName(), rule::evaluate);
+                if (decision != null) {
+                    boolean declined = DecisionRequest.declines(decision);
+                    adaptiveRuleOrder.record(rule.getRuleName(), state, System.nanoTime() - start, declined);
+                    if (declined && decidedBy == null) {
+                        decidedBy = rule.getRuleName();
+                    }
+                }
+            }
+            if (decision != null) {
+                decisionRequest.addDecision(decision);
+            }
+        }
+        
+        if (skippedReports != null) {
+            for (String reportType : skippedReports) {
+                if (!reportContext.isFetched(reportType)) {
+                    decisionMetrics.recordAvoidedFetch(reportType);
+                }
+            }
+        }
+    }
+    
+    /**
+     * The address state if some rule is configured for it, else null
+     * The state comes from the request, so anything keyed by it (metric tags, rule order
+     * statistics) must only see states the rules know, or clients could grow it without bound
+     */
+    private static String knownStateOf(DecisionRequest decisionRequest, RuleSnapshot ruleSnapshot) {
+        Address address = decisionRequest.getPrimaryAddress();
+        String state = address != null ? address.getState() : null;
+        return ruleSnapshot.containsState(state) ? state : null;
+    }
+    
+    /**
+     * Counts each rule outcome and the final decision by state; unknown states share one "other" series
+     */
+    private void recordOutcomes(DecisionRequest decisionRequest, String knownState) {
+        String state = knownState != null ? knownState : DecisionMetrics.STATE_OTHER;
+        
+        for (Decision decision : decisionRequest.getDecisions()) {
+            decisionMetrics.recordDecision(decision.getRuleName(), state, decision.getDecision());
+        }
+        decisionMetrics.recordDecision("final_decision", state,
+            DecisionRequest.finalDecisionOf(decisionRequest.getDecisions()));
+    }
+    
+    /**
+     * Forks each rule of a dependency level onto its own virtual thread, one level after
+     * another; any report not prefetched is fetched by the first rule that needs it, so
+     * latency is the slowest rule of each level rather than the sum of all rules.
+     * Decisions are merged in plan order regardless of completion order.
+     * If any rule fails the remaining rules are cancelled and the failure is rethrown.
+     */
+    private void runConcurrently(DecisionRequest decisionRequest, List<BaseRule> rules, RuleRegistry.Plan plan) {
+        List<Subtask<Decision>> subtasks = new ArrayList<>(rules.size());
+        int first = 0;
+        for (List<String> level : plan.levels()) {
+            runLevel(rules.subList(first, first + level.size()), subtasks);
+            first += level.size();
+        }
+        
+        for (Subtask<Decision> subtask : subtasks) {
+            Decision decision = subtask.get();
+            if (decision != null) {
+                decisionRequest.addDecision(decision);
+            }
+        }
+    }
+    
+    private void runLevel(List<BaseRule> rules, List<Subtask<Decision>> subtasks) {
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            for (BaseRule rule : rules) {
+                subtasks.add(scope.fork(() -> decisionMetrics.timeRuleRun(rule.getRuleName(), rule::evaluate)));
+            }
+            scope.join().throwIfFailed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating rules", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Rule evaluation failed", e.getCause());
+        }
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,9 +22,16 @@ public class RequestBuilder {
     
     private static final Logger logger = LoggerFactory.getLogger(RequestBuilder.class);
     
+    // Non-null columns of Address and Applicant, in the order their errors are reported
+    private static final List<String> REQUIRED_ADDRESS_FIELDS = List.of("street", "city", "zip", "state", "county");
+    private static final List<String> REQUIRED_AMOUNT_FIELDS = List.of("income", "requestedLoanAmount");
+    
     @Autowired
     private DecisionRequestRepository decisionRequestRepository;
     
+    @Autowired
+    private DecisionMetrics decisionMetrics;
+    
     private DecisionRequest decisionRequest;
     private Address address;
     private Applicant applicant;
@@ -42,19 +51,19 @@ public class RequestBuilder {
             Map<String, Object> addressParams,
             Map<String, Object> applicantParams) {
         
+        return decisionMetrics.timeRequestBuild(
+            () -> buildAndSave(applicationId, addressParams, applicantParams));
+    }
+    
+    private RequestBuilder buildAndSave(
+            Integer applicationId, 
+            Map<String, Object> addressParams,
+            Map<String, Object> applicantParams) {
+        
         try {
-            // Create DecisionRequest
-            this.decisionRequest = new DecisionRequest(applicationId);
-            
-            // Create Address
-            this.address = buildAddress(addressParams);
-            this.address.setDecisionRequest(this.decisionRequest);
-            this.decisionRequest.getAddresses().add(this.address);
-            
-            // Create Applicant
-            this.applicant = buildApplicant(applicantParams);
-            this.applicant.setDecisionRequest(this.decisionRequest);
-            this.decisionRequest.getApplicants().add(this.applicant);
+            this.decisionRequest = build(applicationId, addressParams, applicantParams);
+            this.address = this.decisionRequest.getPrimaryAddress();
+            this.applicant = this.decisionRequest.getPrimaryApplicant();
             
             // Save to get IDs (transaction will persist)
             this.decisionRequest = decisionRequestRepository.save(this.decisionRequest);
@@ -69,6 +78,69 @@ public class RequestBuilder {
         return this;
     }
     
+    /**
+     * Builds an unsaved DecisionRequest with its applicant and address
+     * Stateless, so it is safe to call from several threads (used by the batch endpoint)
+     * Does not check required columns (see validate), so the replay runner can build historical records
+     * 
+     * @throws IllegalArgumentException if address or applicant parameters are missing
+     */
+    public DecisionRequest build(
+            Integer applicationId, 
+            Map<String, Object> addressParams,
+            Map<String, Object> applicantParams) {
+        
+        DecisionRequest request = new DecisionRequest(applicationId);
+        
+        Address newAddress = buildAddress(addressParams);
+        newAddress.setDecisionRequest(request);
+        request.getAddresses().add(newAddress);
+        
+        Applicant newApplicant = buildApplicant(applicantParams);
+        newApplicant.setDecisionRequest(request);
+        request.getApplicants().add(newApplicant);
+        
+        return request;
+    }
+    
+    /**
+     * Checks the values stored in non-null address and applicant columns, so an aggregate that
+     * could not be saved is rejected before any report provider is called
+     *
+     * @return One message per missing or malformed value (e.g. "address.city is required"); empty if valid
+     */
+    public static List<String> validate(Map<String, Object> addressParams, Map<String, Object> applicantParams) {
+        List<String> errors = new ArrayList<>();
+        for (String field : REQUIRED_ADDRESS_FIELDS) {
+            if (isBlank(addressParams, field)) {
+                errors.add("address." + field + " is required");
+            }
+        }
+        if (isBlank(applicantParams, "firstName")) {
+            errors.add("firstName is required");
+        }
+        if (isBlank(applicantParams, "ssn")) {
+            errors.add("ssn is required");
+        }
+        for (String field : REQUIRED_AMOUNT_FIELDS) {
+            Object value = applicantParams != null ? applicantParams.get(field) : null;
+            if (value == null) {
+                errors.add(field + " is required");
+            } else if (!(value instanceof Number)) {
+                errors.add(field + " must be a number");
+            }
+        }
+        return errors;
+    }
+    
+    private static boolean isBlank(Map<String, Object> params, String key) {
+        if (params == null) {
+            return true;
+        }
+        Object value = params.get(key);
+        return !(value instanceof String) || ((String) value).isBlank();
+    }
+    
     /**
      * Checks if the DecisionRequest was successfully created
      */
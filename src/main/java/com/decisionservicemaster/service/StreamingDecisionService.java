@@ -0,0 +1,163 @@
+package com.decisionservicemaster.service;
+
+import com.decisionservicemaster.dto.BatchDecisionResponse;
+import com.decisionservicemaster.service.BatchDecisionService.BatchItemResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Evaluates an NDJSON stream of applications and writes NDJSON results as they complete
+ * At most maxInFlight records are parsed-but-unwritten at any time: once that many are
+ * in flight the reader stops pulling input, so memory stays flat whatever the stream size
+ * and the DB pool and report providers see a bounded load.
+ */
+@Service
+public class StreamingDecisionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StreamingDecisionService.class);
+    
+    private static final byte[] NEWLINE = {'\n'};
+    
+    private final BatchDecisionService batchDecisionService;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Maximum number of records being evaluated or persisted at once
+     * Keep at or below the DB pool size so streaming cannot starve the other endpoints
+     */
+    @Value("${app.stream.max-in-flight:8}")
+    private int maxInFlight;
+    
+    public StreamingDecisionService(BatchDecisionService batchDecisionService, ObjectMapper objectMapper) {
+        this.batchDecisionService = batchDecisionService;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Summary of a completed stream
+     */
+    public record StreamSummary(long received, long processed, long failed) {
+    }
+    
+    /**
+     * Reads one application per line and writes one result per line, in completion order
+     * Each result carries the record's zero-based index so callers can correlate it with the input.
+     * Blank lines are skipped; a malformed line produces an "invalid" result.
+     *
+     * @throws UncheckedIOException if the output can no longer be written (e.g. the client disconnected)
+     */
+    public StreamSummary process(InputStream input, OutputStream output) throws IOException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        ResultWriter writer = new ResultWriter(output);
+        long received = 0;
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String line;
+            while (!writer.isBroken() && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                
+                // Blocks the reader (and so the client upload) while maxInFlight records are pending
+                permits.acquireUninterruptibly();
+                int index = (int) received++;
+                String record = line;
+                executor.execute(() -> {
+                    try {
+                        writer.write(processRecord(index, record));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        
+        if (writer.isBroken()) {
+            throw new UncheckedIOException("Stopped streaming decisions after " + received + " records", writer.failure);
+        }
+        return new StreamSummary(received, writer.processed, writer.failed);
+    }
+    
+    private BatchItemResult processRecord(int index, String record) {
+        Map<String, Object> requestBody;
+        try {
+            requestBody = objectMapper.readValue(record, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            return BatchItemResult.failed(index, null, "invalid", List.of("Malformed JSON record"));
+        }
+        
+        try {
+            return batchDecisionService.processOne(index, ApplicationParams.from(requestBody));
+        } catch (Exception e) {
+            logger.error("Failed to process streamed record {}", index, e);
+            return BatchItemResult.failed(index, null, "error", List.of("Evaluation failed"));
+        }
+    }
+    
+    /**
+     * Serializes results from the worker threads onto the shared output, one line each
+     */
+    private final class ResultWriter {
+        
+        private final OutputStream output;
+        private long processed;
+        private long failed;
+        private volatile IOException failure;
+        
+        ResultWriter(OutputStream output) {
+            this.output = output;
+        }
+        
+        boolean isBroken() {
+            return failure != null;
+        }
+        
+        void write(BatchItemResult result) {
+            byte[] line;
+            try {
+                line = objectMapper.writeValueAsBytes(BatchDecisionResponse.Item.from(result));
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to serialize result for streamed record {}", result.index(), e);
+                return;
+            }
+            
+            synchronized (this) {
+                if (failure != null) {
+                    return;
+                }
+                try {
+                    output.write(line);
+                    output.write(NEWLINE);
+                    output.flush();
+                    if (result.isProcessed()) {
+                        processed++;
+                    } else {
+                        failed++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Streaming client went away at record {}: {}", result.index(), e.getMessage());
+                    failure = e;
+                }
+            }
+        }
+    }
+}
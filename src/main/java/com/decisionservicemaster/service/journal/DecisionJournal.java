@@ -0,0 +1,697 @@
+package com.decisionservicemaster.service.journal;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal for the write-behind pipeline
+ *
+ * Callers append an evaluated aggregate and return once it is on disk. A writer thread
+ * group-commits concurrent appends with one fsync per batch, and a drainer thread inserts
+ * journaled aggregates into the database in batches, then advances a checkpoint.
+ * On startup a torn tail left by a crash is cut off and everything after the checkpoint is
+ * replayed, so an acknowledged decision is never lost. Delivery is at-least-once: a crash
+ * between a database commit and the checkpoint write inserts that batch again on restart.
+ * A batch that fails drain-max-attempts times in a row is inserted one entry at a time; an
+ * entry the database rejects outright (a constraint violation, not an outage) is moved to the
+ * dead-letter file, so one bad entry cannot hold back the rest of the journal.
+ *
+ * Layout: segment-NNNN.journal files of "crc32 json" lines, a "checkpoint" file holding
+ * the segment and byte offset of the first entry not yet in the database, and a
+ * "dead-letter.journal" file, in the segment line format, of entries that could not be inserted.
+ */
+@Component
+public class DecisionJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DecisionJournal.class);
+    
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String DEAD_LETTER = "dead-letter.journal";
+    private static final int MIN_READ_CHUNK = 64 * 1024;
+    
+    /**
+     * Inserts a batch of aggregates; must be atomic (all or nothing)
+     */
+    @FunctionalInterface
+    public interface Persister {
+        void persist(List<DecisionRequest> decisionRequests);
+    }
+    
+    private final ObjectMapper objectMapper;
+    private final Persister persister;
+    private final boolean enabled;
+    private final Path directory;
+    private final int maxAppendBatch;
+    private final int drainBatchSize;
+    private final int drainMaxAttempts;
+    private final long segmentSize;
+    private final Duration drainRetryBackoff;
+    private final Duration appendTimeout;
+    
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final Object progress = new Object();
+    private volatile boolean running;
+    private volatile boolean writerStopped;
+    private volatile boolean failed;
+    private volatile Position durableEnd;
+    
+    // Owned by the writer thread once started
+    private FileChannel activeChannel;
+    private long activeSegment;
+    private long activeSize;
+    
+    private Thread writerThread;
+    private Thread drainerThread;
+    
+    @Autowired
+    public DecisionJournal(
+            ObjectMapper objectMapper,
+            DecisionRequestRepository decisionRequestRepository,
+            PlatformTransactionManager transactionManager,
+            DecisionMetrics decisionMetrics,
+            @Value("${app.processor.write-mode:two-phase}") String writeMode,
+            @Value("${app.journal.directory:journal}") String directory,
+            @Value("${app.journal.max-append-batch:256}") int maxAppendBatch,
+            @Value("${app.journal.drain-batch-size:100}") int drainBatchSize,
+            @Value("${app.journal.drain-max-attempts:3}") int drainMaxAttempts,
+            @Value("${app.journal.segment-size:67108864}") long segmentSize,
+            @Value("${app.journal.drain-retry-backoff:1s}") Duration drainRetryBackoff,
+            @Value("${app.journal.append-timeout:5s}") Duration appendTimeout) {
+        this(objectMapper, "write-behind".equals(writeMode), Path.of(directory), maxAppendBatch, drainBatchSize,
+            drainMaxAttempts, segmentSize, drainRetryBackoff, appendTimeout, transactionalPersister(
+                decisionRequestRepository, new TransactionTemplate(transactionManager), decisionMetrics));
+    }
+    
+    DecisionJournal(ObjectMapper objectMapper, boolean enabled, Path directory, int maxAppendBatch,
+                    int drainBatchSize, int drainMaxAttempts, long segmentSize, Duration drainRetryBackoff,
+                    Duration appendTimeout, Persister persister) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxAppendBatch = maxAppendBatch;
+        this.drainBatchSize = drainBatchSize;
+        this.drainMaxAttempts = Math.max(1, drainMaxAttempts);
+        this.segmentSize = segmentSize;
+        this.drainRetryBackoff = drainRetryBackoff;
+        this.appendTimeout = appendTimeout;
+        this.persister = persister;
+    }
+    
+    private static Persister transactionalPersister(DecisionRequestRepository decisionRequestRepository,
+                                                    TransactionTemplate transactionTemplate,
+                                                    DecisionMetrics decisionMetrics) {
+        return decisionRequests -> decisionMetrics.timePersist(() -> transactionTemplate.execute(
+            status -> decisionRequestRepository.saveAll(decisionRequests)));
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.debug("Decision journal disabled");
+            return;
+        }
+        
+        Position checkpoint;
+        try {
+            checkpoint = recover();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open decision journal in " + directory, e);
+        }
+        
+        running = true;
+        writerThread = Thread.ofPlatform().name("decision-journal-writer").daemon(true).start(this::write);
+        drainerThread = Thread.ofPlatform().name("decision-journal-drainer").daemon(true)
+            .start(() -> drain(checkpoint));
+        logger.info("Decision journal open in {}, draining from segment {} offset {}",
+                    directory.toAbsolutePath(), checkpoint.segment(), checkpoint.offset());
+    }
+    
+    /**
+     * Stops accepting appends, flushes pending ones and gives the drainer one last pass
+     * Anything still undrained stays in the journal and is replayed on the next start
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writerThread.join(appendTimeout.toMillis());
+        writerStopped = true;
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+        drainerThread.join(appendTimeout.toMillis() + drainRetryBackoff.toMillis());
+        drainerThread.interrupt();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Appends an evaluated aggregate and waits until it is durable on local disk
+     * An entry still queued when append-timeout passes is withdrawn; one the writer has already
+     * taken is waited for, since it can still become durable and be drained
+     *
+     * @throws IllegalStateException if the journal is not running, the write failed or timed out;
+     *         the entry is then not in the journal and the caller must persist it itself
+     */
+    public void append(JournalEntry entry) {
+        if (!running || failed) {
+            throw new IllegalStateException("Decision journal is not running");
+        }
+        
+        byte[] line;
+        try {
+            line = encode(objectMapper.writeValueAsBytes(entry));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize journal entry", e);
+        }
+        
+        PendingAppend pending = new PendingAppend(line, new CompletableFuture<>(), new AtomicBoolean());
+        queue.add(pending);
+        try {
+            try {
+                pending.durable().get(appendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claimed().compareAndSet(false, true)) {
+                    pending.durable().cancel(false);
+                    throw new IllegalStateException("Timed out appending to the decision journal", e);
+                }
+                // The writer took the entry first, so it will be written or fail as a whole
+                pending.durable().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while appending to the decision journal", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to append to the decision journal", e);
+        }
+    }
+    
+    // Writer
+    
+    private void write() {
+        List<PendingAppend> batch = new ArrayList<>(maxAppendBatch);
+        while (true) {
+            PendingAppend first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                if (!running) {
+                    break;
+                }
+                continue;
+            }
+            
+            batch.add(first);
+            queue.drainTo(batch, maxAppendBatch - 1);
+            // Drop entries whose append already timed out; the caller saved those itself
+            batch.removeIf(pending -> !pending.claimed().compareAndSet(false, true));
+            if (batch.isEmpty()) {
+                continue;
+            }
+            if (failed) {
+                IOException unavailable = new IOException("Decision journal segment could not be repaired");
+                batch.forEach(pending -> pending.durable().completeExceptionally(unavailable));
+                batch.clear();
+                continue;
+            }
+            try {
+                writeAndForce(batch);
+                batch.forEach(pending -> pending.durable().complete(null));
+            } catch (IOException e) {
+                logger.error("Failed to write {} entries to the decision journal", batch.size(), e);
+                batch.forEach(pending -> pending.durable().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+        
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close decision journal segment {}", activeSegment, e);
+        }
+    }
+    
+    private void writeAndForce(List<PendingAppend> batch) throws IOException {
+        if (activeSize >= segmentSize) {
+            rollSegment();
+        }
+        
+        int length = 0;
+        for (PendingAppend pending : batch) {
+            length += pending.line().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (PendingAppend pending : batch) {
+            buffer.put(pending.line());
+        }
+        buffer.flip();
+        
+        try {
+            while (buffer.hasRemaining()) {
+                activeChannel.write(buffer);
+            }
+            activeChannel.force(false);
+        } catch (IOException e) {
+            discardPartialWrite();
+            throw e;
+        }
+        activeSize += length;
+        
+        durableEnd = new Position(activeSegment, activeSize);
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+    
+    /**
+     * Cuts a failed batch off the active segment, so the next batch starts where durableEnd and the
+     * drainer expect it; if even that fails, the journal stops taking appends
+     */
+    private void discardPartialWrite() {
+        try {
+            activeChannel.truncate(activeSize);
+            activeChannel.position(activeSize);
+            activeChannel.force(false);
+        } catch (IOException e) {
+            failed = true;
+            logger.error("Failed to discard a partial write from decision journal segment {}; "
+                         + "requests will be saved synchronously until restart", activeSegment, e);
+        }
+    }
+    
+    private void rollSegment() throws IOException {
+        activeChannel.close();
+        activeSegment++;
+        activeChannel = FileChannel.open(segmentPath(activeSegment),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeSize = 0;
+    }
+    
+    // Drainer
+    
+    private void drain(Position start) {
+        Position checkpoint = start;
+        int failedAttempts = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            Position end = durableEnd;
+            if (checkpoint.compareTo(end) >= 0) {
+                if (writerStopped) {
+                    return;
+                }
+                awaitProgress();
+                continue;
+            }
+            
+            ReadBatch batch;
+            try {
+                batch = read(checkpoint, end);
+            } catch (IOException e) {
+                logger.error("Failed to read decision journal at segment {} offset {}",
+                             checkpoint.segment(), checkpoint.offset(), e);
+                if (!pause()) {
+                    return;
+                }
+                continue;
+            }
+            
+            if (!batch.entries().isEmpty() && failedAttempts < drainMaxAttempts) {
+                try {
+                    persister.persist(batch.entries().stream().map(entry -> entry.entry().toDecisionRequest()).toList());
+                } catch (RuntimeException e) {
+                    failedAttempts++;
+                    logger.error("Failed to persist {} journaled decisions (attempt {} of {}), retrying in {}",
+                                 batch.entries().size(), failedAttempts, drainMaxAttempts, drainRetryBackoff, e);
+                    if (!running || !pause()) {
+                        return;
+                    }
+                    continue;
+                }
+            } else if (!batch.entries().isEmpty()) {
+                Position reached = persistOneByOne(batch.entries(), checkpoint);
+                if (!reached.equals(batch.entries().get(batch.entries().size() - 1).next())) {
+                    // Stopped by a failure that is not the entry's fault; retry from there after a pause
+                    checkpoint = advanceCheckpoint(checkpoint, reached);
+                    if (!running || !pause()) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            
+            failedAttempts = 0;
+            checkpoint = advanceCheckpoint(checkpoint, batch.next());
+        }
+    }
+    
+    /**
+     * Inserts the entries of a batch that keeps failing one per transaction, moving entries the
+     * database rejects to the dead-letter file; stops at the first failure of any other kind
+     *
+     * @return The position after the last entry inserted or dead-lettered
+     */
+    private Position persistOneByOne(List<ReadEntry> entries, Position from) {
+        logger.warn("Persisting {} journaled decisions one at a time after {} failed attempts",
+                    entries.size(), drainMaxAttempts);
+        Position reached = from;
+        for (ReadEntry entry : entries) {
+            try {
+                persister.persist(List.of(entry.entry().toDecisionRequest()));
+            } catch (RuntimeException e) {
+                if (!isRejectedEntry(e)) {
+                    logger.error("Failed to persist journaled decision for application {}, retrying in {}",
+                                 entry.entry().applicationId(), drainRetryBackoff, e);
+                    return reached;
+                }
+                try {
+                    deadLetter(entry);
+                } catch (IOException deadLetterFailure) {
+                    logger.error("Failed to write decision journal dead-letter file", deadLetterFailure);
+                    return reached;
+                }
+                logger.error("Moved journaled decision for application {} to {}: the database rejected it",
+                             entry.entry().applicationId(), directory.resolve(DEAD_LETTER), e);
+            }
+            reached = advanceCheckpoint(reached, entry.next());
+        }
+        return reached;
+    }
+    
+    /**
+     * True if the database refused the entry itself (e.g. a constraint violation), so retrying cannot help;
+     * outages and connection failures are not
+     */
+    private static boolean isRejectedEntry(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException
+            && !(e instanceof DataAccessResourceFailureException)
+            && !(e instanceof NonTransientDataAccessResourceException);
+    }
+    
+    private void deadLetter(ReadEntry entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(entry.line());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+    
+    /**
+     * Writes the checkpoint and drops fully drained segments
+     *
+     * @return The new checkpoint, or the old one if it could not be written
+     */
+    private Position advanceCheckpoint(Position current, Position next) {
+        if (next.equals(current)) {
+            return current;
+        }
+        try {
+            writeCheckpoint(next);
+            deleteSegmentsBefore(next.segment());
+        } catch (IOException e) {
+            logger.error("Failed to advance decision journal checkpoint", e);
+        }
+        return next;
+    }
+    
+    private void awaitProgress() {
+        synchronized (progress) {
+            try {
+                progress.wait(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(drainRetryBackoff.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * Reads up to drainBatchSize entries from the given position, never past the durable end
+     * An exhausted, closed segment yields an empty batch positioned at the next segment
+     */
+    private ReadBatch read(Position from, Position end) throws IOException {
+        Path segment = segmentPath(from.segment());
+        long segmentEnd = from.segment() == end.segment() ? end.offset() : Files.size(segment);
+        if (from.offset() >= segmentEnd) {
+            return new ReadBatch(List.of(), new Position(from.segment() + 1, 0));
+        }
+        
+        List<ReadEntry> entries = new ArrayList<>();
+        long offset = from.offset();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            int chunk = (int) Math.min(segmentEnd - offset, Math.max(MIN_READ_CHUNK, (long) drainBatchSize * 2048));
+            while (entries.size() < drainBatchSize && offset < segmentEnd) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(chunk, segmentEnd - offset));
+                channel.read(buffer, offset);
+                byte[] bytes = buffer.array();
+                
+                int lineStart = 0;
+                for (int i = 0; i < buffer.position() && entries.size() < drainBatchSize; i++) {
+                    if (bytes[i] == '\n') {
+                        JournalEntry entry = decode(bytes, lineStart, i);
+                        if (entry != null) {
+                            entries.add(new ReadEntry(entry, Arrays.copyOfRange(bytes, lineStart, i + 1),
+                                new Position(from.segment(), offset + i + 1)));
+                        } else {
+                            logger.error("Skipping corrupt decision journal entry in segment {} at offset {}",
+                                         from.segment(), offset + lineStart);
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                
+                if (lineStart == 0) {
+                    if (offset + buffer.position() >= segmentEnd) {
+                        // No newline before the segment ends: a torn tail, not a large entry
+                        logger.error("Skipping {} bytes of incomplete decision journal entry in segment {} at offset {}",
+                                     segmentEnd - offset, from.segment(), offset);
+                        offset = segmentEnd;
+                        break;
+                    }
+                    // A single entry larger than the chunk
+                    chunk *= 2;
+                    continue;
+                }
+                offset += lineStart;
+            }
+        }
+        return new ReadBatch(entries, new Position(from.segment(), offset));
+    }
+    
+    // Recovery and files
+    
+    /**
+     * Cuts any torn tail off the last segment, opens it for appends and returns the checkpoint
+     */
+    private Position recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments();
+        
+        if (segments.isEmpty()) {
+            activeSegment = 1;
+            activeChannel = FileChannel.open(segmentPath(activeSegment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            activeSize = 0;
+        } else {
+            activeSegment = segments.get(segments.size() - 1);
+            Path segment = segmentPath(activeSegment);
+            long validLength = validLength(segment);
+            activeChannel = FileChannel.open(segment, StandardOpenOption.WRITE);
+            if (validLength < activeChannel.size()) {
+                logger.warn("Discarding {} bytes of incomplete decision journal entries from segment {}",
+                            activeChannel.size() - validLength, activeSegment);
+                activeChannel.truncate(validLength);
+                activeChannel.force(true);
+            }
+            activeChannel.position(validLength);
+            activeSize = validLength;
+        }
+        durableEnd = new Position(activeSegment, activeSize);
+        
+        long firstSegment = segments.isEmpty() ? activeSegment : segments.get(0);
+        Position checkpoint = readCheckpoint();
+        if (checkpoint == null || checkpoint.segment() < firstSegment) {
+            checkpoint = new Position(firstSegment, 0);
+        }
+        return checkpoint;
+    }
+    
+    /**
+     * Length of the prefix of the segment made of complete entries with a matching checksum
+     */
+    private long validLength(Path segment) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                if (decode(bytes, lineStart, i) == null) {
+                    break;
+                }
+                lineStart = i + 1;
+            }
+        }
+        return lineStart;
+    }
+    
+    private Position readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        String[] parts = Files.readString(path).trim().split(" ");
+        return new Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+    }
+    
+    private void writeCheckpoint(Position checkpoint) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap((checkpoint.segment() + " " + checkpoint.offset() + "\n")
+                .getBytes(StandardCharsets.US_ASCII)));
+            channel.force(false);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private void deleteSegmentsBefore(long segment) throws IOException {
+        for (long existing : listSegments()) {
+            if (existing < segment && existing != activeSegment) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+    
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+    
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+    
+    // Line format: 8 hex digits of CRC32 over the JSON, a space, the JSON, a newline
+    
+    private static byte[] encode(byte[] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        byte[] prefix = String.format("%08x ", crc.getValue()).getBytes(StandardCharsets.US_ASCII);
+        byte[] line = new byte[prefix.length + json.length + 1];
+        System.arraycopy(prefix, 0, line, 0, prefix.length);
+        System.arraycopy(json, 0, line, prefix.length, json.length);
+        line[line.length - 1] = '\n';
+        return line;
+    }
+    
+    /**
+     * @return The entry on bytes[start, end) (end excludes the newline), or null if it is corrupt
+     */
+    private JournalEntry decode(byte[] bytes, int start, int end) {
+        if (end - start < 10 || bytes[start + 8] != ' ') {
+            return null;
+        }
+        try {
+            long expected = Long.parseLong(new String(bytes, start, 8, StandardCharsets.US_ASCII), 16);
+            CRC32 crc = new CRC32();
+            crc.update(bytes, start + 9, end - start - 9);
+            if (crc.getValue() != expected) {
+                return null;
+            }
+            return objectMapper.readValue(bytes, start + 9, end - start - 9, JournalEntry.class);
+        } catch (NumberFormatException | IOException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * An entry waiting for the writer; claimed is set by the writer when it takes the entry,
+     * or by append when it gives up, whichever comes first
+     */
+    private record PendingAppend(byte[] line, CompletableFuture<Void> durable, AtomicBoolean claimed) {
+    }
+    
+    private record ReadBatch(List<ReadEntry> entries, Position next) {
+    }
+    
+    /**
+     * A decoded entry with its raw line and the position just after it
+     */
+    private record ReadEntry(JournalEntry entry, byte[] line, Position next) {
+    }
+    
+    /**
+     * A byte offset within a segment; orders by segment, then offset
+     */
+    private record Position(long segment, long offset) implements Comparable<Position> {
+        
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Long.compare(offset, other.offset);
+        }
+    }
+}
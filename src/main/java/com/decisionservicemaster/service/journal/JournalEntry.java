@@ -0,0 +1,128 @@
+package com.decisionservicemaster.service.journal;
+
+import com.decisionservicemaster.domain.entity.Address;
+import com.decisionservicemaster.domain.entity.Applicant;
+import com.decisionservicemaster.domain.entity.CreditReport;
+import com.decisionservicemaster.domain.entity.Decision;
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.domain.entity.MortgageReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fully evaluated decision aggregate as written to the journal
+ * Holds the column values of every entity (no ids or timestamps), so the drainer
+ * can insert exactly what the caller was answered with, even if the rules change meanwhile
+ */
+public record JournalEntry(
+        Integer applicationId,
+        String finalDecision,
+        List<AddressRecord> addresses,
+        List<ApplicantRecord> applicants,
+        List<DecisionRecord> decisions) {
+    
+    public record AddressRecord(
+            String street,
+            String unitNumber,
+            String city,
+            String zip,
+            String state,
+            String county,
+            List<MortgageReportRecord> mortgageReports) {
+    }
+    
+    public record MortgageReportRecord(Integer totalMortgage, Integer pendingMortgage, String regularInPayment) {
+    }
+    
+    public record ApplicantRecord(
+            String firstName,
+            String lastName,
+            String encryptedSsn,
+            String encryptedSsnIv,
+            Double income,
+            String incomeType,
+            Double requestedLoanAmount,
+            List<Integer> creditScores) {
+    }
+    
+    public record DecisionRecord(String ruleName, String decision, String message, String ruleSnapshotVersion) {
+    }
+    
+    /**
+     * Captures an evaluated, unsaved request
+     */
+    public static JournalEntry from(DecisionRequest decisionRequest) {
+        List<AddressRecord> addresses = new ArrayList<>();
+        for (Address address : decisionRequest.getAddresses()) {
+            List<MortgageReportRecord> mortgageReports = new ArrayList<>();
+            for (MortgageReport report : address.getMortgageReports()) {
+                mortgageReports.add(new MortgageReportRecord(
+                    report.getTotalMortgage(), report.getPendingMortgage(), report.getRegularInPayment()));
+            }
+            addresses.add(new AddressRecord(address.getStreet(), address.getUnitNumber(), address.getCity(),
+                address.getZip(), address.getState(), address.getCounty(), mortgageReports));
+        }
+        
+        List<ApplicantRecord> applicants = new ArrayList<>();
+        for (Applicant applicant : decisionRequest.getApplicants()) {
+            List<Integer> creditScores = new ArrayList<>();
+            for (CreditReport report : applicant.getCreditReports()) {
+                creditScores.add(report.getCreditScore());
+            }
+            applicants.add(new ApplicantRecord(applicant.getFirstName(), applicant.getLastName(),
+                applicant.getEncryptedSsn(), applicant.getEncryptedSsnIv(), applicant.getIncome(),
+                applicant.getIncomeType(), applicant.getRequestedLoanAmount(), creditScores));
+        }
+        
+        List<DecisionRecord> decisions = new ArrayList<>();
+        for (Decision decision : decisionRequest.getDecisions()) {
+            decisions.add(new DecisionRecord(decision.getRuleName(), decision.getDecision(),
+                decision.getMessage(), decision.getRuleSnapshotVersion()));
+        }
+        
+        return new JournalEntry(decisionRequest.getApplicationId(), decisionRequest.getDecision(),
+            addresses, applicants, decisions);
+    }
+    
+    /**
+     * Rebuilds the unsaved entity graph, with all back references set, ready for saveAll
+     */
+    public DecisionRequest toDecisionRequest() {
+        DecisionRequest request = new DecisionRequest(applicationId);
+        request.setDecision(finalDecision);
+        
+        for (AddressRecord record : addresses) {
+            Address address = new Address(record.street(), record.unitNumber(), record.city(),
+                record.zip(), record.state(), record.county());
+            address.setDecisionRequest(request);
+            for (MortgageReportRecord reportRecord : record.mortgageReports()) {
+                MortgageReport report = new MortgageReport(address);
+                report.setTotalMortgage(reportRecord.totalMortgage());
+                report.setPendingMortgage(reportRecord.pendingMortgage());
+                report.setRegularInPayment(reportRecord.regularInPayment());
+                address.getMortgageReports().add(report);
+            }
+            request.getAddresses().add(address);
+        }
+        
+        for (ApplicantRecord record : applicants) {
+            Applicant applicant = new Applicant(record.firstName(), record.lastName(), record.encryptedSsn(),
+                record.income(), record.incomeType(), record.requestedLoanAmount());
+            applicant.setEncryptedSsnIv(record.encryptedSsnIv());
+            applicant.setDecisionRequest(request);
+            for (Integer creditScore : record.creditScores()) {
+                applicant.getCreditReports().add(new CreditReport(applicant, creditScore));
+            }
+            request.getApplicants().add(applicant);
+        }
+        
+        for (DecisionRecord record : decisions) {
+            Decision decision = new Decision(record.ruleName(), record.decision(), record.message());
+            decision.setRuleSnapshotVersion(record.ruleSnapshotVersion());
+            request.addDecision(decision);
+        }
+        
+        return request;
+    }
+}
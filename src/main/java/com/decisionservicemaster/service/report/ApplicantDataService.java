@@ -1,21 +1,28 @@
 package com.decisionservicemaster.service.report;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.decisionservicemaster.service.report.store.ReportStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Map;
 
 @Service
 public class ApplicantDataService {
     
-    private Map<String, Map<String, Object>> mockData;
+    private ReportStore store;
     private final ObjectMapper objectMapper;
     
+    /**
+     * Store file built by ReportStoreBuilder; empty maps the bundled sample_data/applicant.json instead
+     */
+    @Value("${app.reports.store.applicant:}")
+    private String storePath;
+    
     public ApplicantDataService(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
@@ -23,22 +30,25 @@ public class ApplicantDataService {
     @PostConstruct
     public void init() {
         try {
-            InputStream inputStream = new ClassPathResource("sample_data/applicant.json").getInputStream();
-            mockData = objectMapper.readValue(
-                inputStream, 
-                new TypeReference<Map<String, Map<String, Object>>>() {}
-            );
+            store = storePath == null || storePath.isBlank()
+                ? ReportStore.fromClasspath("sample_data/applicant.json", objectMapper.getFactory())
+                : ReportStore.open(Path.of(storePath));
         } catch (IOException e) {
             throw new RuntimeException("Failed to load applicant mock data", e);
         }
     }
     
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+    
     public Map<String, Object> call(String ssn) {
         if (ssn == null || ssn.isEmpty()) {
             throw new ReportNotFoundException("SSN cannot be null or empty");
         }
         
-        Map<String, Object> applicantReport = mockData.get(ssn);
+        Map<String, Object> applicantReport = store.get(ssn);
         
         if (applicantReport == null) {
             throw new ReportNotFoundException("Report not found for SSN: " + ssn);
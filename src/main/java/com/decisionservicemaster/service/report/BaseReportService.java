@@ -1,10 +1,16 @@
 package com.decisionservicemaster.service.report;
 
 import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.decisionservicemaster.service.report.http.ReportHttpClient;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Abstract base class for fetching and parsing external reports
@@ -14,6 +20,19 @@ public abstract class BaseReportService<T> {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseReportService.class);
     
+    private final ReportCache reportCache;
+    private final ReportProviderGuard reportProviderGuard;
+    private final DecisionMetrics decisionMetrics;
+    private final ReportHttpClient reportHttpClient;
+    
+    protected BaseReportService(ReportCache reportCache, ReportProviderGuard reportProviderGuard,
+                                DecisionMetrics decisionMetrics, Optional<ReportHttpClient> reportHttpClient) {
+        this.reportCache = reportCache;
+        this.reportProviderGuard = reportProviderGuard;
+        this.decisionMetrics = decisionMetrics;
+        this.reportHttpClient = reportHttpClient.filter(ReportHttpClient::isEnabled).orElse(null);
+    }
+    
     /**
      * Main method to fetch and create report entity
      * Template method that orchestrates the process
@@ -22,9 +41,58 @@ public abstract class BaseReportService<T> {
      * @return Report entity (CreditReport or MortgageReport), or null if failed
      */
     public T fetch(DecisionRequest decisionRequest) {
+        return fetchAsync(decisionRequest).join();
+    }
+    
+    /**
+     * Starts fetching the report; no thread waits while the provider answers over HTTP
+     *
+     * @param decisionRequest The decision request context
+     * @return Future of the report entity, completing with null (never failing) if the fetch failed
+     */
+    public CompletableFuture<T> fetchAsync(DecisionRequest decisionRequest) {
+        Timer.Sample sample = decisionMetrics.startReportFetch();
+        CompletableFuture<Map<String, Object>> serviceData;
         try {
-            // Call external service to get raw data
-            Map<String, Object> serviceData = callService(decisionRequest);
+            // Raw data is served from cache while fresh; only cache misses go through
+            // the provider's bulkhead and circuit breaker
+            serviceData = reportCache.get(
+                getReportType(),
+                getCacheKey(decisionRequest),
+                () -> reportProviderGuard.callAsync(getReportType(), () -> callProvider(decisionRequest))
+            );
+        } catch (RuntimeException e) {
+            serviceData = CompletableFuture.failedFuture(e);
+        }
+        return serviceData.handle((data, failure) -> complete(decisionRequest, data, failure, sample));
+    }
+    
+    /**
+     * Calls the HTTP provider when app.reports.provider is "http", else the in-process one
+     */
+    private CompletableFuture<Map<String, Object>> callProvider(DecisionRequest decisionRequest) {
+        if (reportHttpClient == null) {
+            return CompletableFuture.completedFuture(callService(decisionRequest));
+        }
+        return reportHttpClient.postAsync(getReportType(), remoteLookup(decisionRequest))
+            .thenApply(report -> {
+                if (report == null) {
+                    throw reportNotFound(decisionRequest);
+                }
+                return report;
+            });
+    }
+    
+    /**
+     * Parses, creates and saves the report once the provider has answered
+     */
+    private T complete(DecisionRequest decisionRequest, Map<String, Object> serviceData, Throwable failure,
+                       Timer.Sample sample) {
+        String outcome = DecisionMetrics.OUTCOME_ERROR;
+        try {
+            if (failure != null) {
+                throw unwrap(failure);
+            }
             
             // Parse the data
             Map<String, Object> parsedData = parseData(serviceData);
@@ -33,6 +101,7 @@ public abstract class BaseReportService<T> {
             T report = createReport(decisionRequest, parsedData);
             
             if (saveReport(decisionRequest, report)) {
+                outcome = DecisionMetrics.OUTCOME_FOUND;
                 return report;
             } else {
                 logger.error("Failed to save report for decision request: {}", decisionRequest.getId());
@@ -41,21 +110,58 @@ public abstract class BaseReportService<T> {
             
         } catch (ApplicantDataService.ReportNotFoundException | 
                  PropertyDataService.ReportNotFoundException e) {
+            outcome = DecisionMetrics.OUTCOME_NOT_FOUND;
             logger.error("Report not found for decision request: {} - {}", 
                         decisionRequest.getId(), e.getMessage());
             return null;
+        } catch (ReportProviderGuard.ProviderUnavailableException e) {
+            outcome = DecisionMetrics.OUTCOME_REJECTED;
+            logger.warn("Report unavailable for decision request: {} - {}", 
+                        decisionRequest.getId(), e.getMessage());
+            return null;
         } catch (Exception e) {
             logger.error("Error fetching report for decision request: {}", 
                         decisionRequest.getId(), e);
             return null;
+        } finally {
+            decisionMetrics.stopReportFetch(sample, getReportType(), outcome);
         }
     }
     
+    private static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause() : failure;
+        return cause instanceof RuntimeException runtimeException
+            ? runtimeException : new IllegalStateException("Report provider call failed", cause);
+    }
+    
+    /**
+     * Returns the report type ("Credit", "Mortgage") used for caching and metrics
+     */
+    public abstract String getReportType();
+    
     /**
-     * Calls the appropriate external service to fetch report data
+     * Returns the provider cache key for this request, or null to bypass the cache
+     */
+    protected abstract String getCacheKey(DecisionRequest decisionRequest);
+    
+    /**
+     * Calls the in-process provider to fetch report data
      */
     protected abstract Map<String, Object> callService(DecisionRequest decisionRequest);
     
+    /**
+     * Builds the lookup posted to the HTTP provider
+     *
+     * @throws RuntimeException the report type's not-found exception if the request lacks the identifier
+     */
+    protected abstract Map<String, Object> remoteLookup(DecisionRequest decisionRequest);
+    
+    /**
+     * Returns the not-found exception for a lookup the HTTP provider has no report for
+     */
+    protected abstract RuntimeException reportNotFound(DecisionRequest decisionRequest);
+    
     /**
      * Parses the raw service data using appropriate parser
      */
@@ -4,9 +4,12 @@ import com.decisionservicemaster.domain.entity.Applicant;
 import com.decisionservicemaster.domain.entity.CreditReport;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.service.parser.ApplicantReportParser;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.decisionservicemaster.service.report.http.ReportHttpClient;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Optional;
 
 
 @Service
@@ -17,17 +20,48 @@ public class CreditReportService extends BaseReportService<CreditReport> {
     
     public CreditReportService(
             ApplicantDataService applicantDataService,
-            ApplicantReportParser applicantReportParser) {
+            ApplicantReportParser applicantReportParser,
+            ReportCache reportCache,
+            ReportProviderGuard reportProviderGuard,
+            DecisionMetrics decisionMetrics,
+            Optional<ReportHttpClient> reportHttpClient) {
+        super(reportCache, reportProviderGuard, decisionMetrics, reportHttpClient);
         this.applicantDataService = applicantDataService;
         this.applicantReportParser = applicantReportParser;
     }
     
+    @Override
+    public String getReportType() {
+        return "Credit";
+    }
+    
+    @Override
+    protected String getCacheKey(DecisionRequest decisionRequest) {
+        Applicant applicant = decisionRequest.getPrimaryApplicant();
+        return applicant != null ? ReportCache.hashKey(applicant.getEncryptedSsn()) : null;
+    }
+    
     @Override
     protected Map<String, Object> callService(DecisionRequest decisionRequest) {
         Applicant applicant = decisionRequest.getPrimaryApplicant();
         return applicantDataService.call(applicant.getEncryptedSsn());
     }
     
+    @Override
+    protected Map<String, Object> remoteLookup(DecisionRequest decisionRequest) {
+        Applicant applicant = decisionRequest.getPrimaryApplicant();
+        String ssn = applicant.getEncryptedSsn();
+        if (ssn == null || ssn.isEmpty()) {
+            throw new ApplicantDataService.ReportNotFoundException("SSN cannot be null or empty");
+        }
+        return Map.of("ssn", ssn);
+    }
+    
+    @Override
+    protected RuntimeException reportNotFound(DecisionRequest decisionRequest) {
+        return new ApplicantDataService.ReportNotFoundException("Credit bureau has no report for the applicant");
+    }
+    
     @Override
     protected Map<String, Object> parseData(Map<String, Object> serviceData) {
         return applicantReportParser.parseToMap(serviceData);
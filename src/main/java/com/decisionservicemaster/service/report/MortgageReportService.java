@@ -4,9 +4,12 @@ import com.decisionservicemaster.domain.entity.Address;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.domain.entity.MortgageReport;
 import com.decisionservicemaster.service.parser.PropertyReportParser;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.decisionservicemaster.service.report.http.ReportHttpClient;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service to fetch and create mortgage reports for addresses
@@ -19,17 +22,52 @@ public class MortgageReportService extends BaseReportService<MortgageReport> {
     
     public MortgageReportService(
             PropertyDataService propertyDataService,
-            PropertyReportParser propertyReportParser) {
+            PropertyReportParser propertyReportParser,
+            ReportCache reportCache,
+            ReportProviderGuard reportProviderGuard,
+            DecisionMetrics decisionMetrics,
+            Optional<ReportHttpClient> reportHttpClient) {
+        super(reportCache, reportProviderGuard, decisionMetrics, reportHttpClient);
         this.propertyDataService = propertyDataService;
         this.propertyReportParser = propertyReportParser;
     }
     
+    @Override
+    public String getReportType() {
+        return "Mortgage";
+    }
+    
+    @Override
+    protected String getCacheKey(DecisionRequest decisionRequest) {
+        Address address = decisionRequest.getPrimaryAddress();
+        if (address == null || address.getStreet() == null || address.getStreet().isEmpty()) {
+            return null;
+        }
+        return propertyDataService.normalizeStreet(address.getStreet());
+    }
+    
     @Override
     protected Map<String, Object> callService(DecisionRequest decisionRequest) {
         Address address = decisionRequest.getPrimaryAddress();
         return propertyDataService.call(address.getStreet());
     }
     
+    @Override
+    protected Map<String, Object> remoteLookup(DecisionRequest decisionRequest) {
+        Address address = decisionRequest.getPrimaryAddress();
+        String street = address.getStreet();
+        if (street == null || street.isEmpty()) {
+            throw new PropertyDataService.ReportNotFoundException("Street address cannot be null or empty");
+        }
+        return Map.of("street", street);
+    }
+    
+    @Override
+    protected RuntimeException reportNotFound(DecisionRequest decisionRequest) {
+        Address address = decisionRequest.getPrimaryAddress();
+        return new PropertyDataService.ReportNotFoundException("Report not found for address: " + address.getStreet());
+    }
+    
     @Override
     protected Map<String, Object> parseData(Map<String, Object> serviceData) {
         return propertyReportParser.parseToMap(serviceData);
@@ -1,45 +1,91 @@
 package com.decisionservicemaster.service.report;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.decisionservicemaster.service.report.address.AddressIndex;
+import com.decisionservicemaster.service.report.address.StreetNormalizer;
+import com.decisionservicemaster.service.report.store.ReportStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.core.io.ClassPathResource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Map;
 
 @Service
 public class PropertyDataService {
     
-    private Map<String, Map<String, Object>> mockData;
+    private static final Logger logger = LoggerFactory.getLogger(PropertyDataService.class);
+    
+    private ReportStore store;
+    private AddressIndex addressIndex;
     private final ObjectMapper objectMapper;
+    private final Counter fuzzyMatches;
     
-    public PropertyDataService(ObjectMapper objectMapper) {
+    /**
+     * Store file built by ReportStoreBuilder; empty maps the bundled sample_data/property.json instead
+     */
+    @Value("${app.reports.store.property:}")
+    private String storePath;
+    
+    /**
+     * Edits allowed in the street part when no store key matches exactly (0, the default, matches exactly only)
+     * A fuzzy match can return another property's report, so every one is logged and counted
+     */
+    @Value("${app.reports.address-index.max-edits:0}")
+    private int maxEdits = 0;
+    
+    @Autowired
+    public PropertyDataService(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
+        this.fuzzyMatches = Counter.builder("decision.report.address.fuzzy")
+            .description("Property lookups matched to a store key only by allowing typos")
+            .register(meterRegistry);
+    }
+    
+    public PropertyDataService(ObjectMapper objectMapper) {
+        this(objectMapper, new SimpleMeterRegistry());
     }
     
     @PostConstruct
     public void init() {
         try {
-            InputStream inputStream = new ClassPathResource("sample_data/property.json").getInputStream();
-            mockData = objectMapper.readValue(
-                inputStream, 
-                new TypeReference<Map<String, Map<String, Object>>>() {}
-            );
+            store = storePath == null || storePath.isBlank()
+                ? ReportStore.fromClasspath("sample_data/property.json", objectMapper.getFactory())
+                : ReportStore.open(Path.of(storePath));
+            addressIndex = AddressIndex.build(store::forEachKey);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load property mock data", e);
         }
     }
     
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+    
     public Map<String, Object> call(String street) {
         if (street == null || street.isEmpty()) {
             throw new ReportNotFoundException("Street address cannot be null or empty");
         }
         
         String normalizedStreet = normalizeStreet(street);
-        Map<String, Object> propertyReport = mockData.get(normalizedStreet);
+        String storeKey = addressIndex.find(normalizedStreet, 0);
+        if (storeKey == null && maxEdits > 0) {
+            storeKey = addressIndex.find(normalizedStreet, maxEdits);
+            if (storeKey != null) {
+                fuzzyMatches.increment();
+                logger.info("Fuzzy-matched address {} to property {}", street, storeKey);
+            }
+        }
+        Map<String, Object> propertyReport = storeKey != null ? store.get(storeKey) : null;
         
         if (propertyReport == null) {
             throw new ReportNotFoundException("Report not found for address: " + street);
@@ -48,14 +94,12 @@ public class PropertyDataService {
         return propertyReport;
     }
     
-    private String normalizeStreet(String street) {
-        if (street == null) return null;
-        
-        return street.toLowerCase()
-                     .trim()
-                     .replaceAll("[^a-z0-9]+", "_")
-                     .replaceAll("_+", "_")
-                     .replaceAll("^_|_$", "");
+    /**
+     * Normalizes a street into the lookup key format, with USPS abbreviations
+     * (e.g. "2233 Ashbourne Drive" -> "2233_ashbourne_dr")
+     */
+    public String normalizeStreet(String street) {
+        return StreetNormalizer.normalize(street);
     }
     
     public static class ReportNotFoundException extends RuntimeException {
@@ -0,0 +1,148 @@
+package com.decisionservicemaster.service.report;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Size-bounded, TTL-based cache of raw provider responses, one cache per report type
+ * Eviction is Caffeine's W-TinyLFU; hit, miss, eviction and load-time metrics are
+ * exported as cache.* meters tagged with cache=reports and the report type.
+ * Failed provider calls (including not-found) are never cached. Entries hold the provider's
+ * future, so concurrent lookups of one key share a single call that is in flight.
+ */
+@Component
+public class ReportCache {
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec HASH_KEY = new SecretKeySpec(randomBytes(32), HMAC_ALGORITHM);
+    
+    private final Map<String, AsyncCache<String, Map<String, Object>>> caches = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.reports.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.reports.cache.maximum-size:10000}")
+    private long maximumSize;
+    
+    @Value("${app.reports.cache.default-ttl:15m}")
+    private Duration defaultTtl;
+    
+    public ReportCache(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Creates a cache that always calls the provider, for use outside the Spring context
+     */
+    public static ReportCache disabled() {
+        ReportCache reportCache = new ReportCache(new StandardEnvironment(), new SimpleMeterRegistry());
+        reportCache.enabled = false;
+        return reportCache;
+    }
+    
+    /**
+     * Returns the cached provider response, starting the provider call on a miss
+     *
+     * @param reportType Report type, e.g. "Credit"; selects the cache and its TTL
+     * @param key Cache key (already hashed or normalized), or null to bypass the cache
+     * @param loader Starts the provider call
+     */
+    public CompletableFuture<Map<String, Object>> get(String reportType, String key,
+                                                      Supplier<CompletableFuture<Map<String, Object>>> loader) {
+        if (!enabled || key == null) {
+            return loader.get();
+        }
+        // Only an empty future is created under the cache's lock; the provider call starts
+        // after the entry is in place, and concurrent lookups of the key share that future
+        CompletableFuture<Map<String, Object>> loading = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> cached =
+            caches.computeIfAbsent(reportType, this::createCache).get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loader.get().whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        loading.completeExceptionally(failure);
+                    } else {
+                        loading.complete(response);
+                    }
+                });
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return cached;
+    }
+    
+    /**
+     * Drops all cached responses of a report type
+     */
+    public void invalidateAll(String reportType) {
+        AsyncCache<String, Map<String, Object>> cache = caches.get(reportType);
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+    
+    /**
+     * Hashes a sensitive identifier (e.g. SSN) so it is never held in memory as a cache key
+     * HMAC-SHA256 under a key drawn at startup, so the small SSN space cannot be brute-forced
+     * from a heap dump; keys only need to match within this process
+     */
+    public static String hashKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(HASH_KEY);
+            return HexFormat.of().formatHex(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+    
+    private AsyncCache<String, Map<String, Object>> createCache(String reportType) {
+        String type = reportType.toLowerCase(Locale.ROOT);
+        Duration ttl = environment.getProperty("app.reports.cache." + type + ".ttl", Duration.class, defaultTtl);
+        long size = environment.getProperty("app.reports.cache." + type + ".maximum-size", Long.class, maximumSize);
+        
+        AsyncCache<String, Map<String, Object>> cache = Caffeine.newBuilder()
+            .maximumSize(size)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .buildAsync();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "reports", "report_type", type);
+        return cache;
+    }
+    
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new SecureRandom().nextBytes(bytes);
+        return bytes;
+    }
+}
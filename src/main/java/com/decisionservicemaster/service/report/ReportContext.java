@@ -0,0 +1,126 @@
+package com.decisionservicemaster.service.report;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Per-request, read-only view of the reports needed by the rules
+ * Each report type is fetched at most once per request, no matter how many rules
+ * require it or how many threads ask for it at the same time. Fetches are held as
+ * futures, so no thread is tied up while a provider answers over HTTP.
+ */
+public class ReportContext {
+    
+    private final DecisionRequest decisionRequest;
+    private final ReportServiceFactory reportServiceFactory;
+    private final ConcurrentMap<String, CompletableFuture<Object>> reports = new ConcurrentHashMap<>();
+    
+    public ReportContext(DecisionRequest decisionRequest, ReportServiceFactory reportServiceFactory) {
+        this.decisionRequest = decisionRequest;
+        this.reportServiceFactory = reportServiceFactory;
+    }
+    
+    /**
+     * Starts fetching the given report types together and waits for all of them, one provider call per distinct type
+     *
+     * @param reportTypes Report types collected from all active rules (duplicates are ignored)
+     */
+    public void prefetch(Collection<String> reportTypes) {
+        CompletableFuture<?>[] fetches = reportTypes.stream()
+            .distinct()
+            .map(this::fetchAsync)
+            .toArray(CompletableFuture[]::new);
+        await(CompletableFuture.allOf(fetches), "reports");
+    }
+    
+    /**
+     * Returns the report of the given type, fetching it on first use
+     *
+     * @return Report entity (CreditReport or MortgageReport), or null if unavailable
+     */
+    public Object get(String reportType) {
+        return await(fetchAsync(reportType), reportType + " report");
+    }
+    
+    /**
+     * Returns the pending or completed fetch of the given report type, starting it on first use
+     *
+     * @return Future of the report entity, completing with null if unavailable
+     */
+    public CompletableFuture<Object> fetchAsync(String reportType) {
+        // Plain get first: reading an already fetched report allocates nothing
+        CompletableFuture<Object> report = reports.get(reportType);
+        if (report != null) {
+            return report;
+        }
+        
+        // Only the caller that claims the type starts the fetch; concurrent callers share its future
+        CompletableFuture<Object> owned = new CompletableFuture<>();
+        report = reports.putIfAbsent(reportType, owned);
+        if (report != null) {
+            return report;
+        }
+        try {
+            reportServiceFactory.fetchReportAsync(reportType, decisionRequest).whenComplete((result, failure) -> {
+                if (failure != null) {
+                    owned.completeExceptionally(failure);
+                } else {
+                    owned.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            owned.completeExceptionally(e);
+        }
+        return owned;
+    }
+    
+    private static <R> R await(CompletableFuture<R> future, String what) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + what, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to fetch " + what, cause);
+        }
+    }
+    
+    /**
+     * Returns the reports for the given types in the same order (entries may be null)
+     */
+    public List<Object> getAll(List<String> reportTypes) {
+        List<Object> result = new ArrayList<>(reportTypes.size());
+        for (String reportType : reportTypes) {
+            result.add(get(reportType));
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * True if the report type has been fetched, or is being fetched, for this request
+     */
+    public boolean isFetched(String reportType) {
+        return reports.containsKey(reportType);
+    }
+    
+    /**
+     * Returns the number of distinct report types fetched so far
+     */
+    public int fetchedCount() {
+        return reports.size();
+    }
+}
@@ -0,0 +1,387 @@
+package com.decisionservicemaster.service.report;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead and circuit breaker per report provider, so one slow or failing bureau cannot
+ * tie up every request thread
+ *
+ * The bulkhead caps the calls in flight to a provider; a call that finds it full waits at most
+ * max-wait, then is rejected. The breaker tracks the last window-size calls: once at least
+ * minimum-calls are recorded and the share of failures (exceptions other than not-found, or
+ * calls slower than slow-call-threshold) reaches failure-rate-threshold, it opens and rejects
+ * every call for open-duration. It then lets half-open-probes calls through; if they all
+ * succeed it closes again, any failure reopens it. A rejected call throws
+ * ProviderUnavailableException, which the report services turn into a missing report, so the
+ * rules needing it decide unavailable without waiting on the provider.
+ */
+@Component
+public class ReportProviderGuard {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportProviderGuard.class);
+    
+    public static final String REJECTED_CIRCUIT_OPEN = "circuit-open";
+    public static final String REJECTED_BULKHEAD_FULL = "bulkhead-full";
+    
+    /**
+     * Breaker states, exported as decision.report.circuit{state}
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN;
+        
+        String tag() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+    
+    private final Map<String, Provider> providers = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    
+    @Value("${app.reports.resilience.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.reports.resilience.max-concurrent-calls:20}")
+    private int maxConcurrentCalls = 20;
+    
+    @Value("${app.reports.resilience.max-wait:0ms}")
+    private Duration maxWait = Duration.ZERO;
+    
+    @Value("${app.reports.resilience.window-size:20}")
+    private int windowSize = 20;
+    
+    @Value("${app.reports.resilience.minimum-calls:10}")
+    private int minimumCalls = 10;
+    
+    @Value("${app.reports.resilience.failure-rate-threshold:0.5}")
+    private double failureRateThreshold = 0.5;
+    
+    @Value("${app.reports.resilience.slow-call-threshold:1s}")
+    private Duration slowCallThreshold = Duration.ofSeconds(1);
+    
+    @Value("${app.reports.resilience.open-duration:10s}")
+    private Duration openDuration = Duration.ofSeconds(10);
+    
+    @Value("${app.reports.resilience.half-open-probes:3}")
+    private int halfOpenProbes = 3;
+    
+    @Autowired
+    public ReportProviderGuard(Environment environment, MeterRegistry meterRegistry) {
+        this(environment, meterRegistry, System::nanoTime);
+    }
+    
+    ReportProviderGuard(Environment environment, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+    
+    /**
+     * Creates a guard that lets every call through, for use outside the Spring context
+     */
+    public static ReportProviderGuard disabled() {
+        ReportProviderGuard guard = new ReportProviderGuard(new StandardEnvironment(), new SimpleMeterRegistry());
+        guard.enabled = false;
+        return guard;
+    }
+    
+    /**
+     * Thrown instead of calling a provider whose circuit is open or whose bulkhead is full
+     */
+    public static class ProviderUnavailableException extends RuntimeException {
+        
+        private final String reason;
+        
+        public ProviderUnavailableException(String reportType, String reason) {
+            super(reportType + " provider call rejected: " + reason);
+            this.reason = reason;
+        }
+        
+        /**
+         * REJECTED_CIRCUIT_OPEN or REJECTED_BULKHEAD_FULL
+         */
+        public String getReason() {
+            return reason;
+        }
+    }
+    
+    /**
+     * Calls the provider of a report type through its bulkhead and breaker
+     *
+     * @throws ProviderUnavailableException if the call was rejected without reaching the provider
+     */
+    public Map<String, Object> call(String reportType, Supplier<Map<String, Object>> providerCall) {
+        if (!enabled) {
+            return providerCall.get();
+        }
+        Provider provider = providers.computeIfAbsent(reportType, this::createProvider);
+        State admittedIn = admit(provider);
+        
+        long start = clock.getAsLong();
+        Throwable failure = null;
+        try {
+            return providerCall.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            finish(provider, admittedIn, start, failure);
+        }
+    }
+    
+    /**
+     * Starts a non-blocking provider call through the bulkhead and breaker; the bulkhead permit
+     * is held until the returned future completes, not by the calling thread
+     *
+     * @return The provider's answer, or a future failed with ProviderUnavailableException if the
+     *         call was rejected without reaching the provider
+     */
+    public CompletableFuture<Map<String, Object>> callAsync(String reportType,
+                                                            Supplier<CompletableFuture<Map<String, Object>>> providerCall) {
+        if (!enabled) {
+            return start(providerCall);
+        }
+        Provider provider = providers.computeIfAbsent(reportType, this::createProvider);
+        State admittedIn;
+        try {
+            admittedIn = admit(provider);
+        } catch (ProviderUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        long start = clock.getAsLong();
+        return start(providerCall).whenComplete((result, failure) -> finish(provider, admittedIn, start,
+            failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure));
+    }
+    
+    private static CompletableFuture<Map<String, Object>> start(Supplier<CompletableFuture<Map<String, Object>>> providerCall) {
+        try {
+            return providerCall.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Takes a breaker permission and a bulkhead permit for one call
+     *
+     * @return The state the call is admitted in
+     * @throws ProviderUnavailableException if either is refused
+     */
+    private State admit(Provider provider) {
+        State admittedIn = provider.acquirePermission();
+        if (admittedIn == null) {
+            throw provider.reject(REJECTED_CIRCUIT_OPEN);
+        }
+        boolean admitted = false;
+        try {
+            admitted = maxWait.isZero()
+                ? provider.bulkhead.tryAcquire()
+                : provider.bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!admitted) {
+                provider.releasePermission(admittedIn);
+            }
+        }
+        if (!admitted) {
+            throw provider.reject(REJECTED_BULKHEAD_FULL);
+        }
+        return admittedIn;
+    }
+    
+    /**
+     * Returns the bulkhead permit and records the outcome of an admitted call
+     */
+    private void finish(Provider provider, State admittedIn, long start, Throwable failure) {
+        // The provider answered; a missing report is not a provider failure
+        boolean failed = failure != null
+            && !(failure instanceof ApplicantDataService.ReportNotFoundException)
+            && !(failure instanceof PropertyDataService.ReportNotFoundException);
+        provider.bulkhead.release();
+        provider.record(admittedIn, failed || clock.getAsLong() - start > provider.slowCallNanos);
+    }
+    
+    /**
+     * Returns the breaker state of a report type's provider (CLOSED until it is first called)
+     */
+    public State state(String reportType) {
+        Provider provider = providers.get(reportType);
+        return provider != null ? provider.currentState() : State.CLOSED;
+    }
+    
+    private Provider createProvider(String reportType) {
+        String prefix = "app.reports.resilience." + reportType.toLowerCase(Locale.ROOT) + ".";
+        Provider provider = new Provider(
+            reportType,
+            environment.getProperty(prefix + "max-concurrent-calls", Integer.class, maxConcurrentCalls),
+            environment.getProperty(prefix + "window-size", Integer.class, windowSize),
+            environment.getProperty(prefix + "minimum-calls", Integer.class, minimumCalls),
+            environment.getProperty(prefix + "failure-rate-threshold", Double.class, failureRateThreshold),
+            environment.getProperty(prefix + "slow-call-threshold", Duration.class, slowCallThreshold),
+            environment.getProperty(prefix + "open-duration", Duration.class, openDuration),
+            environment.getProperty(prefix + "half-open-probes", Integer.class, halfOpenProbes));
+        
+        for (State state : State.values()) {
+            Gauge.builder("decision.report.circuit", provider, p -> p.currentState() == state ? 1 : 0)
+                .description("Report provider circuit breaker state (1 for the current state)")
+                .tag("report_type", reportType)
+                .tag("state", state.tag())
+                .register(meterRegistry);
+        }
+        Gauge.builder("decision.report.bulkhead.active", provider,
+                p -> p.maxConcurrentCalls - p.bulkhead.availablePermits())
+            .description("Report provider calls in flight")
+            .tag("report_type", reportType)
+            .register(meterRegistry);
+        return provider;
+    }
+    
+    /**
+     * Bulkhead and breaker of one provider; breaker state changes happen under the provider's lock
+     */
+    private final class Provider {
+        
+        private final String reportType;
+        private final int maxConcurrentCalls;
+        private final Semaphore bulkhead;
+        private final boolean[] window;
+        private final int minimumCalls;
+        private final double failureRateThreshold;
+        private final long slowCallNanos;
+        private final long openNanos;
+        private final int halfOpenProbes;
+        
+        private State state = State.CLOSED;
+        private int recorded;
+        private int next;
+        private int failures;
+        private long openedAt;
+        private int probesStarted;
+        private int probesSucceeded;
+        
+        Provider(String reportType, int maxConcurrentCalls, int windowSize, int minimumCalls,
+                 double failureRateThreshold, Duration slowCallThreshold, Duration openDuration, int halfOpenProbes) {
+            this.reportType = reportType;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.bulkhead = new Semaphore(maxConcurrentCalls);
+            this.window = new boolean[Math.max(1, windowSize)];
+            this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+            this.failureRateThreshold = failureRateThreshold;
+            this.slowCallNanos = slowCallThreshold.toNanos();
+            this.openNanos = openDuration.toNanos();
+            this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        }
+        
+        synchronized State currentState() {
+            return state;
+        }
+        
+        /**
+         * Returns the state the call is admitted in, or null if the breaker rejects it
+         * Moves an open breaker whose open-duration has passed to half-open
+         */
+        synchronized State acquirePermission() {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.OPEN || (state == State.HALF_OPEN && probesStarted >= halfOpenProbes)) {
+                return null;
+            }
+            if (state == State.HALF_OPEN) {
+                probesStarted++;
+            }
+            return state;
+        }
+        
+        /**
+         * Gives back a half-open probe slot for a call the bulkhead turned away
+         */
+        synchronized void releasePermission(State admittedIn) {
+            if (admittedIn == State.HALF_OPEN && state == State.HALF_OPEN && probesStarted > 0) {
+                probesStarted--;
+            }
+        }
+        
+        /**
+         * Records a call's outcome; calls admitted before the last state change are ignored
+         */
+        synchronized void record(State admittedIn, boolean failed) {
+            if (admittedIn != state) {
+                return;
+            }
+            switch (state) {
+                case HALF_OPEN -> {
+                    if (failed) {
+                        transition(State.OPEN);
+                    } else if (++probesSucceeded >= halfOpenProbes) {
+                        transition(State.CLOSED);
+                    }
+                }
+                case CLOSED -> {
+                    if (recorded == window.length && window[next]) {
+                        failures--;
+                    }
+                    window[next] = failed;
+                    next = (next + 1) % window.length;
+                    recorded = Math.min(recorded + 1, window.length);
+                    if (failed) {
+                        failures++;
+                    }
+                    if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                        transition(State.OPEN);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        
+        ProviderUnavailableException reject(String reason) {
+            Counter.builder("decision.report.rejected")
+                .description("Report provider calls rejected by the circuit breaker or bulkhead")
+                .tag("report_type", reportType)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+            return new ProviderUnavailableException(reportType, reason);
+        }
+        
+        private void transition(State newState) {
+            logger.warn("{} provider circuit {} -> {}", reportType, state.tag(), newState.tag());
+            state = newState;
+            probesStarted = 0;
+            probesSucceeded = 0;
+            if (newState == State.OPEN) {
+                openedAt = clock.getAsLong();
+            } else if (newState == State.CLOSED) {
+                recorded = 0;
+                next = 0;
+                failures = 0;
+            }
+        }
+    }
+}
@@ -3,39 +3,87 @@ package com.decisionservicemaster.service.report;
 import com.decisionservicemaster.domain.entity.CreditReport;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.domain.entity.MortgageReport;
-import org.springframework.stereotype.Component;
-
+import com.decisionservicemaster.service.DecisionMetrics;
 import com.decisionservicemaster.service.parser.ApplicantReportParser;
 import com.decisionservicemaster.service.parser.PropertyReportParser;
-import com.decisionservicemaster.service.report.CreditReportService;
-import com.decisionservicemaster.service.report.MortgageReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class ReportServiceFactory {
     
-    private final ApplicantDataService applicantDataService;
-    private final PropertyDataService propertyDataService;
-    private final ApplicantReportParser applicantReportParser;
-    private final PropertyReportParser propertyReportParser;
+    private final CreditReportService creditReportService;
+    private final MortgageReportService mortgageReportService;
     
     public ReportServiceFactory(
-            ApplicantDataService applicantDataService,
-            PropertyDataService propertyDataService,
-            ApplicantReportParser applicantReportParser,
-            PropertyReportParser propertyReportParser) {
-        this.applicantDataService = applicantDataService;
-        this.propertyDataService = propertyDataService;
-        this.applicantReportParser = applicantReportParser;
-        this.propertyReportParser = propertyReportParser;
+            CreditReportService creditReportService,
+            MortgageReportService mortgageReportService) {
+        this.creditReportService = creditReportService;
+        this.mortgageReportService = mortgageReportService;
+    }
+    
+    /**
+     * Builds a factory over the bundled mock providers without a Spring context, cache, circuit breakers or metrics
+     * Used by offline tools such as the replay runner and the benchmarks
+     */
+    public static ReportServiceFactory standalone(ObjectMapper objectMapper) {
+        ApplicantDataService applicantDataService = new ApplicantDataService(objectMapper);
+        applicantDataService.init();
+        PropertyDataService propertyDataService = new PropertyDataService(objectMapper);
+        propertyDataService.init();
+        
+        ReportCache reportCache = ReportCache.disabled();
+        ReportProviderGuard reportProviderGuard = ReportProviderGuard.disabled();
+        DecisionMetrics decisionMetrics = DecisionMetrics.noop();
+        return new ReportServiceFactory(
+            new CreditReportService(applicantDataService, new ApplicantReportParser(), reportCache,
+                reportProviderGuard, decisionMetrics, Optional.empty()),
+            new MortgageReportService(propertyDataService, new PropertyReportParser(), reportCache,
+                reportProviderGuard, decisionMetrics, Optional.empty())
+        );
+    }
+    
+    /**
+     * Creates the per-request report context the rules read their reports from
+     */
+    public ReportContext newContext(DecisionRequest decisionRequest) {
+        return new ReportContext(decisionRequest, this);
+    }
+    
+    /**
+     * Fetches a report by type ("Credit" or "Mortgage")
+     * 
+     * @return Report entity, or null if the type is unknown or the fetch failed
+     */
+    public Object fetchReport(String reportType, DecisionRequest decisionRequest) {
+        return switch (reportType) {
+            case "Credit" -> fetchCreditReport(decisionRequest);
+            case "Mortgage" -> fetchMortgageReport(decisionRequest);
+            default -> null;
+        };
+    }
+    
+    /**
+     * Starts fetching a report by type ("Credit" or "Mortgage") without waiting for the provider
+     * 
+     * @return Future of the report entity, completing with null if the type is unknown or the fetch failed
+     */
+    public CompletableFuture<?> fetchReportAsync(String reportType, DecisionRequest decisionRequest) {
+        return switch (reportType) {
+            case "Credit" -> creditReportService.fetchAsync(decisionRequest);
+            case "Mortgage" -> mortgageReportService.fetchAsync(decisionRequest);
+            default -> CompletableFuture.completedFuture(null);
+        };
     }
     
     public CreditReport fetchCreditReport(DecisionRequest decisionRequest) {
-        CreditReportService service = new CreditReportService(applicantDataService, applicantReportParser);
-        return service.fetch(decisionRequest);
+        return creditReportService.fetch(decisionRequest);
     }
     
     public MortgageReport fetchMortgageReport(DecisionRequest decisionRequest) {
-        MortgageReportService service = new MortgageReportService(propertyDataService, propertyReportParser);
-        return service.fetch(decisionRequest);
+        return mortgageReportService.fetch(decisionRequest);
     }
 }
\ No newline at end of file
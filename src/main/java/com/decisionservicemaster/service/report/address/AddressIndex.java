@@ -0,0 +1,220 @@
+package com.decisionservicemaster.service.report.address;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Trie over the normalized streets of a property store, resolving a normalized street to the
+ * store key it was built from, exactly or within a bounded edit distance
+ *
+ * Nodes live in parallel arrays (label, first child, next sibling, key), so the trie costs a
+ * few bytes per distinct prefix and no object per node. The house number (the leading digits
+ * before the first "_") is always matched exactly: only the street part is searched with
+ * edits, so a typo never resolves to a neighbour's house. A fuzzy search that finds two
+ * different keys at the same, smallest distance is ambiguous and finds nothing.
+ */
+public final class AddressIndex {
+    
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    
+    private char[] labels = new char[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[] keyOf = new int[64];
+    private String[] keys = new String[16];
+    private int nodeCount;
+    private int keyCount;
+    
+    private AddressIndex() {
+        nodeCount = 1;
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+        keyOf[ROOT] = NONE;
+    }
+    
+    /**
+     * Receives the keys of a store
+     */
+    @FunctionalInterface
+    public interface KeySource {
+        void forEachKey(Consumer<String> consumer);
+    }
+    
+    /**
+     * Indexes every store key under its normalized form; of two keys with the same
+     * normalized form, the first one is kept
+     */
+    public static AddressIndex build(KeySource keySource) {
+        AddressIndex index = new AddressIndex();
+        keySource.forEachKey(index::add);
+        index.trim();
+        return index;
+    }
+    
+    /**
+     * Returns the number of store keys in the index
+     */
+    public int size() {
+        return keyCount;
+    }
+    
+    /**
+     * Returns the store key for a normalized street, or null if there is no match
+     *
+     * @param street Street as returned by StreetNormalizer.normalize
+     * @param maxEdits Insertions, deletions or substitutions allowed in the street part (0 for exact only)
+     */
+    public String find(String street, int maxEdits) {
+        // Walk the house number exactly, then try the rest exactly before searching with edits
+        int numberEnd = 0;
+        while (numberEnd < street.length() && Character.isDigit(street.charAt(numberEnd))) {
+            numberEnd++;
+        }
+        int fuzzyStart = numberEnd > 0 && numberEnd < street.length() && street.charAt(numberEnd) == '_'
+            ? numberEnd + 1 : 0;
+        
+        int node = walk(ROOT, street, 0, fuzzyStart);
+        if (node == NONE) {
+            return null;
+        }
+        int exact = walk(node, street, fuzzyStart, street.length());
+        if (exact != NONE && keyOf[exact] != NONE) {
+            return keys[keyOf[exact]];
+        }
+        if (maxEdits <= 0) {
+            return null;
+        }
+        
+        FuzzySearch search = new FuzzySearch(street, fuzzyStart, maxEdits);
+        search.run(node);
+        return search.ambiguous ? null : search.bestKey;
+    }
+    
+    private int walk(int node, String street, int from, int to) {
+        for (int i = from; i < to && node != NONE; i++) {
+            node = child(node, street.charAt(i));
+        }
+        return node;
+    }
+    
+    private int child(int node, char label) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[child] == label) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+    
+    private void add(String storeKey) {
+        String street = StreetNormalizer.normalize(storeKey);
+        int node = ROOT;
+        for (int i = 0; i < street.length(); i++) {
+            char label = street.charAt(i);
+            int child = child(node, label);
+            if (child == NONE) {
+                child = newNode(label);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+        }
+        if (keyOf[node] == NONE) {
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keyCount * 2);
+            }
+            keys[keyCount] = storeKey;
+            keyOf[node] = keyCount++;
+        }
+    }
+    
+    private int newNode(char label) {
+        if (nodeCount == labels.length) {
+            int capacity = nodeCount * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            keyOf = Arrays.copyOf(keyOf, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        keyOf[node] = NONE;
+        return node;
+    }
+    
+    private void trim() {
+        labels = Arrays.copyOf(labels, nodeCount);
+        firstChild = Arrays.copyOf(firstChild, nodeCount);
+        nextSibling = Arrays.copyOf(nextSibling, nodeCount);
+        keyOf = Arrays.copyOf(keyOf, nodeCount);
+        keys = Arrays.copyOf(keys, keyCount);
+    }
+    
+    /**
+     * Depth-first Levenshtein search: one DP row per trie depth, pruned once every
+     * entry of a row exceeds the edit budget
+     */
+    private final class FuzzySearch {
+        
+        private final String street;
+        private final int start;
+        private final int length;
+        private final int maxEdits;
+        private final int[][] rows;
+        private int bestDistance = Integer.MAX_VALUE;
+        private String bestKey;
+        private boolean ambiguous;
+        
+        FuzzySearch(String street, int start, int maxEdits) {
+            this.street = street;
+            this.start = start;
+            this.length = street.length() - start;
+            this.maxEdits = maxEdits;
+            this.rows = new int[length + maxEdits + 2][length + 1];
+            for (int j = 0; j <= length; j++) {
+                rows[0][j] = j;
+            }
+        }
+        
+        void run(int node) {
+            visit(node, 0);
+        }
+        
+        private void visit(int node, int depth) {
+            int[] row = rows[depth];
+            if (keyOf[node] != NONE && row[length] <= maxEdits) {
+                offer(keys[keyOf[node]], row[length]);
+            }
+            if (depth + 1 >= rows.length) {
+                return;
+            }
+            int[] next = rows[depth + 1];
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                char label = labels[child];
+                next[0] = depth + 1;
+                int rowMinimum = next[0];
+                for (int j = 1; j <= length; j++) {
+                    int substitution = row[j - 1] + (street.charAt(start + j - 1) == label ? 0 : 1);
+                    next[j] = Math.min(substitution, Math.min(row[j] + 1, next[j - 1] + 1));
+                    rowMinimum = Math.min(rowMinimum, next[j]);
+                }
+                if (rowMinimum <= maxEdits) {
+                    visit(child, depth + 1);
+                }
+            }
+        }
+        
+        private void offer(String key, int distance) {
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestKey = key;
+                ambiguous = false;
+            } else if (distance == bestDistance && !key.equals(bestKey)) {
+                ambiguous = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.decisionservicemaster.service.report.address;
+
+import java.util.Arrays;
+
+/**
+ * Normalizes a street line into the key format used for property lookups
+ * (e.g. "2233 Ashbourne Drive, Apt #4" -> "2233_ashbourne_dr_apt_4")
+ *
+ * One pass over the input: ASCII letters are lowercased, digits kept, and every other run of
+ * characters becomes a single "_". Each word is replaced by its USPS abbreviation (street
+ * suffixes, unit designators and directionals, USPS Publication 28) as soon as it ends, by
+ * hashing it while it is scanned and probing a fixed table. Apart from the returned String,
+ * only one scratch buffer is allocated.
+ */
+public final class StreetNormalizer {
+    
+    private static final int BUCKET_COUNT = 256;
+    
+    // Long form, USPS abbreviation
+    private static final String[][] ABBREVIATIONS = {
+        // Street suffixes
+        {"alley", "aly"}, {"allee", "aly"}, {"ally", "aly"},
+        {"annex", "anx"}, {"anex", "anx"},
+        {"avenue", "ave"}, {"av", "ave"}, {"aven", "ave"}, {"avenu", "ave"}, {"avn", "ave"}, {"avnue", "ave"},
+        {"boulevard", "blvd"}, {"boul", "blvd"}, {"boulv", "blvd"},
+        {"bypass", "byp"},
+        {"causeway", "cswy"},
+        {"center", "ctr"}, {"centre", "ctr"}, {"cent", "ctr"}, {"centr", "ctr"}, {"cnter", "ctr"}, {"cntr", "ctr"},
+        {"circle", "cir"}, {"circ", "cir"}, {"circl", "cir"}, {"crcl", "cir"}, {"crcle", "cir"},
+        {"court", "ct"}, {"courts", "cts"},
+        {"cove", "cv"},
+        {"crescent", "cres"},
+        {"crossing", "xing"},
+        {"drive", "dr"}, {"driv", "dr"}, {"drv", "dr"},
+        {"expressway", "expy"}, {"expr", "expy"}, {"express", "expy"}, {"expw", "expy"},
+        {"freeway", "fwy"}, {"frway", "fwy"}, {"frwy", "fwy"},
+        {"garden", "gdn"}, {"gardens", "gdns"},
+        {"grove", "grv"},
+        {"harbor", "hbr"},
+        {"heights", "hts"},
+        {"highway", "hwy"}, {"highwy", "hwy"}, {"hiway", "hwy"}, {"hiwy", "hwy"}, {"hway", "hwy"},
+        {"hill", "hl"}, {"hills", "hls"},
+        {"junction", "jct"},
+        {"lake", "lk"}, {"lakes", "lks"},
+        {"landing", "lndg"},
+        {"lane", "ln"},
+        {"manor", "mnr"},
+        {"meadows", "mdws"},
+        {"mount", "mt"}, {"mountain", "mtn"},
+        {"parkway", "pkwy"}, {"parkwy", "pkwy"}, {"pkway", "pkwy"}, {"pky", "pkwy"},
+        {"place", "pl"},
+        {"plaza", "plz"}, {"plza", "plz"},
+        {"point", "pt"},
+        {"ridge", "rdg"},
+        {"river", "riv"},
+        {"road", "rd"},
+        {"route", "rte"},
+        {"square", "sq"}, {"sqr", "sq"}, {"sqre", "sq"}, {"squ", "sq"},
+        {"station", "sta"}, {"statn", "sta"}, {"stn", "sta"},
+        {"street", "st"}, {"strt", "st"}, {"str", "st"},
+        {"terrace", "ter"},
+        {"trail", "trl"}, {"trails", "trl"}, {"trls", "trl"},
+        {"turnpike", "tpke"}, {"trnpk", "tpke"}, {"turnpk", "tpke"},
+        {"valley", "vly"},
+        {"view", "vw"},
+        {"village", "vlg"},
+        // Secondary unit designators
+        {"apartment", "apt"},
+        {"basement", "bsmt"},
+        {"building", "bldg"},
+        {"department", "dept"},
+        {"floor", "fl"},
+        {"lobby", "lbby"},
+        {"penthouse", "ph"},
+        {"room", "rm"},
+        {"suite", "ste"},
+        // Directionals
+        {"north", "n"}, {"south", "s"}, {"east", "e"}, {"west", "w"},
+        {"northeast", "ne"}, {"northwest", "nw"}, {"southeast", "se"}, {"southwest", "sw"}
+    };
+    
+    // Abbreviated designators; "#" directly after one of them is dropped, otherwise it becomes "unit"
+    private static final String[] UNIT_DESIGNATORS = {"apt", "bldg", "dept", "fl", "ph", "rm", "ste", "unit"};
+    private static final String UNIT = "unit";
+    
+    private static final char[][][] LONG_FORMS = new char[BUCKET_COUNT][][];
+    private static final char[][][] SHORT_FORMS = new char[BUCKET_COUNT][][];
+    private static final char[][][] DESIGNATORS = new char[BUCKET_COUNT][][];
+    
+    static {
+        for (String[] abbreviation : ABBREVIATIONS) {
+            int bucket = bucket(abbreviation[0]);
+            LONG_FORMS[bucket] = append(LONG_FORMS[bucket], abbreviation[0].toCharArray());
+            SHORT_FORMS[bucket] = append(SHORT_FORMS[bucket], abbreviation[1].toCharArray());
+        }
+        for (String designator : UNIT_DESIGNATORS) {
+            int bucket = bucket(designator);
+            DESIGNATORS[bucket] = append(DESIGNATORS[bucket], designator.toCharArray());
+        }
+    }
+    
+    private StreetNormalizer() {
+    }
+    
+    /**
+     * Returns the lookup key for a street, or null if the street is null
+     */
+    public static String normalize(String street) {
+        if (street == null) {
+            return null;
+        }
+        
+        // Abbreviations mostly shrink words; "av" -> "ave" and "#" -> "_unit" grow the key, rarely past the slack
+        char[] buffer = new char[street.length() + 8];
+        int length = 0;
+        int wordStart = 0;
+        int hash = 0;
+        boolean inWord = false;
+        boolean afterDesignator = false;
+        
+        for (int i = 0; i < street.length(); i++) {
+            char c = street.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            
+            if (length + UNIT.length() + 2 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (!inWord) {
+                    if (length > 0) {
+                        buffer[length++] = '_';
+                    }
+                    wordStart = length;
+                    hash = 0;
+                    inWord = true;
+                }
+                buffer[length++] = c;
+                hash = 31 * hash + c;
+            } else {
+                if (inWord) {
+                    length = endWord(buffer, wordStart, length, hash);
+                    afterDesignator = isDesignator(buffer, wordStart, length);
+                    inWord = false;
+                }
+                if (c == '#' && !afterDesignator) {
+                    if (length > 0) {
+                        buffer[length++] = '_';
+                    }
+                    UNIT.getChars(0, UNIT.length(), buffer, length);
+                    length += UNIT.length();
+                    afterDesignator = true;
+                }
+            }
+        }
+        if (inWord) {
+            length = endWord(buffer, wordStart, length, hash);
+        }
+        
+        return new String(buffer, 0, length);
+    }
+    
+    /**
+     * Replaces the word ending at length with its abbreviation, if it has one, and returns the new length
+     */
+    private static int endWord(char[] buffer, int wordStart, int length, int hash) {
+        int bucket = spread(hash);
+        char[][] longForms = LONG_FORMS[bucket];
+        if (longForms == null) {
+            return length;
+        }
+        for (int i = 0; i < longForms.length; i++) {
+            if (matches(longForms[i], buffer, wordStart, length)) {
+                char[] shortForm = SHORT_FORMS[bucket][i];
+                System.arraycopy(shortForm, 0, buffer, wordStart, shortForm.length);
+                return wordStart + shortForm.length;
+            }
+        }
+        return length;
+    }
+    
+    private static boolean isDesignator(char[] buffer, int wordStart, int length) {
+        int hash = 0;
+        for (int i = wordStart; i < length; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        char[][] designators = DESIGNATORS[spread(hash)];
+        if (designators == null) {
+            return false;
+        }
+        for (char[] designator : designators) {
+            if (matches(designator, buffer, wordStart, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean matches(char[] word, char[] buffer, int start, int end) {
+        if (word.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < word.length; i++) {
+            if (word[i] != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int bucket(String word) {
+        return spread(word.hashCode());
+    }
+    
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) & (BUCKET_COUNT - 1);
+    }
+    
+    private static char[][] append(char[][] words, char[] word) {
+        if (words == null) {
+            return new char[][] {word};
+        }
+        char[][] grown = Arrays.copyOf(words, words.length + 1);
+        grown[words.length] = word;
+        return grown;
+    }
+}
@@ -0,0 +1,173 @@
+package com.decisionservicemaster.service.report.http;
+
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the report providers (credit and property bureaus) over HTTP when app.reports.provider is "http"
+ *
+ * Each provider has its own non-blocking JDK HttpClient, so connections are pooled and kept
+ * alive per provider, and its own URL, timeout and hedging delay under app.reports.http.<type>.
+ * A request that has not been answered after hedge-after is sent once more, and the first
+ * answer wins; the other attempt is cancelled. Hedges are counted as decision.report.hedged.
+ */
+@Component
+public class ReportHttpClient {
+    
+    public static final String PROVIDER_HTTP = "http";
+    
+    private static final TypeReference<Map<String, Object>> REPORT_TYPE = new TypeReference<>() {};
+    
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final DecisionMetrics decisionMetrics;
+    private final Map<String, Provider> providers = new ConcurrentHashMap<>();
+    
+    @Value("${app.reports.provider:local}")
+    private String provider;
+    
+    @Value("${app.reports.http.connect-timeout:1s}")
+    private Duration connectTimeout;
+    
+    private record Provider(HttpClient client, URI uri, Duration timeout, Duration hedgeAfter) {
+    }
+    
+    public ReportHttpClient(Environment environment, ObjectMapper objectMapper, DecisionMetrics decisionMetrics) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.decisionMetrics = decisionMetrics;
+    }
+    
+    /**
+     * True if reports are fetched over HTTP rather than from the in-process data services
+     */
+    public boolean isEnabled() {
+        return PROVIDER_HTTP.equals(provider);
+    }
+    
+    /**
+     * Posts a JSON lookup to the provider of a report type; no thread waits for the answer
+     *
+     * @param reportType Report type, e.g. "Credit"; selects the provider settings
+     * @param lookup Request body, e.g. {"ssn": ...}
+     * @return The report, or null if the provider has none (404); fails with IllegalStateException
+     *         if the provider fails, times out or answers with an error status
+     */
+    public CompletableFuture<Map<String, Object>> postAsync(String reportType, Map<String, Object> lookup) {
+        Provider target;
+        HttpRequest request;
+        try {
+            target = providers.computeIfAbsent(reportType, this::createProvider);
+            request = HttpRequest.newBuilder(target.uri())
+                .timeout(target.timeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(lookup)))
+                .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failed to encode " + reportType + " lookup", e));
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        return send(reportType, target, request)
+            .exceptionally(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                throw new IllegalStateException(reportType + " provider call failed", cause);
+            })
+            .thenApply(response -> read(reportType, response));
+    }
+    
+    private Map<String, Object> read(String reportType, HttpResponse<byte[]> response) {
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(reportType + " provider returned HTTP " + response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), REPORT_TYPE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable " + reportType + " provider response", e);
+        }
+    }
+    
+    /**
+     * Sends the request, and once more if no answer arrived within the provider's hedge delay
+     * Completes with the first answer, or with the last failure once every attempt has failed
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(String reportType, Provider target, HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> primary =
+            target.client().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (target.hedgeAfter().isZero()) {
+            return primary;
+        }
+        
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        primary.whenComplete((response, failure) -> settle(result, pending, response, failure));
+        result.whenComplete((response, failure) -> primary.cancel(true));
+        
+        CompletableFuture.delayedExecutor(target.hedgeAfter().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            pending.incrementAndGet();
+            decisionMetrics.recordHedge(reportType);
+            CompletableFuture<HttpResponse<byte[]>> hedge =
+                target.client().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+            hedge.whenComplete((response, failure) -> settle(result, pending, response, failure));
+            result.whenComplete((response, failure) -> hedge.cancel(true));
+        });
+        return result;
+    }
+    
+    private static void settle(CompletableFuture<HttpResponse<byte[]>> result, AtomicInteger pending,
+                               HttpResponse<byte[]> response, Throwable failure) {
+        if (failure == null) {
+            result.complete(response);
+        } else if (pending.decrementAndGet() == 0) {
+            result.completeExceptionally(failure);
+        }
+    }
+    
+    private Provider createProvider(String reportType) {
+        String prefix = "app.reports.http." + reportType.toLowerCase(Locale.ROOT) + ".";
+        String url = environment.getProperty(prefix + "url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("No URL configured for the " + reportType + " provider (" + prefix + "url)");
+        }
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(connectTimeout)
+            .build();
+        return new Provider(client, URI.create(url),
+            environment.getProperty(prefix + "timeout", Duration.class, Duration.ofSeconds(2)),
+            environment.getProperty(prefix + "hedge-after", Duration.class, Duration.ZERO));
+    }
+    
+    @PreDestroy
+    public void close() {
+        providers.values().forEach(target -> target.client().close());
+    }
+}
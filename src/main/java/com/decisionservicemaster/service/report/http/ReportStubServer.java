@@ -0,0 +1,155 @@
+package com.decisionservicemaster.service.report.http;
+
+import com.decisionservicemaster.service.report.ApplicantDataService;
+import com.decisionservicemaster.service.report.PropertyDataService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for the credit and property bureaus, for load tests without network access
+ *
+ * Serves the bundled sample data (through ApplicantDataService and PropertyDataService) on the
+ * loopback interface: POST /credit {"ssn": ...} and POST /property {"street": ...} answer 200
+ * with the report or 404. Every response waits latency plus a random share of latency-jitter,
+ * and slow-rate of them wait slow-latency instead, to give the client a latency tail to hedge.
+ * Each exchange runs on its own virtual thread.
+ */
+@Component
+public class ReportStubServer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportStubServer.class);
+    
+    private static final TypeReference<Map<String, Object>> LOOKUP_TYPE = new TypeReference<>() {};
+    
+    private final ApplicantDataService applicantDataService;
+    private final PropertyDataService propertyDataService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int port;
+    private final Duration latency;
+    private final Duration latencyJitter;
+    private final double slowRate;
+    private final Duration slowLatency;
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    @Autowired
+    public ReportStubServer(ApplicantDataService applicantDataService,
+                            PropertyDataService propertyDataService,
+                            ObjectMapper objectMapper,
+                            @Value("${app.reports.stub.enabled:false}") boolean enabled,
+                            @Value("${app.reports.stub.port:8089}") int port,
+                            @Value("${app.reports.stub.latency:50ms}") Duration latency,
+                            @Value("${app.reports.stub.latency-jitter:20ms}") Duration latencyJitter,
+                            @Value("${app.reports.stub.slow-rate:0.01}") double slowRate,
+                            @Value("${app.reports.stub.slow-latency:1s}") Duration slowLatency) {
+        this.applicantDataService = applicantDataService;
+        this.propertyDataService = propertyDataService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.port = port;
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        this.slowRate = slowRate;
+        this.slowLatency = slowLatency;
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/credit", exchange -> handle(exchange,
+            lookup -> applicantDataService.call((String) lookup.get("ssn"))));
+        server.createContext("/property", exchange -> handle(exchange,
+            lookup -> propertyDataService.call((String) lookup.get("street"))));
+        server.start();
+        logger.info("Report stub server listening on {}", server.getAddress());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Returns the port the server listens on (useful when configured with port 0)
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    private void handle(HttpExchange exchange, Function<Map<String, Object>, Map<String, Object>> lookup)
+            throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Map<String, Object> request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readValue(body, LOOKUP_TYPE);
+            }
+            
+            Thread.sleep(delay());
+            
+            Map<String, Object> report;
+            try {
+                report = lookup.apply(request);
+            } catch (ApplicantDataService.ReportNotFoundException | PropertyDataService.ReportNotFoundException e) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] response = objectMapper.writeValueAsBytes(report);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Report stub lookup failed", e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private Duration delay() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (slowRate > 0 && random.nextDouble() < slowRate) {
+            return slowLatency;
+        }
+        long jitterNanos = latencyJitter.toNanos();
+        return latency.plusNanos(jitterNanos > 0 ? random.nextLong(jitterNanos) : 0);
+    }
+}
@@ -0,0 +1,309 @@
+package com.decisionservicemaster.service.report.store;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Read-only, memory-mapped report data keyed by provider key (SSN, normalized street)
+ *
+ * The file is built offline by ReportStoreBuilder and mapped whole, so opening it costs the
+ * same for ten records or ten million and the records never occupy the heap. A lookup probes
+ * the hash index and compares the key in place in the mapping; only the matching record is
+ * decoded, into a fresh map with the same value types Jackson would produce.
+ *
+ * Layout (little-endian):
+ *   header   magic, version, record count, index offset, index slots, field count, fields offset
+ *   records  key length (u16), key (UTF-8), value count (u16), then per value:
+ *            field id (u16), type (u8), payload (string: length (u32) + UTF-8; int: 4; long/double: 8)
+ *   index    open-addressing table of longs: top 24 bits of the key hash, low 40 bits record offset
+ *            (0 marks an empty slot)
+ *   fields   field names, each length (u16) + UTF-8, referenced by id from the records
+ */
+public final class ReportStore implements AutoCloseable {
+    
+    static final int MAGIC = 0x44535253;  // "DSRS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_INT = 2;
+    static final byte TYPE_LONG = 3;
+    static final byte TYPE_DOUBLE = 4;
+    static final byte TYPE_TRUE = 5;
+    static final byte TYPE_FALSE = 6;
+    
+    static final int OFFSET_BITS = 40;
+    static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    
+    static final ValueLayout.OfShort U16 = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfInt I32 = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong I64 = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfDouble F64 = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final long recordCount;
+    private final long indexOffset;
+    private final long slotMask;
+    private final String[] fieldNames;
+    
+    private ReportStore(Arena arena, MemorySegment segment) {
+        this.arena = arena;
+        this.segment = segment;
+        if (segment.byteSize() < HEADER_SIZE || segment.get(I32, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a report store file");
+        }
+        if (segment.get(I32, 4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported report store version " + segment.get(I32, 4));
+        }
+        this.recordCount = segment.get(I64, 8);
+        this.indexOffset = segment.get(I64, 16);
+        this.slotMask = segment.get(I32, 24) - 1L;
+        this.fieldNames = readFieldNames(segment, segment.get(I32, 28), segment.get(I64, 32));
+    }
+    
+    /**
+     * Maps a store file built by ReportStoreBuilder
+     */
+    public static ReportStore open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ReportStore(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Builds a store from a bundled JSON resource into a temporary file and maps it
+     * Meant for the small sample data; large datasets are built offline and opened with open()
+     */
+    public static ReportStore fromClasspath(String resource, JsonFactory jsonFactory) throws IOException {
+        Path file = Files.createTempFile("report-store-", ".store");
+        file.toFile().deleteOnExit();
+        try (InputStream inputStream = new ClassPathResource(resource).getInputStream()) {
+            new ReportStoreBuilder(jsonFactory).build(inputStream, file);
+        }
+        return open(file);
+    }
+    
+    /**
+     * Returns the record for a key, or null if there is none
+     * The map is decoded on each call, so callers may keep or modify it
+     */
+    public Map<String, Object> get(String key) {
+        // Provider keys (SSNs, normalized streets) are ASCII: hash and compare the chars, no encoding
+        boolean ascii = isAscii(key);
+        byte[] keyBytes = ascii ? null : key.getBytes(StandardCharsets.UTF_8);
+        long hash = ascii ? hash(key) : hash(keyBytes);
+        long tag = hash >>> OFFSET_BITS;
+        for (long slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+            long entry = segment.get(I64, indexOffset + slot * Long.BYTES);
+            if (entry == 0) {
+                return null;
+            }
+            long offset = entry & OFFSET_MASK;
+            if (entry >>> OFFSET_BITS == tag
+                    && (ascii ? keyEquals(segment, offset, key) : keyEquals(segment, offset, keyBytes))) {
+                return decode(offset);
+            }
+        }
+    }
+    
+    /**
+     * Passes every key to the consumer, in file order
+     * Reads the whole record section, so it is meant for building secondary indexes at startup
+     */
+    public void forEachKey(Consumer<String> consumer) {
+        long offset = HEADER_SIZE;
+        while (offset < indexOffset) {
+            int keyLength = Short.toUnsignedInt(segment.get(U16, offset));
+            consumer.accept(readString(segment, offset + Short.BYTES, keyLength));
+            offset = skipValues(segment, offset + Short.BYTES + keyLength);
+        }
+    }
+    
+    /**
+     * Returns the offset just past the values starting at the given offset
+     */
+    static long skipValues(MemorySegment segment, long offset) {
+        int valueCount = Short.toUnsignedInt(segment.get(U16, offset));
+        long position = offset + Short.BYTES;
+        for (int i = 0; i < valueCount; i++) {
+            byte type = segment.get(ValueLayout.JAVA_BYTE, position + Short.BYTES);
+            position += Short.BYTES + 1;
+            position += switch (type) {
+                case TYPE_STRING -> Integer.BYTES + segment.get(I32, position);
+                case TYPE_INT -> Integer.BYTES;
+                case TYPE_LONG, TYPE_DOUBLE -> Long.BYTES;
+                default -> 0;
+            };
+        }
+        return position;
+    }
+    
+    /**
+     * Returns the number of records in the store
+     */
+    public long size() {
+        return recordCount;
+    }
+    
+    @Override
+    public void close() {
+        arena.close();
+    }
+    
+    private Map<String, Object> decode(long offset) {
+        long position = offset + Short.BYTES + Short.toUnsignedInt(segment.get(U16, offset));
+        int valueCount = Short.toUnsignedInt(segment.get(U16, position));
+        position += Short.BYTES;
+        
+        Map<String, Object> record = new LinkedHashMap<>(Math.max(4, valueCount * 2));
+        for (int i = 0; i < valueCount; i++) {
+            String fieldName = fieldNames[Short.toUnsignedInt(segment.get(U16, position))];
+            byte type = segment.get(ValueLayout.JAVA_BYTE, position + Short.BYTES);
+            position += Short.BYTES + 1;
+            
+            Object value;
+            switch (type) {
+                case TYPE_NULL -> value = null;
+                case TYPE_STRING -> {
+                    int length = segment.get(I32, position);
+                    value = readString(segment, position + Integer.BYTES, length);
+                    position += Integer.BYTES + length;
+                }
+                case TYPE_INT -> {
+                    value = segment.get(I32, position);
+                    position += Integer.BYTES;
+                }
+                case TYPE_LONG -> {
+                    value = segment.get(I64, position);
+                    position += Long.BYTES;
+                }
+                case TYPE_DOUBLE -> {
+                    value = segment.get(F64, position);
+                    position += Double.BYTES;
+                }
+                case TYPE_TRUE -> value = Boolean.TRUE;
+                case TYPE_FALSE -> value = Boolean.FALSE;
+                default -> throw new IllegalStateException("Corrupt report store: value type " + type
+                    + " at offset " + position);
+            }
+            record.put(fieldName, value);
+        }
+        return record;
+    }
+    
+    private static String[] readFieldNames(MemorySegment segment, int fieldCount, long offset) {
+        String[] fieldNames = new String[fieldCount];
+        long position = offset;
+        for (int i = 0; i < fieldCount; i++) {
+            int length = Short.toUnsignedInt(segment.get(U16, position));
+            fieldNames[i] = readString(segment, position + Short.BYTES, length);
+            position += Short.BYTES + length;
+        }
+        return fieldNames;
+    }
+    
+    private static String readString(MemorySegment segment, long offset, int length) {
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Compares the key of the record at offset with the given bytes, without copying it out of the mapping
+     */
+    static boolean keyEquals(MemorySegment segment, long offset, byte[] keyBytes) {
+        if (Short.toUnsignedInt(segment.get(U16, offset)) != keyBytes.length) {
+            return false;
+        }
+        long keyOffset = offset + Short.BYTES;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, keyOffset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean keyEquals(MemorySegment segment, long offset, String asciiKey) {
+        if (Short.toUnsignedInt(segment.get(U16, offset)) != asciiKey.length()) {
+            return false;
+        }
+        MemorySegment storedKey = segment.asSlice(offset + Short.BYTES, asciiKey.length());
+        for (int i = 0; i < asciiKey.length(); i++) {
+            if (storedKey.get(ValueLayout.JAVA_BYTE, i) != asciiKey.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isAscii(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * FNV-1a over the UTF-8 key, finished with a 64-bit mix so both the low bits (slot)
+     * and the high bits (tag) are well distributed
+     */
+    static long hash(byte[] keyBytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : keyBytes) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    /**
+     * Same as hash(byte[]) for a key whose chars are all ASCII, without encoding it
+     */
+    private static long hash(String asciiKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < asciiKey.length(); i++) {
+            hash = (hash ^ asciiKey.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    static long hash(MemorySegment segment, long offset, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (segment.get(ValueLayout.JAVA_BYTE, offset + i) & 0xff)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,312 @@
+package com.decisionservicemaster.service.report.store;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a ReportStore file from provider JSON ({"key": {"field": value, ...}, ...})
+ *
+ * The JSON is streamed and records are written as they are read; the index is then built
+ * in a second pass over the written records, directly in a mapping of the output file, so
+ * the builder's heap does not grow with the dataset either. Values must be scalars.
+ *
+ * Usage:
+ *   mvn -Preport-store compile exec:exec -Dreport-store.input=applicant.json -Dreport-store.output=applicant.store
+ */
+public class ReportStoreBuilder {
+    
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    
+    private final JsonFactory jsonFactory;
+    
+    public ReportStoreBuilder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        String input = options.get("input");
+        String output = options.get("output");
+        if (input == null || input.isBlank() || output == null || output.isBlank()) {
+            System.err.println("Usage: ReportStoreBuilder --input=FILE.json --output=FILE.store");
+            System.exit(2);
+        }
+        
+        long start = System.nanoTime();
+        long records;
+        try (InputStream inputStream = Files.newInputStream(Path.of(input))) {
+            records = new ReportStoreBuilder(new JsonFactory()).build(inputStream, Path.of(output));
+        }
+        System.out.printf("Wrote %d records to %s in %d ms%n",
+            records, output, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Writes the store for the given JSON to a file, replacing it
+     *
+     * @return The number of records written
+     * @throws IllegalArgumentException if the JSON is not an object of flat objects, or repeats a key
+     */
+    public long build(InputStream json, Path output) throws IOException {
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             JsonParser parser = jsonFactory.createParser(json)) {
+            RecordWriter writer = new RecordWriter(channel);
+            long recordCount = writer.writeRecords(parser);
+            long indexOffset = writer.position();
+            int slots = slotsFor(recordCount);
+            long fieldsOffset = indexOffset + (long) slots * Long.BYTES;
+            
+            writer.seek(fieldsOffset);
+            writer.writeFieldNames();
+            long size = writer.position();
+            
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                segment.asSlice(indexOffset, fieldsOffset - indexOffset).fill((byte) 0);
+                buildIndex(segment, indexOffset, slots);
+                
+                segment.set(ReportStore.I32, 0, ReportStore.MAGIC);
+                segment.set(ReportStore.I32, 4, ReportStore.VERSION);
+                segment.set(ReportStore.I64, 8, recordCount);
+                segment.set(ReportStore.I64, 16, indexOffset);
+                segment.set(ReportStore.I32, 24, slots);
+                segment.set(ReportStore.I32, 28, writer.fieldCount());
+                segment.set(ReportStore.I64, 32, fieldsOffset);
+                segment.force();
+            }
+            return recordCount;
+        }
+    }
+    
+    /**
+     * Smallest power of two keeping the index at or below the maximum load factor
+     */
+    static int slotsFor(long recordCount) {
+        long needed = Math.max(2, (long) Math.ceil(recordCount / MAX_LOAD_FACTOR));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many records for one report store: " + recordCount);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+    
+    /**
+     * Walks the records written from the header to the index and inserts each one
+     */
+    private static void buildIndex(MemorySegment segment, long indexOffset, int slots) {
+        long slotMask = slots - 1L;
+        long offset = ReportStore.HEADER_SIZE;
+        while (offset < indexOffset) {
+            int keyLength = Short.toUnsignedInt(segment.get(ReportStore.U16, offset));
+            long hash = ReportStore.hash(segment, offset + Short.BYTES, keyLength);
+            long tag = hash >>> ReportStore.OFFSET_BITS;
+            
+            long slot = hash & slotMask;
+            while (true) {
+                long entryOffset = indexOffset + slot * Long.BYTES;
+                long entry = segment.get(ReportStore.I64, entryOffset);
+                if (entry == 0) {
+                    segment.set(ReportStore.I64, entryOffset, tag << ReportStore.OFFSET_BITS | offset);
+                    break;
+                }
+                if (entry >>> ReportStore.OFFSET_BITS == tag && sameKey(segment, entry & ReportStore.OFFSET_MASK,
+                        offset + Short.BYTES, keyLength)) {
+                    byte[] key = segment.asSlice(offset + Short.BYTES, keyLength).toArray(ValueLayout.JAVA_BYTE);
+                    throw new IllegalArgumentException("Duplicate key " + new String(key, StandardCharsets.UTF_8));
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            offset = ReportStore.skipValues(segment, offset + Short.BYTES + keyLength);
+        }
+    }
+    
+    private static boolean sameKey(MemorySegment segment, long recordOffset, long keyOffset, int keyLength) {
+        return ReportStore.keyEquals(segment, recordOffset,
+            segment.asSlice(keyOffset, keyLength).toArray(ValueLayout.JAVA_BYTE));
+    }
+    
+    /**
+     * Encodes each record into a reusable buffer, then appends it to the write buffer
+     * Field ids are assigned in order of first appearance
+     */
+    private static final class RecordWriter {
+        
+        private final FileChannel channel;
+        private final Map<String, Integer> fieldIds = new HashMap<>();
+        private final List<String> fieldNames = new ArrayList<>();
+        private final ByteBuffer output = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private ByteBuffer record = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        private long flushed = ReportStore.HEADER_SIZE;
+        
+        RecordWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+        
+        long writeRecords(JsonParser parser) throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object of records");
+            }
+            long recordCount = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Record " + key + " is not an object");
+                }
+                writeRecord(key, parser);
+                recordCount++;
+            }
+            flush();
+            return recordCount;
+        }
+        
+        private void writeRecord(String key, JsonParser parser) throws IOException {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length > 0xffff) {
+                throw new IllegalArgumentException("Key too long: " + key.substring(0, 64) + "...");
+            }
+            record.clear();
+            ensure(Short.BYTES + keyBytes.length + Short.BYTES);
+            record.putShort((short) keyBytes.length).put(keyBytes).putShort((short) 0);
+            
+            int valueCount = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                writeValue(key, fieldId(fieldName), fieldName, parser.nextToken(), parser);
+                valueCount++;
+            }
+            if (valueCount > 0xffff) {
+                throw new IllegalArgumentException("Record " + key + " has too many fields");
+            }
+            record.putShort(Short.BYTES + keyBytes.length, (short) valueCount);
+            append();
+        }
+        
+        private void writeValue(String key, int fieldId, String fieldName, JsonToken token, JsonParser parser)
+                throws IOException {
+            switch (token) {
+                case VALUE_STRING -> {
+                    byte[] value = parser.getText().getBytes(StandardCharsets.UTF_8);
+                    ensure(Short.BYTES + 1 + Integer.BYTES + value.length);
+                    record.putShort((short) fieldId).put(ReportStore.TYPE_STRING).putInt(value.length).put(value);
+                }
+                case VALUE_NUMBER_INT -> {
+                    ensure(Short.BYTES + 1 + Long.BYTES);
+                    switch (parser.getNumberType()) {
+                        case INT -> record.putShort((short) fieldId).put(ReportStore.TYPE_INT)
+                            .putInt(parser.getIntValue());
+                        case LONG -> record.putShort((short) fieldId).put(ReportStore.TYPE_LONG)
+                            .putLong(parser.getLongValue());
+                        default -> throw new IllegalArgumentException(
+                            "Number out of range at " + key + "." + fieldName);
+                    }
+                }
+                case VALUE_NUMBER_FLOAT -> {
+                    ensure(Short.BYTES + 1 + Double.BYTES);
+                    record.putShort((short) fieldId).put(ReportStore.TYPE_DOUBLE).putDouble(parser.getDoubleValue());
+                }
+                case VALUE_TRUE, VALUE_FALSE, VALUE_NULL -> {
+                    ensure(Short.BYTES + 1);
+                    record.putShort((short) fieldId).put(token == JsonToken.VALUE_TRUE ? ReportStore.TYPE_TRUE
+                        : token == JsonToken.VALUE_FALSE ? ReportStore.TYPE_FALSE : ReportStore.TYPE_NULL);
+                }
+                default -> throw new IllegalArgumentException(
+                    "Nested values are not supported, at " + key + "." + fieldName);
+            }
+        }
+        
+        private int fieldId(String fieldName) {
+            Integer fieldId = fieldIds.get(fieldName);
+            if (fieldId == null) {
+                if (fieldNames.size() > 0xffff) {
+                    throw new IllegalArgumentException("Too many distinct field names");
+                }
+                fieldId = fieldNames.size();
+                fieldIds.put(fieldName, fieldId);
+                fieldNames.add(fieldName);
+            }
+            return fieldId;
+        }
+        
+        void writeFieldNames() throws IOException {
+            for (String fieldName : fieldNames) {
+                byte[] name = fieldName.getBytes(StandardCharsets.UTF_8);
+                record.clear();
+                ensure(Short.BYTES + name.length);
+                record.putShort((short) name.length).put(name);
+                append();
+            }
+            flush();
+        }
+        
+        int fieldCount() {
+            return fieldNames.size();
+        }
+        
+        long position() {
+            return flushed + output.position();
+        }
+        
+        void seek(long position) throws IOException {
+            flush();
+            flushed = position;
+        }
+        
+        /**
+         * Grows the record buffer so the next write fits
+         */
+        private void ensure(int bytes) {
+            if (record.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+                record = grown.put(record.flip());
+            }
+        }
+        
+        private void append() throws IOException {
+            record.flip();
+            if (output.remaining() < record.remaining()) {
+                flush();
+            }
+            if (record.remaining() > output.capacity()) {
+                write(record);
+            } else {
+                output.put(record);
+            }
+        }
+        
+        private void flush() throws IOException {
+            write(output.flip());
+            output.clear();
+        }
+        
+        private void write(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                flushed += channel.write(source, flushed);
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.decisionservicemaster.service.rule;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Orders the rules of a fail-fast evaluation so that cheap, frequently declining rules run first
+ *
+ * Each evaluated rule records its latency (including its report fetch, since fail-fast mode
+ * prefetches nothing) and whether it declined the request, per rule and address state (only
+ * states some rule is configured for; the caller folds any other into the overall figures). A
+ * background task folds the counts into moving averages at a fixed interval and ranks rules
+ * by expected cost per decline (average latency / decline rate), the classic order for a
+ * short-circuiting AND. Rules are only reordered within a dependency level, and a level keeps
+ * its declared order until every rule in it has enough samples (per state, else overall).
+ * One request in explore-every evaluates every rule without skipping, so rules that are
+ * usually skipped keep their statistics current.
+ */
+@Component
+public class AdaptiveRuleOrder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRuleOrder.class);
+    
+    /**
+     * State key for statistics over all states
+     */
+    static final String ALL_STATES = "*";
+    
+    private static final double MIN_DECLINE_RATE = 0.001;
+    
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration recomputeInterval;
+    private final long exploreEvery;
+    private final long minSamples;
+    private final double smoothing;
+    
+    private final ConcurrentMap<String, ConcurrentMap<String, RuleStats>> stats = new ConcurrentHashMap<>();
+    private final AtomicLong evaluations = new AtomicLong();
+    private final ConcurrentMap<List<String>, AtomicInteger> positions = new ConcurrentHashMap<>();
+    
+    // Ranks of the last recompute (rule -> state -> cost per decline), and orders derived from them
+    private volatile Map<String, Map<String, Double>> ranks = Map.of();
+    private volatile ConcurrentMap<String, CachedOrder> orders = new ConcurrentHashMap<>();
+    private volatile RuleRegistry.Plan lastPlan;
+    private ScheduledExecutorService scheduler;
+    
+    private record CachedOrder(RuleRegistry.Plan plan, List<String> ruleNames) {
+    }
+    
+    /**
+     * Counters written on the request path; the moving averages are only touched by recompute()
+     */
+    private static final class RuleStats {
+        
+        private final LongAdder count = new LongAdder();
+        private final LongAdder declines = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        
+        private long foldedCount;
+        private long foldedDeclines;
+        private long foldedNanos;
+        private double averageNanos = Double.NaN;
+        private double declineRate = Double.NaN;
+    }
+    
+    @Autowired
+    public AdaptiveRuleOrder(MeterRegistry meterRegistry,
+                             @Value("${app.rules.adaptive-order.enabled:true}") boolean enabled,
+                             @Value("${app.rules.adaptive-order.recompute-interval:30s}") Duration recomputeInterval,
+                             @Value("${app.rules.adaptive-order.explore-every:100}") long exploreEvery,
+                             @Value("${app.rules.adaptive-order.min-samples:50}") long minSamples,
+                             @Value("${app.rules.adaptive-order.smoothing:0.3}") double smoothing) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.recomputeInterval = recomputeInterval;
+        this.exploreEvery = exploreEvery;
+        this.minSamples = minSamples;
+        this.smoothing = smoothing;
+    }
+    
+    /**
+     * An order that never changes the plan, for code running outside the Spring context
+     */
+    public static AdaptiveRuleOrder disabled() {
+        return new AdaptiveRuleOrder(new CompositeMeterRegistry(), false, Duration.ofSeconds(30), 0, 0, 0);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("adaptive-rule-order").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::recomputeSafely,
+            recomputeInterval.toMillis(), recomputeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+    
+    /**
+     * Returns the rule names of the plan in the order to evaluate them for an address state
+     *
+     * @param state A state some rule is configured for, or null for any other; orders are cached per state
+     */
+    public List<String> order(RuleRegistry.Plan plan, String state) {
+        if (!enabled) {
+            return plan.ruleNames();
+        }
+        lastPlan = plan;
+        String key = state != null ? state : ALL_STATES;
+        CachedOrder cached = orders.get(key);
+        if (cached != null && cached.plan() == plan) {
+            return cached.ruleNames();
+        }
+        List<String> ruleNames = rank(plan, key, ranks);
+        orders.put(key, new CachedOrder(plan, ruleNames));
+        return ruleNames;
+    }
+    
+    /**
+     * True if this request should evaluate every rule instead of stopping at the first decline
+     */
+    public boolean explore() {
+        return enabled && exploreEvery > 0 && evaluations.incrementAndGet() % exploreEvery == 0;
+    }
+    
+    /**
+     * Records one evaluation of a rule
+     *
+     * @param state A state some rule is configured for, or null to count under all states only
+     * @param nanos Evaluation time, including any report fetch the rule triggered
+     * @param declined True if the decision alone declines the request
+     */
+    public void record(String ruleName, String state, long nanos, boolean declined) {
+        if (!enabled) {
+            return;
+        }
+        ConcurrentMap<String, RuleStats> byState = stats.computeIfAbsent(ruleName, name -> new ConcurrentHashMap<>());
+        add(byState.computeIfAbsent(ALL_STATES, key -> new RuleStats()), nanos, declined);
+        if (state != null) {
+            add(byState.computeIfAbsent(state, key -> new RuleStats()), nanos, declined);
+        }
+    }
+    
+    private static void add(RuleStats ruleStats, long nanos, boolean declined) {
+        ruleStats.count.increment();
+        ruleStats.nanos.add(nanos);
+        if (declined) {
+            ruleStats.declines.increment();
+        }
+    }
+    
+    private void recomputeSafely() {
+        try {
+            recompute();
+        } catch (RuntimeException e) {
+            logger.warn("Rule order recompute failed, keeping the current order", e);
+        }
+    }
+    
+    /**
+     * Folds the counts recorded since the last call into the moving averages and publishes new ranks
+     */
+    synchronized void recompute() {
+        Map<String, Map<String, Double>> newRanks = new HashMap<>();
+        stats.forEach((ruleName, byState) -> byState.forEach((state, ruleStats) -> {
+            fold(ruleStats);
+            if (ruleStats.foldedCount >= minSamples && !Double.isNaN(ruleStats.averageNanos)) {
+                double rank = ruleStats.averageNanos / Math.max(ruleStats.declineRate, MIN_DECLINE_RATE);
+                newRanks.computeIfAbsent(ruleName, name -> new HashMap<>()).put(state, rank);
+            }
+        }));
+        
+        ranks = newRanks;
+        orders = new ConcurrentHashMap<>();
+        publishPositions(newRanks);
+    }
+    
+    private void fold(RuleStats ruleStats) {
+        long count = ruleStats.count.sum();
+        long windowCount = count - ruleStats.foldedCount;
+        if (windowCount <= 0) {
+            return;
+        }
+        long declines = ruleStats.declines.sum();
+        long nanos = ruleStats.nanos.sum();
+        double windowAverage = (double) (nanos - ruleStats.foldedNanos) / windowCount;
+        double windowDeclineRate = (double) (declines - ruleStats.foldedDeclines) / windowCount;
+        
+        if (Double.isNaN(ruleStats.averageNanos)) {
+            ruleStats.averageNanos = windowAverage;
+            ruleStats.declineRate = windowDeclineRate;
+        } else {
+            ruleStats.averageNanos = smoothing * windowAverage + (1 - smoothing) * ruleStats.averageNanos;
+            ruleStats.declineRate = smoothing * windowDeclineRate + (1 - smoothing) * ruleStats.declineRate;
+        }
+        ruleStats.foldedCount = count;
+        ruleStats.foldedDeclines = declines;
+        ruleStats.foldedNanos = nanos;
+    }
+    
+    /**
+     * Sorts each dependency level by rank; a level without a rank for every rule keeps its order
+     */
+    private static List<String> rank(RuleRegistry.Plan plan, String state, Map<String, Map<String, Double>> ranks) {
+        List<String> ruleNames = new ArrayList<>(plan.ruleNames().size());
+        for (List<String> level : plan.levels()) {
+            Map<String, Double> levelRanks = new HashMap<>();
+            for (String ruleName : level) {
+                Map<String, Double> byState = ranks.getOrDefault(ruleName, Map.of());
+                Double rank = byState.containsKey(state) ? byState.get(state) : byState.get(ALL_STATES);
+                if (rank != null) {
+                    levelRanks.put(ruleName, rank);
+                }
+            }
+            
+            if (levelRanks.size() == level.size()) {
+                level.stream().sorted(Comparator.comparing(levelRanks::get)).forEach(ruleNames::add);
+            } else {
+                ruleNames.addAll(level);
+            }
+        }
+        return List.copyOf(ruleNames);
+    }
+    
+    /**
+     * Exports each rule's position in the current order as decision.rule.order{rule, state}
+     */
+    private void publishPositions(Map<String, Map<String, Double>> newRanks) {
+        RuleRegistry.Plan plan = lastPlan;
+        if (plan == null) {
+            return;
+        }
+        
+        List<String> states = new ArrayList<>();
+        states.add(ALL_STATES);
+        newRanks.values().forEach(byState -> byState.keySet().stream()
+            .filter(state -> !states.contains(state))
+            .forEach(states::add));
+        
+        for (String state : states) {
+            List<String> ruleNames = rank(plan, state, newRanks);
+            for (int i = 0; i < ruleNames.size(); i++) {
+                String ruleName = ruleNames.get(i);
+                positions.computeIfAbsent(List.of(ruleName, state), key -> {
+                    AtomicInteger position = new AtomicInteger();
+                    Gauge.builder("decision.rule.order", position, AtomicInteger::get)
+                        .description("Position of the rule in the adaptive fail-fast order (0 runs first)")
+                        .tag("rule", ruleName)
+                        .tag("state", state)
+                        .register(meterRegistry);
+                    return position;
+                }).set(i);
+            }
+            if (!ruleNames.equals(plan.ruleNames())) {
+                logger.debug("Adaptive rule order for {}: {}", state, ruleNames);
+            }
+        }
+    }
+}
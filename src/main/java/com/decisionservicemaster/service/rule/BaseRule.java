@@ -1,113 +1,147 @@
 package com.decisionservicemaster.service.rule;
 
+import com.decisionservicemaster.domain.entity.Address;
 import com.decisionservicemaster.domain.entity.Decision;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
-import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.decisionservicemaster.service.report.ReportContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Abstract base class for business rules
- * Implements Template Method pattern
+ * Implements Template Method pattern. The config slot is resolved once at construction;
+ * outcome() then reads the report, thresholds and entity fields as primitives and
+ * allocates nothing, so only the resulting Decision is created per evaluation
  */
 public abstract class BaseRule {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseRule.class);
     protected final DecisionRequest decisionRequest;
-    protected final Map<String, Object> config;
-    protected final List<Object> reports;
-    protected final ReportServiceFactory reportServiceFactory;
+    protected final ReportContext reportContext;
+    protected final RuleSnapshot ruleSnapshot;
+    protected final RuleIndex ruleIndex;
+    protected final int configSlot;
     
-    public BaseRule(DecisionRequest decisionRequest, ReportServiceFactory reportServiceFactory) {
+    /**
+     * Creates the rule and resolves its config; reports are read from the shared
+     * report context when the rule is evaluated, not when it is constructed
+     */
+    public BaseRule(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot) {
+        this(decisionRequest, reportContext, ruleSnapshot, null);
+    }
+    
+    /**
+     * For rules whose name is configuration rather than code (e.g. ExpressionRule), since
+     * getRuleName() cannot read subclass fields while the subclass is being constructed
+     */
+    protected BaseRule(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot,
+                       String ruleName) {
         this.decisionRequest = decisionRequest;
-        this.reportServiceFactory = reportServiceFactory;
-        this.config = loadConfig();
-        this.reports = isEnabled() ? fetchReports() : new ArrayList<>();
+        this.reportContext = reportContext;
+        this.ruleSnapshot = ruleSnapshot;
+        this.ruleIndex = ruleSnapshot.getIndex(ruleName != null ? ruleName : getRuleName());
+        this.configSlot = resolveConfigSlot();
     }
     
     /**
      * Main method to execute the rule
-     * Creates a Decision entity based on rule evaluation
+     * Creates a Decision entity based on rule evaluation and adds it to the request
      */
     public void run() {
+        Decision decision = evaluate();
+        if (decision != null) {
+            decisionRequest.addDecision(decision);
+        }
+    }
+    
+    /**
+     * Evaluates the rule without touching the request's decision list,
+     * so rules can be evaluated concurrently and merged in a fixed order
+     * 
+     * @return The Decision, or null if the rule is disabled
+     */
+    public Decision evaluate() {
         if (!isEnabled()) {
             logger.debug("Rule {} is disabled", getRuleName());
-            return;
+            return null;
         }
         
         Decision decision = new Decision(
             getRuleName(),
-            getDecisionFromRule(),
+            outcome().value(),
             getMessage()
         );
-        decision.setDecisionRequest(decisionRequest);
-        decisionRequest.getDecisions().add(decision);
+        decision.setRuleSnapshotVersion(ruleSnapshot.getVersion());
+        return decision;
+    }
+    
+    /**
+     * Records that the rule was not evaluated because another rule already declined the request
+     * Does not touch the report context, so none of the rule's reports are fetched
+     *
+     * @param decidedBy Rule whose decision made the request's final decision
+     * @return The Decision, or null if the rule is disabled
+     */
+    public Decision skipped(String decidedBy) {
+        if (!isEnabled()) {
+            return null;
+        }
+        
+        Decision decision = new Decision(
+            getRuleName(),
+            RuleOutcome.SKIPPED.value(),
+            "Not evaluated: " + decidedBy + " already declined the application."
+        );
+        decision.setRuleSnapshotVersion(ruleSnapshot.getVersion());
+        return decision;
     }
     
     /**
      * Checks if rule is enabled based on config
      */
-    protected boolean isEnabled() {
-        if (config == null) return false;
-        Object enabled = config.get("enabled");
-        return enabled != null && (Boolean) enabled;
+    public boolean isEnabled() {
+        return ruleIndex.isEnabled(configSlot);
     }
     
     /**
-     * Checks if report data is present
+     * Returns the configured threshold for the address, or 0 if none is configured
      */
-    protected boolean dataPresent() {
-        return reports != null && !reports.isEmpty() && reports.get(0) != null;
+    protected int threshold() {
+        return ruleIndex.threshold(configSlot);
     }
     
     /**
-     * Loads configuration from YAML based on address state/county
+     * Resolves the precompiled configuration slot for the address state/county
+     * in the snapshot this rule is evaluated against
      */
-    protected abstract Map<String, Object> loadConfig();
+    protected int resolveConfigSlot() {
+        Address address = decisionRequest.getPrimaryAddress();
+        if (address == null) {
+            return RuleIndex.NO_SLOT;
+        }
+        return ruleIndex.slot(address.getState(), address.getCounty());
+    }
     
     /**
      * Returns list of report types required (e.g., ["Credit"], ["Mortgage"])
      */
-    protected abstract List<String> getReportsRequired();
+    public abstract List<String> getReportsRequired();
     
     /**
-     * Evaluates the rule and returns decision (eligible, decline, unavailable)
+     * Evaluates the rule against its report (fetched through the report context on first use)
+     * Must not allocate, apart from a report fetch that has not happened yet
      */
-    protected abstract String getDecisionFromRule();
+    public abstract RuleOutcome outcome();
     
     /**
      * Returns the rule name
      */
-    protected abstract String getRuleName();
+    public abstract String getRuleName();
     
     /**
      * Returns the decision message
      */
     protected abstract String getMessage();
-    
-    /**
-     * Fetches required reports for this rule
-     */
-    private List<Object> fetchReports() {
-        List<Object> fetchedReports = new ArrayList<>();
-        
-        for (String reportType : getReportsRequired()) {
-            Object report = null;
-            
-            if ("Credit".equals(reportType)) {
-                report = reportServiceFactory.fetchCreditReport(decisionRequest);
-            } else if ("Mortgage".equals(reportType)) {
-                report = reportServiceFactory.fetchMortgageReport(decisionRequest);
-            }
-            
-            fetchedReports.add(report);
-        }
-        
-        return fetchedReports;
-    }
 }
-
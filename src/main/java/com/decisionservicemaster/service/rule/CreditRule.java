@@ -2,13 +2,9 @@ package com.decisionservicemaster.service.rule;
 
 import com.decisionservicemaster.domain.entity.CreditReport;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
-import com.decisionservicemaster.service.report.ReportServiceFactory;
-import org.springframework.core.io.ClassPathResource;
-import org.yaml.snakeyaml.Yaml;
+import com.decisionservicemaster.service.report.ReportContext;
 
-import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Credit rule implementation
@@ -16,71 +12,52 @@ import java.util.Map;
  */
 public class CreditRule extends BaseRule {
     
-    private Map<String, Object> ruleConfig;
+    /**
+     * Credit score of a report without one; declines against any threshold
+     */
+    public static final int NO_SCORE = Integer.MIN_VALUE;
     
-    public CreditRule(DecisionRequest decisionRequest, ReportServiceFactory reportServiceFactory) {
-        super(decisionRequest, reportServiceFactory);
-    }
+    public static final RuleDefinition DEFINITION = RuleDefinition.of("credit_rule", List.of(), CreditRule::new);
     
-    @Override
-    protected Map<String, Object> loadConfig() {
-        try {
-            Yaml yaml = new Yaml();
-            InputStream inputStream = new ClassPathResource("rules/credit-rule.yml").getInputStream();
-            Map<String, Object> allConfigs = yaml.load(inputStream);
-            
-            String state = decisionRequest.getPrimaryAddress().getState();
-            String county = decisionRequest.getPrimaryAddress().getCounty();
-            
-            ruleConfig = RulesConfigHelper.getConfig(allConfigs, state, county);
-            return ruleConfig;
-        } catch (Exception e) {
-            logger.error("Failed to load credit rule config", e);
-            return Map.of();
-        }
+    private static final String REPORT_TYPE = "Credit";
+    private static final List<String> REPORTS_REQUIRED = List.of(REPORT_TYPE);
+    
+    public CreditRule(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot) {
+        super(decisionRequest, reportContext, ruleSnapshot);
     }
     
     @Override
-    protected List<String> getReportsRequired() {
-        return List.of("Credit");
+    public List<String> getReportsRequired() {
+        return REPORTS_REQUIRED;
     }
     
     @Override
-    protected String getDecisionFromRule() {
-        if (!dataPresent()) {
-            return "unavailable";
+    public RuleOutcome outcome() {
+        CreditReport creditReport = (CreditReport) reportContext.get(REPORT_TYPE);
+        if (creditReport == null) {
+            return RuleOutcome.UNAVAILABLE;
         }
         
-        if (creditScoreIsBelowThreshold()) {
-            return "decline";
-        }
-        
-        return "eligible";
+        Integer creditScore = creditReport.getCreditScore();
+        return decide(creditScore != null ? creditScore : NO_SCORE, threshold());
+    }
+    
+    /**
+     * Decides on primitive inputs: a score at or below the threshold declines
+     *
+     * @param creditScore The applicant's credit score, or NO_SCORE
+     */
+    public static RuleOutcome decide(int creditScore, int threshold) {
+        return creditScore > threshold ? RuleOutcome.ELIGIBLE : RuleOutcome.DECLINE;
     }
     
     @Override
-    protected String getRuleName() {
-        return "credit_rule";
+    public String getRuleName() {
+        return DEFINITION.getRuleName();
     }
     
     @Override
     protected String getMessage() {
         return "The credit score of applicant is checked";
     }
-    
-    private boolean creditScoreIsBelowThreshold() {
-        CreditReport creditReport = (CreditReport) reports.get(0);
-        Integer threshold = getCreditScoreThreshold();
-        
-        if (creditReport == null || creditReport.getCreditScore() == null) {
-            return true; // If no credit score, consider it below threshold
-        }
-        
-        return creditReport.getCreditScore() <= threshold;
-    }
-    
-    private Integer getCreditScoreThreshold() {
-        Object threshold = ruleConfig.get("credit_score_threshold");
-        return threshold != null ? (Integer) threshold : 0;
-    }
-}
\ No newline at end of file
+}
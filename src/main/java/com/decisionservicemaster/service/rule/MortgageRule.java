@@ -1,14 +1,11 @@
 package com.decisionservicemaster.service.rule;
 
+import com.decisionservicemaster.domain.entity.Applicant;
 import com.decisionservicemaster.domain.entity.DecisionRequest;
 import com.decisionservicemaster.domain.entity.MortgageReport;
-import com.decisionservicemaster.service.report.ReportServiceFactory;
-import org.springframework.core.io.ClassPathResource;
-import org.yaml.snakeyaml.Yaml;
+import com.decisionservicemaster.service.report.ReportContext;
 
-import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Mortgage rule implementation
@@ -16,51 +13,58 @@ import java.util.Map;
  */
 public class MortgageRule extends BaseRule {
     
-    private Map<String, Object> ruleConfig;
+    /**
+     * Pending mortgage of a report without one; always declines
+     */
+    public static final int NO_PENDING_MORTGAGE = Integer.MIN_VALUE;
     
-    public MortgageRule(DecisionRequest decisionRequest, ReportServiceFactory reportServiceFactory) {
-        super(decisionRequest, reportServiceFactory);
-    }
+    public static final RuleDefinition DEFINITION = RuleDefinition.of("mortgage_rule", List.of(), MortgageRule::new);
     
-    @Override
-    protected Map<String, Object> loadConfig() {
-        try {
-            Yaml yaml = new Yaml();
-            InputStream inputStream = new ClassPathResource("rules/mortgage-rule.yml").getInputStream();
-            Map<String, Object> allConfigs = yaml.load(inputStream);
-            
-            String state = decisionRequest.getPrimaryAddress().getState();
-            String county = decisionRequest.getPrimaryAddress().getCounty();
-            
-            ruleConfig = RulesConfigHelper.getConfig(allConfigs, state, county);
-            return ruleConfig;
-        } catch (Exception e) {
-            logger.error("Failed to load mortgage rule config", e);
-            return Map.of();
-        }
+    private static final String REPORT_TYPE = "Mortgage";
+    private static final List<String> REPORTS_REQUIRED = List.of(REPORT_TYPE);
+    
+    public MortgageRule(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot) {
+        super(decisionRequest, reportContext, ruleSnapshot);
     }
     
     @Override
-    protected List<String> getReportsRequired() {
-        return List.of("Mortgage");
+    public List<String> getReportsRequired() {
+        return REPORTS_REQUIRED;
     }
     
     @Override
-    protected String getDecisionFromRule() {
-        if (!dataPresent()) {
-            return "unavailable";
+    public RuleOutcome outcome() {
+        MortgageReport mortgageReport = (MortgageReport) reportContext.get(REPORT_TYPE);
+        if (mortgageReport == null) {
+            return RuleOutcome.UNAVAILABLE;
         }
         
-        if (!mortgageIsBelowThreshold()) {
-            return "decline";
+        Integer pendingMortgage = mortgageReport.getPendingMortgage();
+        Applicant applicant = decisionRequest.getPrimaryApplicant();
+        Double income = applicant != null ? applicant.getIncome() : null;
+        return decide(
+            pendingMortgage != null ? pendingMortgage : NO_PENDING_MORTGAGE,
+            income != null ? income : Double.NaN,
+            threshold()
+        );
+    }
+    
+    /**
+     * Decides on primitive inputs: eligible if the pending mortgage is at most income * threshold
+     *
+     * @param pendingMortgage Outstanding mortgage, or NO_PENDING_MORTGAGE
+     * @param income Applicant income, or NaN if unknown (declines)
+     */
+    public static RuleOutcome decide(int pendingMortgage, double income, int threshold) {
+        if (pendingMortgage == NO_PENDING_MORTGAGE) {
+            return RuleOutcome.DECLINE;
         }
-        
-        return "eligible";
+        return pendingMortgage <= income * threshold ? RuleOutcome.ELIGIBLE : RuleOutcome.DECLINE;
     }
     
     @Override
-    protected String getRuleName() {
-        return "mortgage_rule";
+    public String getRuleName() {
+        return DEFINITION.getRuleName();
     }
     
     @Override
@@ -68,21 +72,4 @@ public class MortgageRule extends BaseRule {
         return "The outstanding mortgage loan on the applicants property " +
                "is checked in relation with his income.";
     }
-    
-    private boolean mortgageIsBelowThreshold() {
-        MortgageReport mortgageReport = (MortgageReport) reports.get(0);
-        Double applicantIncome = decisionRequest.getPrimaryApplicant().getIncome();
-        Integer mortgageThreshold = getMortgageThreshold();
-        
-        if (mortgageReport == null || mortgageReport.getPendingMortgage() == null) {
-            return false;
-        }
-        
-        return mortgageReport.getPendingMortgage() <= (applicantIncome * mortgageThreshold);
-    }
-    
-    private Integer getMortgageThreshold() {
-        Object threshold = ruleConfig.get("mortgage_threshold");
-        return threshold != null ? (Integer) threshold : 0;
-    }
 }
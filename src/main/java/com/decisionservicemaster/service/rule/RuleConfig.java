@@ -0,0 +1,45 @@
+package com.decisionservicemaster.service.rule;
+
+/**
+ * Immutable, typed rule configuration for a single state or county
+ * County values are already merged over the state defaults at compile time
+ */
+public final class RuleConfig {
+    
+    public static final RuleConfig DISABLED = new RuleConfig(false, null);
+    
+    private final boolean enabled;
+    private final Integer threshold;
+    
+    public RuleConfig(boolean enabled, Integer threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Returns the configured threshold, or null if none is configured
+     */
+    public Integer getThreshold() {
+        return threshold;
+    }
+    
+    /**
+     * Returns a copy of this config with the given overrides applied
+     * Null overrides keep the current value
+     */
+    RuleConfig mergeWith(Boolean enabledOverride, Integer thresholdOverride) {
+        return new RuleConfig(
+            enabledOverride != null ? enabledOverride : enabled,
+            thresholdOverride != null ? thresholdOverride : threshold
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return "RuleConfig{enabled=" + enabled + ", threshold=" + threshold + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package com.decisionservicemaster.service.rule;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.report.ReportContext;
+
+import java.util.List;
+
+/**
+ * A rule the processor can run, registered as a Spring bean and collected by RuleRegistry
+ * Creating the rule must only resolve config; reports are read when it is evaluated
+ */
+public interface RuleDefinition {
+    
+    String getRuleName();
+    
+    /**
+     * Rules that must be evaluated before this one
+     */
+    List<String> getDependsOn();
+    
+    BaseRule create(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot);
+    
+    @FunctionalInterface
+    interface Factory {
+        BaseRule create(DecisionRequest decisionRequest, ReportContext reportContext, RuleSnapshot ruleSnapshot);
+    }
+    
+    static RuleDefinition of(String ruleName, List<String> dependsOn, Factory factory) {
+        List<String> dependencies = List.copyOf(dependsOn);
+        return new RuleDefinition() {
+            @Override
+            public String getRuleName() {
+                return ruleName;
+            }
+            
+            @Override
+            public List<String> getDependsOn() {
+                return dependencies;
+            }
+            
+            @Override
+            public BaseRule create(DecisionRequest decisionRequest, ReportContext reportContext,
+                                   RuleSnapshot ruleSnapshot) {
+                return factory.create(decisionRequest, reportContext, ruleSnapshot);
+            }
+            
+            @Override
+            public String toString() {
+                return "RuleDefinition{" + ruleName + ", dependsOn=" + dependencies + "}";
+            }
+        };
+    }
+}
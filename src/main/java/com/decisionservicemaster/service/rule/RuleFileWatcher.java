@@ -0,0 +1,102 @@
+package com.decisionservicemaster.service.rule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the external rules directory and triggers a background recompile on change
+ * Events are debounced so an editor writing several files publishes a single snapshot
+ */
+@Component
+public class RuleFileWatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RuleFileWatcher.class);
+    
+    private final RuleSnapshotRegistry ruleSnapshotRegistry;
+    
+    @Value("${app.rules.watch:true}")
+    private boolean watchEnabled;
+    
+    @Value("${app.rules.reload-debounce:500ms}")
+    private Duration reloadDebounce;
+    
+    private WatchService watchService;
+    private Thread watcherThread;
+    
+    public RuleFileWatcher(RuleSnapshotRegistry ruleSnapshotRegistry) {
+        this.ruleSnapshotRegistry = ruleSnapshotRegistry;
+    }
+    
+    @PostConstruct
+    public void start() {
+        Path directory = ruleSnapshotRegistry.getRulesDirectory();
+        if (!watchEnabled || directory == null) {
+            logger.debug("Rule file watching disabled");
+            return;
+        }
+        
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch rules directory " + directory, e);
+        }
+        
+        watcherThread = Thread.ofPlatform()
+            .name("rule-file-watcher")
+            .daemon(true)
+            .start(this::watch);
+        logger.info("Watching {} for rule changes", directory);
+    }
+    
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+    
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                drain(key);
+                
+                // Wait for the directory to go quiet before recompiling
+                WatchKey next;
+                while ((next = watchService.poll(reloadDebounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                
+                ruleSnapshotRegistry.reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+}
@@ -0,0 +1,136 @@
+package com.decisionservicemaster.service.rule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state -> county lookup of compiled rule configurations
+ * Built once by RuleIndexCompiler, read on every decision without parsing or casting.
+ * Every state default and county override is interned to a small int slot, and the
+ * enabled flags and thresholds live in primitive arrays indexed by slot, so resolving
+ * and reading a config allocates nothing
+ */
+public final class RuleIndex {
+    
+    /**
+     * Slot of an unknown state (or a missing address); the rule is disabled there
+     */
+    public static final int NO_SLOT = -1;
+    
+    private final String ruleName;
+    private final Map<String, StateSlots> states;
+    private final RuleConfig[] configs;
+    private final boolean[] enabled;
+    private final int[] thresholds;
+    
+    RuleIndex(String ruleName, Map<String, StateRules> states) {
+        this.ruleName = ruleName;
+        
+        List<RuleConfig> slotConfigs = new ArrayList<>();
+        Map<String, StateSlots> stateSlots = new HashMap<>();
+        states.forEach((state, stateRules) -> {
+            int defaultSlot = slotConfigs.size();
+            slotConfigs.add(stateRules.defaults);
+            
+            Map<String, Integer> countySlots = new HashMap<>();
+            stateRules.counties.forEach((county, config) -> {
+                countySlots.put(county, slotConfigs.size());
+                slotConfigs.add(config);
+            });
+            stateSlots.put(state, new StateSlots(defaultSlot, Map.copyOf(countySlots)));
+        });
+        
+        this.states = Map.copyOf(stateSlots);
+        this.configs = slotConfigs.toArray(new RuleConfig[0]);
+        this.enabled = new boolean[configs.length];
+        this.thresholds = new int[configs.length];
+        for (int slot = 0; slot < configs.length; slot++) {
+            enabled[slot] = configs[slot].isEnabled();
+            Integer threshold = configs[slot].getThreshold();
+            thresholds[slot] = threshold != null ? threshold : 0;
+        }
+    }
+    
+    public String getRuleName() {
+        return ruleName;
+    }
+    
+    /**
+     * Resolves a state/county pair to its config slot
+     *
+     * @param state The address state
+     * @param county The address county (may be null)
+     * @return The county slot, the state slot if the county is not listed,
+     *         or NO_SLOT if the state is unknown
+     */
+    public int slot(String state, String county) {
+        if (state == null) {
+            return NO_SLOT;
+        }
+        
+        StateSlots stateSlots = states.get(state);
+        if (stateSlots == null) {
+            return NO_SLOT;
+        }
+        
+        if (county != null) {
+            Integer countySlot = stateSlots.counties().get(county);
+            if (countySlot != null) {
+                return countySlot;
+            }
+        }
+        
+        return stateSlots.defaultSlot();
+    }
+    
+    public boolean isEnabled(int slot) {
+        return slot != NO_SLOT && enabled[slot];
+    }
+    
+    /**
+     * Returns the threshold of a slot, or 0 if none is configured
+     */
+    public int threshold(int slot) {
+        return slot != NO_SLOT ? thresholds[slot] : 0;
+    }
+    
+    /**
+     * Looks up the effective config for a state/county pair
+     *
+     * @param state The address state
+     * @param county The address county (may be null)
+     * @return County config merged over state defaults, the state config if the
+     *         county is not listed, or RuleConfig.DISABLED if the state is unknown
+     */
+    public RuleConfig lookup(String state, String county) {
+        int slot = slot(state, county);
+        return slot != NO_SLOT ? configs[slot] : RuleConfig.DISABLED;
+    }
+    
+    public boolean containsState(String state) {
+        return state != null && states.containsKey(state);
+    }
+    
+    public int size() {
+        return states.size();
+    }
+    
+    /**
+     * Compiled configs of one state, as produced by RuleIndexCompiler
+     */
+    static final class StateRules {
+        
+        private final RuleConfig defaults;
+        private final Map<String, RuleConfig> counties;
+        
+        StateRules(RuleConfig defaults, Map<String, RuleConfig> counties) {
+            this.defaults = defaults;
+            this.counties = Map.copyOf(counties);
+        }
+    }
+    
+    private record StateSlots(int defaultSlot, Map<String, Integer> counties) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.decisionservicemaster.service.rule;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles a rule YAML file into an immutable RuleIndex
+ * Runs once at startup so the decision hot path never touches SnakeYAML
+ */
+public final class RuleIndexCompiler {
+    
+    private static final String ENABLED_KEY = "enabled";
+    private static final String COUNTIES_KEY = "counties";
+    
+    private RuleIndexCompiler() {
+    }
+    
+    /**
+     * Parses and compiles a rule file
+     *
+     * @param ruleName Name of the rule the file configures (used in error messages)
+     * @param inputStream YAML content, keyed by state with an optional "counties" map
+     * @param thresholdKey Name of the numeric threshold field (e.g. "credit_score_threshold")
+     * @return Compiled index with county values merged over state defaults
+     */
+    public static RuleIndex compile(String ruleName, InputStream inputStream, String thresholdKey) {
+        Map<String, Object> allConfigs = new Yaml().load(inputStream);
+        return compile(ruleName, allConfigs, thresholdKey);
+    }
+    
+    public static RuleIndex compile(String ruleName, Map<String, Object> allConfigs, String thresholdKey) {
+        Map<String, RuleIndex.StateRules> states = new HashMap<>();
+        
+        if (allConfigs != null) {
+            allConfigs.forEach((state, value) -> {
+                Map<String, Object> stateConfig = asMap(ruleName, state, value);
+                states.put(state, compileState(ruleName, state, stateConfig, thresholdKey));
+            });
+        }
+        
+        return new RuleIndex(ruleName, states);
+    }
+    
+    private static RuleIndex.StateRules compileState(
+            String ruleName, String state, Map<String, Object> stateConfig, String thresholdKey) {
+        
+        RuleConfig defaults = RuleConfig.DISABLED.mergeWith(
+            readBoolean(ruleName, state, stateConfig, ENABLED_KEY),
+            readInteger(ruleName, state, stateConfig, thresholdKey)
+        );
+        
+        Map<String, RuleConfig> counties = new HashMap<>();
+        Map<String, Object> countyConfigs = asMap(ruleName, state, stateConfig.get(COUNTIES_KEY));
+        
+        countyConfigs.forEach((county, value) -> {
+            String path = state + "." + county;
+            Map<String, Object> countyConfig = asMap(ruleName, path, value);
+            counties.put(county, defaults.mergeWith(
+                readBoolean(ruleName, path, countyConfig, ENABLED_KEY),
+                readInteger(ruleName, path, countyConfig, thresholdKey)
+            ));
+        });
+        
+        return new RuleIndex.StateRules(defaults, counties);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(String ruleName, String path, Object value) {
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map)) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + path + ": expected a mapping but got " + value);
+        }
+        return (Map<String, Object>) value;
+    }
+    
+    private static Boolean readBoolean(String ruleName, String path, Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Boolean)) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + path + "." + key + ": expected a boolean but got " + value);
+        }
+        return (Boolean) value;
+    }
+    
+    private static Integer readInteger(String ruleName, String path, Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Number)) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + path + "." + key + ": expected a number but got " + value);
+        }
+        return ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,25 @@
+package com.decisionservicemaster.service.rule;
+
+/**
+ * Outcome of a single rule; value() is the string stored on Decision and returned by the API
+ */
+public enum RuleOutcome {
+    
+    ELIGIBLE("eligible"),
+    DECLINE("decline"),
+    UNAVAILABLE("unavailable"),
+    /**
+     * Not evaluated because an earlier rule already declined the request (fail-fast mode)
+     */
+    SKIPPED("skipped");
+    
+    private final String value;
+    
+    RuleOutcome(String value) {
+        this.value = value;
+    }
+    
+    public String value() {
+        return value;
+    }
+}
@@ -0,0 +1,160 @@
+package com.decisionservicemaster.service.rule;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.report.ReportContext;
+import com.decisionservicemaster.service.rule.expression.ExpressionRule;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The rules every request is evaluated against: the RuleDefinition beans, in bean order,
+ * followed by the expression rules of the snapshot in use
+ * Rules are planned into dependency levels, so a rule only runs after the rules it depends on.
+ * Has no Spring dependencies, so offline tools can use standalone().
+ */
+@Component
+public class RuleRegistry {
+    
+    /**
+     * @param levels Rules grouped so that each depends only on rules in earlier levels
+     * @param ruleNames All rules, level by level and in declaration order within a level
+     */
+    public record Plan(List<List<String>> levels, List<String> ruleNames) {
+    }
+    
+    private record CachedPlan(RuleSnapshot ruleSnapshot, Plan plan) {
+    }
+    
+    private final Map<String, RuleDefinition> definitions = new LinkedHashMap<>();
+    private final Plan definitionPlan;
+    private volatile CachedPlan cachedPlan;
+    
+    public RuleRegistry(List<RuleDefinition> definitions) {
+        for (RuleDefinition definition : definitions) {
+            if (this.definitions.putIfAbsent(definition.getRuleName(), definition) != null) {
+                throw new IllegalStateException("Rule " + definition.getRuleName() + " is defined twice");
+            }
+        }
+        this.definitionPlan = compilePlan(null);
+    }
+    
+    /**
+     * Registry of the built-in rules, for use without Spring
+     */
+    public static RuleRegistry standalone() {
+        return new RuleRegistry(List.of(MortgageRule.DEFINITION, CreditRule.DEFINITION));
+    }
+    
+    /**
+     * Returns the evaluation plan for a snapshot; computed once per snapshot
+     *
+     * @throws IllegalStateException if the snapshot's rules have unknown or cyclic dependencies
+     */
+    public Plan plan(RuleSnapshot ruleSnapshot) {
+        if (ruleSnapshot.getExpressionRuleNames().isEmpty()) {
+            return definitionPlan;
+        }
+        CachedPlan cached = cachedPlan;
+        if (cached != null && cached.ruleSnapshot() == ruleSnapshot) {
+            return cached.plan();
+        }
+        Plan plan = compilePlan(ruleSnapshot);
+        cachedPlan = new CachedPlan(ruleSnapshot, plan);
+        return plan;
+    }
+    
+    /**
+     * Names of all rules evaluated against a snapshot, in evaluation order
+     */
+    public List<String> ruleNames(RuleSnapshot ruleSnapshot) {
+        return plan(ruleSnapshot).ruleNames();
+    }
+    
+    /**
+     * Checks that a snapshot can be planned before it is published
+     *
+     * @throws IllegalStateException if it cannot
+     */
+    public void validate(RuleSnapshot ruleSnapshot) {
+        compilePlan(ruleSnapshot);
+    }
+    
+    /**
+     * Creates a rule by name
+     *
+     * @throws IllegalArgumentException if neither a definition nor the snapshot declares the rule
+     */
+    public BaseRule create(String ruleName, DecisionRequest decisionRequest,
+                           ReportContext reportContext, RuleSnapshot ruleSnapshot) {
+        RuleDefinition definition = definitions.get(ruleName);
+        if (definition != null) {
+            return definition.create(decisionRequest, reportContext, ruleSnapshot);
+        }
+        return new ExpressionRule(ruleName, decisionRequest, reportContext, ruleSnapshot);
+    }
+    
+    private Plan compilePlan(RuleSnapshot ruleSnapshot) {
+        Map<String, List<String>> dependsOn = new LinkedHashMap<>();
+        definitions.forEach((ruleName, definition) -> dependsOn.put(ruleName, definition.getDependsOn()));
+        
+        if (ruleSnapshot != null) {
+            for (String ruleName : ruleSnapshot.getExpressionRuleNames()) {
+                if (dependsOn.containsKey(ruleName)) {
+                    throw new IllegalStateException("Expression rule " + ruleName + " clashes with a defined rule");
+                }
+                dependsOn.put(ruleName, ruleSnapshot.getExpressionRule(ruleName).dependsOn());
+            }
+        }
+        
+        Map<String, Integer> levelOf = new HashMap<>();
+        for (String ruleName : dependsOn.keySet()) {
+            level(ruleName, dependsOn, levelOf, new HashSet<>());
+        }
+        
+        List<List<String>> levels = new ArrayList<>();
+        for (String ruleName : dependsOn.keySet()) {
+            int level = levelOf.get(ruleName);
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(ruleName);
+        }
+        
+        List<String> ruleNames = new ArrayList<>(dependsOn.size());
+        levels.forEach(ruleNames::addAll);
+        return new Plan(levels.stream().map(List::copyOf).toList(), List.copyOf(ruleNames));
+    }
+    
+    /**
+     * Level of a rule: 0 without dependencies, otherwise one more than its deepest dependency
+     */
+    private static int level(String ruleName, Map<String, List<String>> dependsOn,
+                             Map<String, Integer> levelOf, Set<String> visiting) {
+        Integer known = levelOf.get(ruleName);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(ruleName)) {
+            throw new IllegalStateException("Rule dependency cycle through " + ruleName);
+        }
+        
+        int level = 0;
+        for (String dependency : dependsOn.get(ruleName)) {
+            if (!dependsOn.containsKey(dependency)) {
+                throw new IllegalStateException("Rule " + ruleName + " depends on unknown rule " + dependency);
+            }
+            level = Math.max(level, level(dependency, dependsOn, levelOf, visiting) + 1);
+        }
+        
+        visiting.remove(ruleName);
+        levelOf.put(ruleName, level);
+        return level;
+    }
+}
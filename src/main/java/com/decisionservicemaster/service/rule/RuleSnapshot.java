@@ -0,0 +1,99 @@
+package com.decisionservicemaster.service.rule;
+
+import com.decisionservicemaster.service.rule.expression.ExpressionRuleDefinition;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned set of compiled rule indexes and expression rules
+ * A decision reads one snapshot for its whole evaluation, so a reload never
+ * mixes old and new thresholds within the same request
+ */
+public final class RuleSnapshot {
+    
+    private final String version;
+    private final String source;
+    private final Instant loadedAt;
+    private final Map<String, RuleIndex> indexes;
+    private final Map<String, ExpressionRuleDefinition> expressionRules;
+    private final List<String> expressionRuleNames;
+    
+    public RuleSnapshot(String version, String source, Instant loadedAt, Map<String, RuleIndex> indexes) {
+        this(version, source, loadedAt, indexes, Map.of());
+    }
+    
+    /**
+     * @param expressionRules Compiled expression rules in evaluation order; each needs an index too
+     */
+    public RuleSnapshot(String version, String source, Instant loadedAt, Map<String, RuleIndex> indexes,
+                        Map<String, ExpressionRuleDefinition> expressionRules) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = loadedAt;
+        this.indexes = Map.copyOf(indexes);
+        this.expressionRules = Map.copyOf(expressionRules);
+        this.expressionRuleNames = List.copyOf(expressionRules.keySet());
+    }
+    
+    /**
+     * Content digest of the rule files this snapshot was compiled from
+     * Identical files produce the same version on every node and across restarts
+     */
+    public String getVersion() {
+        return version;
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+    
+    /**
+     * Returns the compiled index for a rule
+     *
+     * @throws IllegalArgumentException if no index is registered for the rule
+     */
+    public RuleIndex getIndex(String ruleName) {
+        RuleIndex index = indexes.get(ruleName);
+        if (index == null) {
+            throw new IllegalArgumentException("No rule config registered for: " + ruleName);
+        }
+        return index;
+    }
+    
+    /**
+     * True if any rule is configured for the state
+     */
+    public boolean containsState(String state) {
+        for (RuleIndex index : indexes.values()) {
+            if (index.containsState(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Names of the expression rules, in the order they are declared
+     */
+    public List<String> getExpressionRuleNames() {
+        return expressionRuleNames;
+    }
+    
+    /**
+     * Returns a compiled expression rule, or null if the snapshot declares none by that name
+     */
+    public ExpressionRuleDefinition getExpressionRule(String ruleName) {
+        return expressionRules.get(ruleName);
+    }
+    
+    @Override
+    public String toString() {
+        return "RuleSnapshot{version=" + version + ", source=" + source + ", loadedAt=" + loadedAt + "}";
+    }
+}
@@ -0,0 +1,218 @@
+package com.decisionservicemaster.service.rule;
+
+import com.decisionservicemaster.service.rule.expression.ExpressionRuleCompiler;
+import com.decisionservicemaster.service.rule.expression.ExpressionRuleDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current rule snapshot and publishes new ones atomically
+ * Rules are loaded from app.rules.directory when configured, otherwise from the
+ * bundled classpath rules. Readers never lock: they take one reference per request.
+ */
+@Component
+public class RuleSnapshotRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RuleSnapshotRegistry.class);
+    
+    private static final List<RuleFile> RULE_FILES = List.of(
+        new RuleFile("credit_rule", "credit-rule.yml", "credit_score_threshold"),
+        new RuleFile("mortgage_rule", "mortgage-rule.yml", "mortgage_threshold")
+    );
+    
+    /**
+     * Optional file of declarative rules, evaluated after the built-in ones
+     */
+    private static final String EXPRESSION_RULE_FILE = "expression-rules.yml";
+    
+    private static final String CLASSPATH_RULES = "rules/";
+    
+    private final AtomicReference<RuleSnapshot> current = new AtomicReference<>();
+    
+    @Value("${app.rules.directory:}")
+    private String rulesDirectory;
+    
+    /**
+     * Checks rule dependencies before a snapshot is published; absent when used without Spring
+     */
+    @Autowired(required = false)
+    private RuleRegistry ruleRegistry;
+    
+    @PostConstruct
+    public void init() {
+        current.set(compile());
+        logger.info("Loaded rule snapshot {}", current.get());
+    }
+    
+    /**
+     * Returns the snapshot new decisions should be evaluated against
+     */
+    public RuleSnapshot current() {
+        return current.get();
+    }
+    
+    /**
+     * Returns the compiled index for a rule in the current snapshot
+     */
+    public RuleIndex getIndex(String ruleName) {
+        return current().getIndex(ruleName);
+    }
+    
+    /**
+     * Returns the external rules directory, or null when the bundled rules are used
+     */
+    public Path getRulesDirectory() {
+        return rulesDirectory == null || rulesDirectory.isBlank() ? null : Path.of(rulesDirectory);
+    }
+    
+    /**
+     * Recompiles the rule files and swaps in the new snapshot if their content changed
+     * A failed compile keeps the current snapshot in place
+     *
+     * @return true if a new snapshot was published
+     */
+    public boolean reload() {
+        RuleSnapshot candidate;
+        try {
+            candidate = compile();
+        } catch (Exception e) {
+            logger.error("Rule reload failed, keeping snapshot {}", current.get().getVersion(), e);
+            return false;
+        }
+        
+        RuleSnapshot previous = current.get();
+        if (previous != null && previous.getVersion().equals(candidate.getVersion())) {
+            logger.debug("Rule files unchanged, keeping snapshot {}", previous.getVersion());
+            return false;
+        }
+        
+        current.set(candidate);
+        logger.info("Published rule snapshot {} (replacing {})",
+                    candidate, previous != null ? previous.getVersion() : null);
+        return true;
+    }
+    
+    private RuleSnapshot compile() {
+        RuleSnapshot snapshot = compile(getRulesDirectory());
+        if (ruleRegistry != null) {
+            ruleRegistry.validate(snapshot);
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Compiles a snapshot from a rules directory without publishing it
+     * Used by offline tools (e.g. the replay runner) that compare rule versions
+     *
+     * @param directory Directory holding the rule files, or null for the bundled classpath rules
+     */
+    public static RuleSnapshot compile(Path directory) {
+        MessageDigest digest = sha256();
+        Map<String, RuleIndex> indexes = new HashMap<>();
+        
+        for (RuleFile ruleFile : RULE_FILES) {
+            byte[] content = read(directory, ruleFile.fileName);
+            
+            digest.update(ruleFile.fileName.getBytes(StandardCharsets.UTF_8));
+            digest.update(content);
+            
+            try (InputStream inputStream = new ByteArrayInputStream(content)) {
+                indexes.put(ruleFile.ruleName,
+                            RuleIndexCompiler.compile(ruleFile.ruleName, inputStream, ruleFile.thresholdKey));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to compile " + ruleFile.ruleName + " config", e);
+            }
+        }
+        
+        Map<String, ExpressionRuleDefinition> expressionRules = Map.of();
+        byte[] expressionContent = readOptional(directory, EXPRESSION_RULE_FILE);
+        if (expressionContent != null) {
+            digest.update(EXPRESSION_RULE_FILE.getBytes(StandardCharsets.UTF_8));
+            digest.update(expressionContent);
+            
+            ExpressionRuleCompiler.CompiledRules compiled =
+                ExpressionRuleCompiler.compile(new ByteArrayInputStream(expressionContent));
+            for (String ruleName : compiled.definitions().keySet()) {
+                if (indexes.containsKey(ruleName)) {
+                    throw new IllegalStateException("Expression rule " + ruleName + " clashes with a built-in rule");
+                }
+            }
+            indexes.putAll(compiled.indexes());
+            expressionRules = compiled.definitions();
+        }
+        
+        String version = HexFormat.of().formatHex(digest.digest(), 0, 8);
+        String source = directory != null ? directory.toString() : "classpath:" + CLASSPATH_RULES;
+        return new RuleSnapshot(version, source, Instant.now(), indexes, expressionRules);
+    }
+    
+    private static byte[] read(Path directory, String fileName) {
+        byte[] content = readOptional(directory, fileName);
+        if (content == null) {
+            throw new RuntimeException("Failed to read rule file " + fileName + ": not found");
+        }
+        return content;
+    }
+    
+    /**
+     * Returns the file content, or null if the file does not exist
+     */
+    private static byte[] readOptional(Path directory, String fileName) {
+        try {
+            if (directory != null) {
+                Path path = directory.resolve(fileName);
+                return Files.exists(path) ? Files.readAllBytes(path) : null;
+            }
+            ClassPathResource resource = new ClassPathResource(CLASSPATH_RULES + fileName);
+            if (!resource.exists()) {
+                return null;
+            }
+            try (InputStream inputStream = resource.getInputStream()) {
+                return inputStream.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read rule file " + fileName, e);
+        }
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static final class RuleFile {
+        
+        private final String ruleName;
+        private final String fileName;
+        private final String thresholdKey;
+        
+        private RuleFile(String ruleName, String fileName, String thresholdKey) {
+            this.ruleName = ruleName;
+            this.fileName = fileName;
+            this.thresholdKey = thresholdKey;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.decisionservicemaster.service.rule.expression;
+
+/**
+ * Parsed rule expression; built by ExpressionParser, evaluated by ExpressionCompiler's output
+ * Numeric nodes yield a double, condition nodes (comparisons and logic) yield a boolean
+ */
+public sealed interface Expression {
+    
+    /**
+     * True if the node yields a boolean rather than a number
+     */
+    boolean isCondition();
+    
+    record Constant(double value) implements Expression {
+        @Override
+        public boolean isCondition() {
+            return false;
+        }
+    }
+    
+    record Variable(RuleVariable variable) implements Expression {
+        @Override
+        public boolean isCondition() {
+            return false;
+        }
+    }
+    
+    record Negate(Expression operand) implements Expression {
+        @Override
+        public boolean isCondition() {
+            return false;
+        }
+    }
+    
+    record Not(Expression operand) implements Expression {
+        @Override
+        public boolean isCondition() {
+            return true;
+        }
+    }
+    
+    record Binary(Operator operator, Expression left, Expression right) implements Expression {
+        @Override
+        public boolean isCondition() {
+            return operator.kind() != Operator.Kind.ARITHMETIC;
+        }
+    }
+    
+    enum Operator {
+        
+        ADD("+", Kind.ARITHMETIC),
+        SUBTRACT("-", Kind.ARITHMETIC),
+        MULTIPLY("*", Kind.ARITHMETIC),
+        DIVIDE("/", Kind.ARITHMETIC),
+        LESS("<", Kind.COMPARISON),
+        LESS_OR_EQUAL("<=", Kind.COMPARISON),
+        GREATER(">", Kind.COMPARISON),
+        GREATER_OR_EQUAL(">=", Kind.COMPARISON),
+        EQUAL("==", Kind.COMPARISON),
+        NOT_EQUAL("!=", Kind.COMPARISON),
+        AND("and", Kind.LOGICAL),
+        OR("or", Kind.LOGICAL);
+        
+        enum Kind {
+            ARITHMETIC, COMPARISON, LOGICAL
+        }
+        
+        private final String symbol;
+        private final Kind kind;
+        
+        Operator(String symbol, Kind kind) {
+            this.symbol = symbol;
+            this.kind = kind;
+        }
+        
+        public String symbol() {
+            return symbol;
+        }
+        
+        Kind kind() {
+            return kind;
+        }
+    }
+}
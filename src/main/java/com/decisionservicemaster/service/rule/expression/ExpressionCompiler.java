@@ -0,0 +1,173 @@
+package com.decisionservicemaster.service.rule.expression;
+
+import com.decisionservicemaster.service.rule.expression.Expression.Operator;
+
+/**
+ * Compiles a parsed condition into a tree of specialized evaluator nodes
+ *
+ * Every operator, and every operator with a constant operand, gets its own node class, and
+ * constant subtrees are folded; the compiled tree does no dispatch on node or operator type
+ * and reads variables as primitives, so the JIT can inline it like a hand-written rule.
+ * Semantics match ExpressionInterpreter.
+ */
+public final class ExpressionCompiler {
+    
+    /**
+     * A compiled condition; stateless and safe to share between threads
+     */
+    @FunctionalInterface
+    public interface CompiledCondition {
+        boolean test(RuleInputs inputs);
+    }
+    
+    @FunctionalInterface
+    interface NumberNode {
+        double eval(RuleInputs inputs);
+    }
+    
+    private ExpressionCompiler() {
+    }
+    
+    public static CompiledCondition compile(Expression condition) {
+        return switch (condition) {
+            case Expression.Not not -> negate(compile(not.operand()));
+            case Expression.Binary binary when binary.operator() == Operator.AND -> and(
+                compile(binary.left()), compile(binary.right()));
+            case Expression.Binary binary when binary.operator() == Operator.OR -> or(
+                compile(binary.left()), compile(binary.right()));
+            case Expression.Binary binary -> comparison(binary.operator(), binary.left(), binary.right());
+            default -> throw new IllegalArgumentException("Not a condition: " + condition);
+        };
+    }
+    
+    private static CompiledCondition negate(CompiledCondition operand) {
+        return inputs -> !operand.test(inputs);
+    }
+    
+    private static CompiledCondition and(CompiledCondition left, CompiledCondition right) {
+        return inputs -> left.test(inputs) && right.test(inputs);
+    }
+    
+    private static CompiledCondition or(CompiledCondition left, CompiledCondition right) {
+        return inputs -> left.test(inputs) || right.test(inputs);
+    }
+    
+    private static CompiledCondition comparison(Operator operator, Expression leftExpression, Expression rightExpression) {
+        Expression leftFolded = fold(leftExpression);
+        Expression rightFolded = fold(rightExpression);
+        if (leftFolded instanceof Expression.Constant leftConstant
+                && rightFolded instanceof Expression.Constant rightConstant) {
+            boolean result = ExpressionInterpreter.compare(operator, leftConstant.value(), rightConstant.value());
+            return inputs -> result;
+        }
+        
+        NumberNode left = number(leftFolded);
+        if (rightFolded instanceof Expression.Constant constant) {
+            double c = constant.value();
+            return switch (operator) {
+                case LESS -> inputs -> left.eval(inputs) < c;
+                case LESS_OR_EQUAL -> inputs -> left.eval(inputs) <= c;
+                case GREATER -> inputs -> left.eval(inputs) > c;
+                case GREATER_OR_EQUAL -> inputs -> left.eval(inputs) >= c;
+                case EQUAL -> inputs -> left.eval(inputs) == c;
+                case NOT_EQUAL -> inputs -> {
+                    double value = left.eval(inputs);
+                    return value < c || value > c;
+                };
+                default -> throw new IllegalArgumentException("Not a comparison: " + operator);
+            };
+        }
+        
+        NumberNode right = number(rightFolded);
+        return switch (operator) {
+            case LESS -> inputs -> left.eval(inputs) < right.eval(inputs);
+            case LESS_OR_EQUAL -> inputs -> left.eval(inputs) <= right.eval(inputs);
+            case GREATER -> inputs -> left.eval(inputs) > right.eval(inputs);
+            case GREATER_OR_EQUAL -> inputs -> left.eval(inputs) >= right.eval(inputs);
+            case EQUAL -> inputs -> left.eval(inputs) == right.eval(inputs);
+            case NOT_EQUAL -> inputs -> {
+                double leftValue = left.eval(inputs);
+                double rightValue = right.eval(inputs);
+                return leftValue < rightValue || leftValue > rightValue;
+            };
+            default -> throw new IllegalArgumentException("Not a comparison: " + operator);
+        };
+    }
+    
+    /**
+     * Compiles a folded numeric expression
+     */
+    static NumberNode number(Expression expression) {
+        return switch (expression) {
+            case Expression.Constant constant -> {
+                double c = constant.value();
+                yield inputs -> c;
+            }
+            case Expression.Variable variable -> variable(variable.variable());
+            case Expression.Negate negate -> {
+                NumberNode operand = number(negate.operand());
+                yield inputs -> -operand.eval(inputs);
+            }
+            case Expression.Binary binary -> arithmetic(binary.operator(), binary.left(), binary.right());
+            case Expression.Not not -> throw new IllegalArgumentException("Not a number: " + not);
+        };
+    }
+    
+    private static NumberNode variable(RuleVariable variable) {
+        return switch (variable) {
+            case CREDIT_SCORE -> RuleInputs::creditScore;
+            case PENDING_MORTGAGE -> RuleInputs::pendingMortgage;
+            case TOTAL_MORTGAGE -> RuleInputs::totalMortgage;
+            case INCOME -> RuleInputs::income;
+            case REQUESTED_LOAN_AMOUNT -> RuleInputs::requestedLoanAmount;
+            case THRESHOLD -> RuleInputs::ruleThreshold;
+        };
+    }
+    
+    private static NumberNode arithmetic(Operator operator, Expression leftExpression, Expression rightExpression) {
+        NumberNode left = number(leftExpression);
+        if (rightExpression instanceof Expression.Constant constant) {
+            double c = constant.value();
+            return switch (operator) {
+                case ADD -> inputs -> left.eval(inputs) + c;
+                case SUBTRACT -> inputs -> left.eval(inputs) - c;
+                case MULTIPLY -> inputs -> left.eval(inputs) * c;
+                case DIVIDE -> inputs -> left.eval(inputs) / c;
+                default -> throw new IllegalArgumentException("Not an arithmetic operator: " + operator);
+            };
+        }
+        
+        NumberNode right = number(rightExpression);
+        return switch (operator) {
+            case ADD -> inputs -> left.eval(inputs) + right.eval(inputs);
+            case SUBTRACT -> inputs -> left.eval(inputs) - right.eval(inputs);
+            case MULTIPLY -> inputs -> left.eval(inputs) * right.eval(inputs);
+            case DIVIDE -> inputs -> left.eval(inputs) / right.eval(inputs);
+            default -> throw new IllegalArgumentException("Not an arithmetic operator: " + operator);
+        };
+    }
+    
+    /**
+     * Replaces numeric subtrees without variables by their value
+     */
+    static Expression fold(Expression expression) {
+        return switch (expression) {
+            case Expression.Negate negate -> {
+                Expression operand = fold(negate.operand());
+                yield operand instanceof Expression.Constant constant
+                    ? new Expression.Constant(-constant.value())
+                    : new Expression.Negate(operand);
+            }
+            case Expression.Binary binary when !binary.isCondition() -> {
+                Expression left = fold(binary.left());
+                Expression right = fold(binary.right());
+                if (left instanceof Expression.Constant && right instanceof Expression.Constant) {
+                    yield new Expression.Constant(ExpressionInterpreter.value(
+                        new Expression.Binary(binary.operator(), left, right), null));
+                }
+                yield new Expression.Binary(binary.operator(), left, right);
+            }
+            default -> expression;
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.decisionservicemaster.service.rule.expression;
+
+/**
+ * Reference evaluator that walks the parsed tree on every call
+ * Not used on the decision path (see ExpressionCompiler); it defines the semantics the
+ * compiled conditions must match and is the baseline in ExpressionRuleBenchmark
+ */
+public final class ExpressionInterpreter {
+    
+    private ExpressionInterpreter() {
+    }
+    
+    public static boolean test(Expression condition, RuleInputs inputs) {
+        return switch (condition) {
+            case Expression.Not not -> !test(not.operand(), inputs);
+            case Expression.Binary binary -> switch (binary.operator()) {
+                case AND -> test(binary.left(), inputs) && test(binary.right(), inputs);
+                case OR -> test(binary.left(), inputs) || test(binary.right(), inputs);
+                default -> compare(binary.operator(), value(binary.left(), inputs), value(binary.right(), inputs));
+            };
+            default -> throw new IllegalArgumentException("Not a condition: " + condition);
+        };
+    }
+    
+    public static double value(Expression expression, RuleInputs inputs) {
+        return switch (expression) {
+            case Expression.Constant constant -> constant.value();
+            case Expression.Variable variable -> variable.variable().read(inputs);
+            case Expression.Negate negate -> -value(negate.operand(), inputs);
+            case Expression.Binary binary -> arithmetic(binary.operator(),
+                                                        value(binary.left(), inputs), value(binary.right(), inputs));
+            case Expression.Not not -> throw new IllegalArgumentException("Not a number: " + not);
+        };
+    }
+    
+    private static double arithmetic(Expression.Operator operator, double left, double right) {
+        return switch (operator) {
+            case ADD -> left + right;
+            case SUBTRACT -> left - right;
+            case MULTIPLY -> left * right;
+            case DIVIDE -> left / right;
+            default -> throw new IllegalArgumentException("Not an arithmetic operator: " + operator);
+        };
+    }
+    
+    /**
+     * Any comparison with a missing (NaN) value is false, including "!="
+     */
+    static boolean compare(Expression.Operator operator, double left, double right) {
+        return switch (operator) {
+            case LESS -> left < right;
+            case LESS_OR_EQUAL -> left <= right;
+            case GREATER -> left > right;
+            case GREATER_OR_EQUAL -> left >= right;
+            case EQUAL -> left == right;
+            case NOT_EQUAL -> left < right || left > right;
+            default -> throw new IllegalArgumentException("Not a comparison: " + operator);
+        };
+    }
+}
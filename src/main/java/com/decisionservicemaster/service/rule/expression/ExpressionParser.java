@@ -0,0 +1,247 @@
+package com.decisionservicemaster.service.rule.expression;
+
+import com.decisionservicemaster.service.rule.expression.Expression.Operator;
+
+/**
+ * Recursive-descent parser for rule expressions such as
+ * "pending_mortgage <= income * mortgage_threshold and credit_score > 600"
+ *
+ * Grammar, lowest precedence first:
+ *   or         := and ("or" | "||") and ...
+ *   and        := not ("and" | "&&") not ...
+ *   not        := ("not" | "!") not | comparison
+ *   comparison := sum [("<" | "<=" | ">" | ">=" | "==" | "!=") sum]
+ *   sum        := product ("+" | "-") product ...
+ *   product    := unary ("*" | "/") unary ...
+ *   unary      := "-" unary | number | identifier | "(" or ")"
+ */
+public final class ExpressionParser {
+    
+    private final String source;
+    private final String thresholdKey;
+    private int position;
+    
+    private ExpressionParser(String source, String thresholdKey) {
+        this.source = source;
+        this.thresholdKey = thresholdKey;
+    }
+    
+    /**
+     * Parses a condition
+     *
+     * @param source Expression text
+     * @param thresholdKey Identifier that refers to the rule's configured threshold
+     * @throws IllegalArgumentException if the text is not a well-typed condition
+     */
+    public static Expression parse(String source, String thresholdKey) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression is empty");
+        }
+        ExpressionParser parser = new ExpressionParser(source, thresholdKey);
+        Expression expression = parser.parseOr();
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.position) + "'");
+        }
+        if (!expression.isCondition()) {
+            throw new IllegalArgumentException("Expression must be a condition, not a number: " + source);
+        }
+        return expression;
+    }
+    
+    private Expression parseOr() {
+        Expression left = parseAnd();
+        while (accept("or") || accept("||")) {
+            left = logical(Operator.OR, left, parseAnd());
+        }
+        return left;
+    }
+    
+    private Expression parseAnd() {
+        Expression left = parseNot();
+        while (accept("and") || accept("&&")) {
+            left = logical(Operator.AND, left, parseNot());
+        }
+        return left;
+    }
+    
+    private Expression parseNot() {
+        int start = position;
+        if (accept("not") || (peek('!') && !peekAt(1, '=') && accept("!"))) {
+            Expression operand = parseNot();
+            if (!operand.isCondition()) {
+                throw errorAt(start, "'not' needs a condition");
+            }
+            return new Expression.Not(operand);
+        }
+        return parseComparison();
+    }
+    
+    private Expression parseComparison() {
+        Expression left = parseSum();
+        Operator operator = acceptComparison();
+        if (operator == null) {
+            return left;
+        }
+        int start = position;
+        Expression right = parseSum();
+        if (left.isCondition() || right.isCondition()) {
+            throw errorAt(start, "'" + operator.symbol() + "' compares numbers, not conditions");
+        }
+        return new Expression.Binary(operator, left, right);
+    }
+    
+    private Expression parseSum() {
+        Expression left = parseProduct();
+        while (true) {
+            if (accept("+")) {
+                left = arithmetic(Operator.ADD, left, parseProduct());
+            } else if (accept("-")) {
+                left = arithmetic(Operator.SUBTRACT, left, parseProduct());
+            } else {
+                return left;
+            }
+        }
+    }
+    
+    private Expression parseProduct() {
+        Expression left = parseUnary();
+        while (true) {
+            if (accept("*")) {
+                left = arithmetic(Operator.MULTIPLY, left, parseUnary());
+            } else if (accept("/")) {
+                left = arithmetic(Operator.DIVIDE, left, parseUnary());
+            } else {
+                return left;
+            }
+        }
+    }
+    
+    private Expression parseUnary() {
+        skipWhitespace();
+        int start = position;
+        if (accept("-")) {
+            Expression operand = parseUnary();
+            if (operand.isCondition()) {
+                throw errorAt(start, "'-' needs a number");
+            }
+            return new Expression.Negate(operand);
+        }
+        if (accept("(")) {
+            Expression inner = parseOr();
+            if (!accept(")")) {
+                throw error("Expected ')'");
+            }
+            return inner;
+        }
+        if (position < source.length() && isNumberStart(source.charAt(position))) {
+            return parseNumber();
+        }
+        if (position < source.length() && isIdentifierStart(source.charAt(position))) {
+            return parseIdentifier();
+        }
+        throw error(position < source.length() ? "Unexpected '" + source.charAt(position) + "'" : "Unexpected end");
+    }
+    
+    private Expression parseNumber() {
+        int start = position;
+        while (position < source.length() && isNumberStart(source.charAt(position))) {
+            position++;
+        }
+        try {
+            return new Expression.Constant(Double.parseDouble(source.substring(start, position)));
+        } catch (NumberFormatException e) {
+            throw errorAt(start, "Invalid number '" + source.substring(start, position) + "'");
+        }
+    }
+    
+    private Expression parseIdentifier() {
+        int start = position;
+        while (position < source.length() && isIdentifierPart(source.charAt(position))) {
+            position++;
+        }
+        String identifier = source.substring(start, position);
+        RuleVariable variable = RuleVariable.of(identifier, thresholdKey);
+        if (variable == null) {
+            throw errorAt(start, "Unknown variable '" + identifier + "'");
+        }
+        return new Expression.Variable(variable);
+    }
+    
+    private Expression logical(Operator operator, Expression left, Expression right) {
+        if (!left.isCondition() || !right.isCondition()) {
+            throw error("'" + operator.symbol() + "' needs conditions on both sides");
+        }
+        return new Expression.Binary(operator, left, right);
+    }
+    
+    private Expression arithmetic(Operator operator, Expression left, Expression right) {
+        if (left.isCondition() || right.isCondition()) {
+            throw error("'" + operator.symbol() + "' needs numbers on both sides");
+        }
+        return new Expression.Binary(operator, left, right);
+    }
+    
+    private Operator acceptComparison() {
+        // Two-character operators first, so "<=" is not read as "<"
+        for (Operator operator : new Operator[] {Operator.LESS_OR_EQUAL, Operator.GREATER_OR_EQUAL,
+                                                 Operator.EQUAL, Operator.NOT_EQUAL,
+                                                 Operator.LESS, Operator.GREATER}) {
+            if (accept(operator.symbol())) {
+                return operator;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Consumes the token if it comes next; word tokens must not run into an identifier
+     */
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (!source.startsWith(token, position)) {
+            return false;
+        }
+        int end = position + token.length();
+        if (isIdentifierStart(token.charAt(0)) && end < source.length() && isIdentifierPart(source.charAt(end))) {
+            return false;
+        }
+        position = end;
+        return true;
+    }
+    
+    private boolean peek(char c) {
+        skipWhitespace();
+        return position < source.length() && source.charAt(position) == c;
+    }
+    
+    private boolean peekAt(int offset, char c) {
+        return position + offset < source.length() && source.charAt(position + offset) == c;
+    }
+    
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+    
+    private static boolean isNumberStart(char c) {
+        return (c >= '0' && c <= '9') || c == '.';
+    }
+    
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+    
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || (c >= '0' && c <= '9');
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return errorAt(position, message);
+    }
+    
+    private IllegalArgumentException errorAt(int at, String message) {
+        return new IllegalArgumentException(message + " at position " + at + " in: " + source);
+    }
+}
@@ -0,0 +1,103 @@
+package com.decisionservicemaster.service.rule.expression;
+
+import com.decisionservicemaster.domain.entity.Applicant;
+import com.decisionservicemaster.domain.entity.CreditReport;
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.domain.entity.MortgageReport;
+import com.decisionservicemaster.service.report.ReportContext;
+import com.decisionservicemaster.service.rule.BaseRule;
+import com.decisionservicemaster.service.rule.RuleOutcome;
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+
+import java.util.List;
+
+/**
+ * Rule declared in expression-rules.yml: eligible when its compiled condition holds
+ * Unavailable when a report the condition reads is missing; a missing field makes
+ * every comparison on it false, so such a request declines like with the hand-written rules
+ */
+public class ExpressionRule extends BaseRule implements RuleInputs {
+    
+    private final ExpressionRuleDefinition definition;
+    
+    // Bound by outcome() before the condition runs, so each report is looked up once
+    private CreditReport creditReport;
+    private MortgageReport mortgageReport;
+    private Applicant applicant;
+    
+    public ExpressionRule(String ruleName, DecisionRequest decisionRequest, ReportContext reportContext,
+                          RuleSnapshot ruleSnapshot) {
+        super(decisionRequest, reportContext, ruleSnapshot, ruleName);
+        this.definition = ruleSnapshot.getExpressionRule(ruleName);
+        if (definition == null) {
+            throw new IllegalArgumentException("Unknown rule: " + ruleName);
+        }
+    }
+    
+    @Override
+    public List<String> getReportsRequired() {
+        return definition.reportsRequired();
+    }
+    
+    @Override
+    public RuleOutcome outcome() {
+        List<String> reportsRequired = definition.reportsRequired();
+        for (int i = 0; i < reportsRequired.size(); i++) {
+            Object report = reportContext.get(reportsRequired.get(i));
+            if (report == null) {
+                return RuleOutcome.UNAVAILABLE;
+            }
+            if (report instanceof CreditReport credit) {
+                creditReport = credit;
+            } else if (report instanceof MortgageReport mortgage) {
+                mortgageReport = mortgage;
+            }
+        }
+        applicant = decisionRequest.getPrimaryApplicant();
+        return definition.condition().test(this) ? RuleOutcome.ELIGIBLE : RuleOutcome.DECLINE;
+    }
+    
+    @Override
+    public double creditScore() {
+        return valueOf(creditReport != null ? creditReport.getCreditScore() : null);
+    }
+    
+    @Override
+    public double pendingMortgage() {
+        return valueOf(mortgageReport != null ? mortgageReport.getPendingMortgage() : null);
+    }
+    
+    @Override
+    public double totalMortgage() {
+        return valueOf(mortgageReport != null ? mortgageReport.getTotalMortgage() : null);
+    }
+    
+    @Override
+    public double income() {
+        return valueOf(applicant != null ? applicant.getIncome() : null);
+    }
+    
+    @Override
+    public double requestedLoanAmount() {
+        return valueOf(applicant != null ? applicant.getRequestedLoanAmount() : null);
+    }
+    
+    @Override
+    public double ruleThreshold() {
+        return threshold();
+    }
+    
+    private static double valueOf(Number value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+    
+    @Override
+    public String getRuleName() {
+        return definition.ruleName();
+    }
+    
+    @Override
+    protected String getMessage() {
+        return definition.message();
+    }
+}
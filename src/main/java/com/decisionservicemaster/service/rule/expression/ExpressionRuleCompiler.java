@@ -0,0 +1,144 @@
+package com.decisionservicemaster.service.rule.expression;
+
+import com.decisionservicemaster.service.rule.RuleIndex;
+import com.decisionservicemaster.service.rule.RuleIndexCompiler;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles expression-rules.yml into rule definitions and their state/county indexes
+ * Runs once per rule snapshot, so expressions are never parsed on the decision path
+ */
+public final class ExpressionRuleCompiler {
+    
+    private static final String MESSAGE_KEY = "message";
+    private static final String CONDITION_KEY = "eligible_when";
+    private static final String THRESHOLD_KEY = "threshold_key";
+    private static final String STATES_KEY = "states";
+    private static final String DEPENDS_ON_KEY = "depends_on";
+    private static final String DEFAULT_THRESHOLD_KEY = "threshold";
+    
+    /**
+     * @param definitions Rules in file order
+     * @param indexes State/county config per rule, keyed by rule name
+     */
+    public record CompiledRules(Map<String, ExpressionRuleDefinition> definitions, Map<String, RuleIndex> indexes) {
+    }
+    
+    private ExpressionRuleCompiler() {
+    }
+    
+    /**
+     * Parses and compiles an expression rule file
+     *
+     * @param inputStream YAML content keyed by rule name; an empty file declares no rules
+     */
+    public static CompiledRules compile(InputStream inputStream) {
+        Map<String, Object> allRules = new Yaml().load(inputStream);
+        Map<String, ExpressionRuleDefinition> definitions = new LinkedHashMap<>();
+        Map<String, RuleIndex> indexes = new LinkedHashMap<>();
+        
+        if (allRules != null) {
+            allRules.forEach((ruleName, value) -> {
+                Map<String, Object> ruleConfig = asMap(ruleName, ruleName, value);
+                String thresholdKey = readString(ruleName, ruleConfig, THRESHOLD_KEY, DEFAULT_THRESHOLD_KEY);
+                definitions.put(ruleName, define(ruleName, ruleConfig, thresholdKey));
+                indexes.put(ruleName, RuleIndexCompiler.compile(
+                    ruleName, asMap(ruleName, STATES_KEY, ruleConfig.get(STATES_KEY)), thresholdKey));
+            });
+        }
+        
+        return new CompiledRules(definitions, indexes);
+    }
+    
+    private static ExpressionRuleDefinition define(String ruleName, Map<String, Object> ruleConfig, String thresholdKey) {
+        String source = readString(ruleName, ruleConfig, CONDITION_KEY, null);
+        if (source == null) {
+            throw new IllegalStateException("Invalid " + ruleName + " config: " + CONDITION_KEY + " is required");
+        }
+        
+        Expression expression;
+        try {
+            expression = ExpressionParser.parse(source, thresholdKey);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + CONDITION_KEY + ": " + e.getMessage(), e);
+        }
+        
+        return new ExpressionRuleDefinition(
+            ruleName,
+            readString(ruleName, ruleConfig, MESSAGE_KEY, ""),
+            source,
+            expression,
+            ExpressionCompiler.compile(expression),
+            reportsRequired(expression),
+            readStrings(ruleName, ruleConfig, DEPENDS_ON_KEY)
+        );
+    }
+    
+    private static List<String> reportsRequired(Expression expression) {
+        Set<String> reportTypes = new LinkedHashSet<>();
+        collectReports(expression, reportTypes);
+        return List.copyOf(reportTypes);
+    }
+    
+    private static void collectReports(Expression expression, Set<String> reportTypes) {
+        switch (expression) {
+            case Expression.Variable variable -> {
+                if (variable.variable().reportType() != null) {
+                    reportTypes.add(variable.variable().reportType());
+                }
+            }
+            case Expression.Negate negate -> collectReports(negate.operand(), reportTypes);
+            case Expression.Not not -> collectReports(not.operand(), reportTypes);
+            case Expression.Binary binary -> {
+                collectReports(binary.left(), reportTypes);
+                collectReports(binary.right(), reportTypes);
+            }
+            case Expression.Constant constant -> {
+            }
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(String ruleName, String path, Object value) {
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map)) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + path + ": expected a mapping but got " + value);
+        }
+        return (Map<String, Object>) value;
+    }
+    
+    private static List<String> readStrings(String ruleName, Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> values) || !values.stream().allMatch(String.class::isInstance)) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + key + ": expected a list of rule names but got " + value);
+        }
+        return values.stream().map(String.class::cast).toList();
+    }
+    
+    private static String readString(String ruleName, Map<String, Object> config, String key, String defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof String)) {
+            throw new IllegalStateException(
+                "Invalid " + ruleName + " config at " + key + ": expected a string but got " + value);
+        }
+        return (String) value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.decisionservicemaster.service.rule.expression;
+
+import java.util.List;
+
+/**
+ * A rule declared in expression-rules.yml, parsed and compiled once per rule snapshot
+ *
+ * @param ruleName Name stored on its decisions
+ * @param message Decision message
+ * @param source The eligible_when expression as written
+ * @param expression Parsed expression
+ * @param condition Compiled expression; true means eligible
+ * @param reportsRequired Report types read by the expression, in first-use order
+ * @param dependsOn Rules that must be evaluated before this one
+ */
+public record ExpressionRuleDefinition(
+        String ruleName,
+        String message,
+        String source,
+        Expression expression,
+        ExpressionCompiler.CompiledCondition condition,
+        List<String> reportsRequired,
+        List<String> dependsOn) {
+}
@@ -0,0 +1,23 @@
+package com.decisionservicemaster.service.rule.expression;
+
+/**
+ * Values an expression rule can read, as primitives
+ * Each method returns NaN when the value is missing (no report field, no applicant, ...)
+ */
+public interface RuleInputs {
+    
+    double creditScore();
+    
+    double pendingMortgage();
+    
+    double totalMortgage();
+    
+    double income();
+    
+    double requestedLoanAmount();
+    
+    /**
+     * Threshold configured for the address state/county, or 0 if none is configured
+     */
+    double ruleThreshold();
+}
@@ -0,0 +1,89 @@
+package com.decisionservicemaster.service.rule.expression;
+
+/**
+ * Names an expression can refer to, with the report each one needs
+ * THRESHOLD is referred to by the rule's threshold_key rather than by a fixed name
+ */
+public enum RuleVariable {
+    
+    CREDIT_SCORE("credit_score", "Credit") {
+        @Override
+        public double read(RuleInputs inputs) {
+            return inputs.creditScore();
+        }
+    },
+    PENDING_MORTGAGE("pending_mortgage", "Mortgage") {
+        @Override
+        public double read(RuleInputs inputs) {
+            return inputs.pendingMortgage();
+        }
+    },
+    TOTAL_MORTGAGE("total_mortgage", "Mortgage") {
+        @Override
+        public double read(RuleInputs inputs) {
+            return inputs.totalMortgage();
+        }
+    },
+    INCOME("income", null) {
+        @Override
+        public double read(RuleInputs inputs) {
+            return inputs.income();
+        }
+    },
+    REQUESTED_LOAN_AMOUNT("requested_loan_amount", null) {
+        @Override
+        public double read(RuleInputs inputs) {
+            return inputs.requestedLoanAmount();
+        }
+    },
+    THRESHOLD(null, null) {
+        @Override
+        public double read(RuleInputs inputs) {
+            return inputs.ruleThreshold();
+        }
+    };
+    
+    private final String identifier;
+    private final String reportType;
+    
+    RuleVariable(String identifier, String reportType) {
+        this.identifier = identifier;
+        this.reportType = reportType;
+    }
+    
+    /**
+     * Reads the variable's value, or NaN if it is missing
+     */
+    public abstract double read(RuleInputs inputs);
+    
+    /**
+     * Name used in expressions; null for THRESHOLD
+     */
+    public String identifier() {
+        return identifier;
+    }
+    
+    /**
+     * Report type that must be fetched to read the variable, or null for applicant and config values
+     */
+    public String reportType() {
+        return reportType;
+    }
+    
+    /**
+     * Resolves an identifier, or returns null if no variable has that name
+     *
+     * @param thresholdKey Name the rule uses for its configured threshold
+     */
+    public static RuleVariable of(String identifier, String thresholdKey) {
+        if (identifier.equals(thresholdKey)) {
+            return THRESHOLD;
+        }
+        for (RuleVariable variable : values()) {
+            if (identifier.equals(variable.identifier)) {
+                return variable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+-- Index for decision lookups by application ID (PostgreSQL)
+--
+-- GET /api/v1/decisions/{applicationId} reads an application's requests by application_id.
+-- Run once against an existing database; schemas created by Hibernate already have it.
+
+CREATE INDEX IF NOT EXISTS idx_decision_requests_application_id ON decision_requests (application_id);
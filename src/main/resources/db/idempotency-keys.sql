@@ -0,0 +1,17 @@
+-- Idempotency key table for POST /api/v1/decisions (PostgreSQL)
+--
+-- Holds the first response of each Idempotency-Key or applicationId with a hash of its request
+-- body. The unique constraint makes concurrent instances agree on a single result per key. Run
+-- once against an existing database before deploying; schemas created by Hibernate already have it.
+
+CREATE SEQUENCE IF NOT EXISTS idempotency_keys_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGINT PRIMARY KEY,
+    idempotency_key VARCHAR(300) NOT NULL,
+    application_id INTEGER,
+    request_hash VARCHAR(64) NOT NULL,
+    response VARCHAR(10000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_idempotency_keys_idempotency_key UNIQUE (idempotency_key)
+);
@@ -0,0 +1,20 @@
+-- Pooled id sequences for the decision aggregate (PostgreSQL)
+--
+-- Entities take ids from these sequences in blocks of 50 (allocationSize = 50) instead of
+-- IDENTITY columns, which lets Hibernate batch the inserts for a decision. Run once against
+-- an existing database before deploying; schemas created by Hibernate already have them.
+-- Each sequence is positioned so the first block starts after the table's current max id.
+
+CREATE SEQUENCE IF NOT EXISTS decision_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS applicants_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS addresses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS decisions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS credit_reports_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS mortgage_reports_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('decision_requests_seq', COALESCE((SELECT MAX(id) FROM decision_requests), 0) + 50, false);
+SELECT setval('applicants_seq', COALESCE((SELECT MAX(id) FROM applicants), 0) + 50, false);
+SELECT setval('addresses_seq', COALESCE((SELECT MAX(id) FROM addresses), 0) + 50, false);
+SELECT setval('decisions_seq', COALESCE((SELECT MAX(id) FROM decisions), 0) + 50, false);
+SELECT setval('credit_reports_seq', COALESCE((SELECT MAX(id) FROM credit_reports), 0) + 50, false);
+SELECT setval('mortgage_reports_seq', COALESCE((SELECT MAX(id) FROM mortgage_reports), 0) + 50, false);
@@ -0,0 +1,6 @@
+-- Rule snapshot version on each decision (PostgreSQL)
+--
+-- Every decision records the digest of the rule snapshot that produced it. Run once against an
+-- existing database before deploying; schemas created by Hibernate already have the column.
+
+ALTER TABLE decisions ADD COLUMN IF NOT EXISTS rule_snapshot_version varchar(255);
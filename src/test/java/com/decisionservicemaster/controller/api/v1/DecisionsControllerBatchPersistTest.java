@@ -0,0 +1,109 @@
+package com.decisionservicemaster.controller.api.v1;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs without a test transaction, so each persist chunk really commits or rolls back
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DecisionsControllerBatchPersistTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DecisionRequestRepository decisionRequestRepository;
+
+    private Map<String, Object> requestData(int applicationId) {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", "212 encounter bay");
+        address.put("unitNumber", "123");
+        address.put("city", "test_city");
+        address.put("zip", "321");
+        address.put("state", "California");
+        address.put("county", "Alameda");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("applicationId", applicationId);
+        request.put("firstName", "john");
+        request.put("lastName", "doe");
+        request.put("ssn", "123456789");
+        request.put("income", 10000);
+        request.put("incomeType", "salary");
+        request.put("requestedLoanAmount", 20000);
+        request.put("address", address);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> address(Map<String, Object> request) {
+        return (Map<String, Object>) request.get("address");
+    }
+
+    @Test
+    void testIncompleteItemIsInvalidAndRestOfChunkIsSaved() throws Exception {
+        Map<String, Object> incomplete = requestData(6102);
+        address(incomplete).remove("city");
+        incomplete.remove("income");
+
+        mockMvc.perform(post("/api/v1/decisions/batch")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(requestData(6101), incomplete, requestData(6103)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.results[1].status").value("invalid"))
+                .andExpect(jsonPath("$.results[1].errors[0]").value("address.city is required"))
+                .andExpect(jsonPath("$.results[1].errors[1]").value("income is required"));
+
+        assertTrue(decisionRequestRepository.findByApplicationId(6101).isPresent());
+        assertFalse(decisionRequestRepository.findByApplicationId(6102).isPresent());
+        assertTrue(decisionRequestRepository.findByApplicationId(6103).isPresent());
+    }
+
+    @Test
+    void testItemFailingToPersistDoesNotFailRestOfChunk() throws Exception {
+        // Passes validation but exceeds the zip column, so the chunk's insert fails
+        Map<String, Object> unsaveable = requestData(6105);
+        address(unsaveable).put("zip", "9".repeat(300));
+
+        mockMvc.perform(post("/api/v1/decisions/batch")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(requestData(6104), unsaveable, requestData(6106)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("processed"))
+                .andExpect(jsonPath("$.results[1].status").value("error"))
+                .andExpect(jsonPath("$.results[2].status").value("processed"))
+                .andExpect(jsonPath("$.results[2].result.decision[1].decision").value("eligible"));
+
+        assertTrue(decisionRequestRepository.findByApplicationId(6104).isPresent());
+        assertFalse(decisionRequestRepository.findByApplicationId(6105).isPresent());
+        assertTrue(decisionRequestRepository.findByApplicationId(6106).isPresent());
+    }
+}
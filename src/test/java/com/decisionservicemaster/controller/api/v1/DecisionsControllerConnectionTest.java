@@ -0,0 +1,91 @@
+package com.decisionservicemaster.controller.api.v1;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Runs without a test transaction, so connection use is what production would see
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DecisionsControllerConnectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @MockitoSpyBean
+    private ReportServiceFactory reportServiceFactory;
+
+    private Map<String, Object> requestData() {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", "212 encounter bay");
+        address.put("unitNumber", "123");
+        address.put("city", "test_city");
+        address.put("zip", "321");
+        address.put("state", "California");
+        address.put("county", "Alameda");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("applicationId", 789);
+        request.put("firstName", "john");
+        request.put("lastName", "doe");
+        request.put("ssn", "123456789");
+        request.put("income", 10000);
+        request.put("incomeType", "salary");
+        request.put("requestedLoanAmount", 20000);
+        request.put("address", address);
+        return request;
+    }
+
+    @Test
+    void testReportsAreFetchedWithoutHoldingAConnection() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        AtomicInteger maxActiveConnections = new AtomicInteger();
+        doAnswer(invocation -> {
+            fetches.incrementAndGet();
+            maxActiveConnections.accumulateAndGet(dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max);
+            return invocation.callRealMethod();
+        }).when(reportServiceFactory).fetchReportAsync(anyString(), any());
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestData())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.application_id").value(789))
+                .andExpect(jsonPath("$.applicant.first_name").value("john"))
+                .andExpect(jsonPath("$.decision[1].decision").value("eligible"));
+
+        assertTrue(fetches.get() > 0);
+        assertEquals(0, maxActiveConnections.get());
+    }
+}
@@ -0,0 +1,228 @@
+package com.decisionservicemaster.controller.api.v1;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.decisionservicemaster.domain.entity.IdempotencyKey;
+import com.decisionservicemaster.dto.DecisionRequestResponse;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.decisionservicemaster.repository.IdempotencyKeyRepository;
+import com.decisionservicemaster.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "app.idempotency.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class DecisionsControllerIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DecisionRequestRepository decisionRequestRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // The recent-results cache outlives each test's rollback, so every test uses its own ids
+    private Map<String, Object> requestData(int applicationId) {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", "212 encounter bay");
+        address.put("unitNumber", "123");
+        address.put("city", "test_city");
+        address.put("zip", "321");
+        address.put("state", "California");
+        address.put("county", "Alameda");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("applicationId", applicationId);
+        request.put("firstName", "john");
+        request.put("lastName", "doe");
+        request.put("ssn", "123456789");
+        request.put("income", 10000);
+        request.put("incomeType", "salary");
+        request.put("requestedLoanAmount", 20000);
+        request.put("address", address);
+        return request;
+    }
+
+    private ResultActions submit(Map<String, Object> request, String idempotencyKey) throws Exception {
+        var builder = post("/api/v1/decisions")
+            .header("API-TOKEN", "test-token-12345")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return mockMvc.perform(builder);
+    }
+
+    @Test
+    void testRepeatedApplicationIdReturnsStoredDecision() throws Exception {
+        long before = decisionRequestRepository.count();
+
+        submit(requestData(9001), null)
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        submit(requestData(9001), null)
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.application_id").value(9001))
+            .andExpect(jsonPath("$.final_decision").value("eligible"));
+
+        assertEquals(before + 1, decisionRequestRepository.count());
+    }
+
+    @Test
+    void testIdempotencyKeyReusedWithDifferentBodyIsRejected() throws Exception {
+        submit(requestData(9002), "retry-9002").andExpect(status().isOk());
+        submit(requestData(9002), "retry-9002")
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        submit(requestData(9003), "retry-9002")
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message").value("Idempotency key already used with a different request"));
+
+        // The key takes precedence over applicationId, so a new key evaluates the same application again
+        submit(requestData(9002), "retry-9002-new")
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    void testKeyStoredEarlierIsNotReevaluated() throws Exception {
+        DecisionRequestResponse earlier = storedResponse(9004);
+        idempotencyKeyRepository.save(new IdempotencyKey("application:9004", 9004,
+            idempotencyService.requestHash(requestData(9004)), objectMapper.writeValueAsString(earlier)));
+        long before = decisionRequestRepository.count();
+
+        submit(requestData(9004), null)
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.final_decision").value("decline"))
+            .andExpect(jsonPath("$.decision[0].message").value("stored earlier"));
+
+        assertEquals(before, decisionRequestRepository.count());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testKeyStoredConcurrentlyByAnotherInstanceWins() throws Exception {
+        Map<String, Object> request = requestData(9007);
+        String requestHash = idempotencyService.requestHash(request);
+        String earlier = objectMapper.writeValueAsString(storedResponse(9007));
+
+        // The other instance commits the key after this one looked it up, so this insert violates the unique key
+        IdempotencyService.Result result = idempotencyService.submit("race-9007", 9007, request, () -> {
+            idempotencyKeyRepository.save(new IdempotencyKey("key:race-9007", 9007, requestHash, earlier));
+            DecisionRequestResponse evaluated = new DecisionRequestResponse();
+            evaluated.setFinalDecision("eligible");
+            return evaluated;
+        });
+
+        assertTrue(result.replayed());
+        assertEquals("decline", result.response().getFinalDecision());
+        assertEquals(requestHash, idempotencyKeyRepository.findByIdempotencyKey("key:race-9007")
+            .orElseThrow().getRequestHash());
+    }
+
+    private static DecisionRequestResponse storedResponse(int applicationId) {
+        DecisionRequestResponse response = new DecisionRequestResponse();
+        response.setApplicationId(applicationId);
+        response.setFinalDecision("decline");
+        response.setDecision(List.of(Map.of("rule_name", "mortgage_rule", "decision", "decline",
+            "message", "stored earlier")));
+        return response;
+    }
+
+    @Test
+    void testInvalidRequestIsNotRemembered() throws Exception {
+        Map<String, Object> invalid = requestData(9005);
+        invalid.remove("address");
+
+        submit(invalid, null).andExpect(status().isUnprocessableEntity());
+        submit(requestData(9005), null)
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    void testOverlongKeyIsRejectedBeforeEvaluation() throws Exception {
+        long before = decisionRequestRepository.count();
+
+        submit(requestData(9008), "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message").value("Idempotency key longer than 255 characters"));
+
+        assertEquals(before, decisionRequestRepository.count());
+        submit(requestData(9008), "k".repeat(IdempotencyService.MAX_KEY_LENGTH)).andExpect(status().isOk());
+    }
+
+    @Test
+    void testConcurrentDuplicatesShareOneEvaluation() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DecisionRequestResponse response = new DecisionRequestResponse();
+
+        CompletableFuture<IdempotencyService.Result> first = CompletableFuture.supplyAsync(() ->
+            idempotencyService.submit("concurrent-9006", 9006, requestData(9006), () -> {
+                evaluations.incrementAndGet();
+                evaluating.countDown();
+                await(release);
+                return response;
+            }));
+        assertTrue(evaluating.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyService.Result> second = CompletableFuture.supplyAsync(() ->
+            idempotencyService.submit("concurrent-9006", 9006, requestData(9006), () -> {
+                evaluations.incrementAndGet();
+                return new DecisionRequestResponse();
+            }));
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertSame(response, second.get(5, TimeUnit.SECONDS).response());
+        assertTrue(second.get().replayed());
+        assertEquals(1, evaluations.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
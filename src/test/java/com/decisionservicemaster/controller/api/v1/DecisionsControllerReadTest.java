@@ -0,0 +1,163 @@
+package com.decisionservicemaster.controller.api.v1;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.dto.DecisionRow;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class DecisionsControllerReadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DecisionRequestRepository decisionRequestRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // The read cache outlives each test's rollback, so every test uses its own ids
+    private void createDecision(int applicationId) throws Exception {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", "212 encounter bay");
+        address.put("unitNumber", "123");
+        address.put("city", "test_city");
+        address.put("zip", "321");
+        address.put("state", "California");
+        address.put("county", "Alameda");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("applicationId", applicationId);
+        request.put("firstName", "john");
+        request.put("lastName", "doe");
+        request.put("ssn", "123456789");
+        request.put("income", 10000);
+        request.put("incomeType", "salary");
+        request.put("requestedLoanAmount", 20000);
+        request.put("address", address);
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetReturnsStoredDecisionWithOneQuery() throws Exception {
+        createDecision(9101);
+        entityManager.flush();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/decisions/9101")
+                .header("API-TOKEN", "test-token-12345"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.application_id").value(9101))
+                .andExpect(jsonPath("$.address.street").value("212 encounter bay"))
+                .andExpect(jsonPath("$.applicant.first_name").value("john"))
+                // As stored once the rule decisions are flushed, not the two-phase create response
+                .andExpect(jsonPath("$.final_decision").value("decline"))
+                .andExpect(jsonPath("$.decision", hasSize(2)))
+                .andExpect(jsonPath("$.decision[0].rule_name").value("mortgage_rule"))
+                .andExpect(jsonPath("$.decision[1].rule_name").value("credit_rule"))
+                .andExpect(jsonPath("$.funding_options", hasSize(0)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        mockMvc.perform(get("/api/v1/decisions/9101")
+                .header("API-TOKEN", "test-token-12345"))
+                .andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetWithCurrentEtagReturnsNotModified() throws Exception {
+        createDecision(9102);
+
+        String etag = mockMvc.perform(get("/api/v1/decisions/9102")
+                .header("API-TOKEN", "test-token-12345"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/decisions/9102")
+                .header("API-TOKEN", "test-token-12345")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        mockMvc.perform(get("/api/v1/decisions/9102")
+                .header("API-TOKEN", "test-token-12345")
+                .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testOnlyNewestResubmissionIsRead() throws Exception {
+        createDecision(9103);
+        createDecision(9103);
+        entityManager.flush();
+        Long newest = decisionRequestRepository.findAll().stream()
+            .filter(request -> Integer.valueOf(9103).equals(request.getApplicationId()))
+            .map(DecisionRequest::getId)
+            .max(Long::compare)
+            .orElseThrow();
+
+        List<DecisionRow> rows = decisionRequestRepository.findNewestRowsByApplicationId(9103);
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.requestId().equals(newest)));
+    }
+
+    @Test
+    void testGetUnknownApplicationReturns404() throws Exception {
+        mockMvc.perform(get("/api/v1/decisions/9199")
+                .header("API-TOKEN", "test-token-12345"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Decision not found"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.decisionservicemaster.controller.api.v1;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.repository.DecisionRequestRepository;
+import com.decisionservicemaster.service.report.ReportServiceFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "app.processor.write-mode=single-write")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class DecisionsControllerSingleWriteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DecisionRequestRepository decisionRequestRepository;
+
+    @MockitoSpyBean
+    private ReportServiceFactory reportServiceFactory;
+
+    private Map<String, Object> requestData() {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", "212 encounter bay");
+        address.put("unitNumber", "123");
+        address.put("city", "test_city");
+        address.put("zip", "321");
+        address.put("state", "California");
+        address.put("county", "Alameda");
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("applicationId", 456);
+        request.put("firstName", "john");
+        request.put("lastName", "doe");
+        request.put("ssn", "123456789");
+        request.put("income", 10000);
+        request.put("incomeType", "salary");
+        request.put("requestedLoanAmount", 20000);
+        request.put("address", address);
+        return request;
+    }
+
+    @Test
+    void testCreatePersistsTheEvaluatedAggregateOnce() throws Exception {
+        long before = decisionRequestRepository.count();
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestData())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.application_id").value(456))
+                .andExpect(jsonPath("$.decision", hasSize(2)))
+                .andExpect(jsonPath("$.decision[0].rule_name").value("mortgage_rule"))
+                .andExpect(jsonPath("$.decision[0].decision").value("decline"))
+                .andExpect(jsonPath("$.decision[1].decision").value("eligible"))
+                // Computed from every rule decision when the aggregate is first persisted
+                .andExpect(jsonPath("$.final_decision").value("decline"));
+
+        assertEquals(before + 1, decisionRequestRepository.count());
+        DecisionRequest saved = decisionRequestRepository.findAll().stream()
+            .filter(request -> Integer.valueOf(456).equals(request.getApplicationId()))
+            .findFirst().orElseThrow();
+        assertEquals(2, saved.getDecisions().size());
+    }
+
+    @Test
+    void testCreateRejectsRequestWithoutAddress() throws Exception {
+        Map<String, Object> request = requestData();
+        request.remove("address");
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Request not valid"));
+    }
+
+    @Test
+    void testCreateRejectsRequestMissingRequiredApplicantField() throws Exception {
+        long before = decisionRequestRepository.count();
+        Map<String, Object> request = requestData();
+        request.remove("firstName");
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Request not valid"));
+
+        // Rejected before evaluation, so no report provider was called
+        verify(reportServiceFactory, never()).fetchReportAsync(anyString(), any());
+        assertEquals(before, decisionRequestRepository.count());
+    }
+}
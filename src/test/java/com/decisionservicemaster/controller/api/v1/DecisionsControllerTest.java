@@ -1,10 +1,15 @@
 package com.decisionservicemaster.controller.api.v1;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,10 +19,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -35,6 +45,9 @@ class DecisionsControllerTest {
     @Autowired
     private Environment env;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     public void testTokenIsConfigured() {
         String token = env.getProperty("api.token");
@@ -118,4 +131,119 @@ class DecisionsControllerTest {
                 .andExpect(jsonPath("$.funding_options[1].interest_rate").value(6))
                 .andExpect(jsonPath("$.funding_options[1].emi").value(60));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateRecordsStageTimersAndOutcomes() throws Exception {
+        double creditEligible = outcomeCount("credit_rule", "eligible");
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(getValidRequestData())))
+                .andExpect(status().isOk());
+
+        assertEquals(creditEligible + 1, outcomeCount("credit_rule", "eligible"));
+        assertTrue(meterRegistry.get("decision.rule.run").tag("rule", "credit_rule").timer().count() > 0);
+        assertTrue(meterRegistry.get("decision.report.fetch")
+            .tag("report_type", "Credit").tag("outcome", "found").timer().count() > 0);
+        assertTrue(meterRegistry.get("decision.request.build").timer().count() > 0);
+        assertTrue(meterRegistry.get("decision.response").timer().count() > 0);
+    }
+
+    private double outcomeCount(String rule, String decision) {
+        var counter = meterRegistry.find("decision.outcome")
+            .tag("rule", rule).tag("state", "California").tag("decision", decision).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private double otherStateFinalDecisions() {
+        return meterRegistry.find("decision.outcome").tag("rule", "final_decision").tag("state", "other")
+            .counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    @Test
+    void testOutcomesOfUnknownStateShareOneSeries() throws Exception {
+        double otherFinal = otherStateFinalDecisions();
+        Map<String, Object> request = getValidRequestData();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> address = (Map<String, Object>) request.get("address");
+        address.put("state", "Atlantis-" + System.nanoTime());
+
+        mockMvc.perform(post("/api/v1/decisions")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.find("decision.outcome").tag("state", (String) address.get("state")).counters().isEmpty());
+        assertEquals(otherFinal + 1, otherStateFinalDecisions());
+    }
+
+    @Test
+    void testCreateBatchReturnsResultsInInputOrder() throws Exception {
+        Map<String, Object> second = getValidRequestData();
+        second.put("applicationId", 124);
+
+        Map<String, Object> invalid = getValidRequestData();
+        invalid.put("applicationId", 125);
+        invalid.remove("ssn");
+
+        mockMvc.perform(post("/api/v1/decisions/batch")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(getValidRequestData(), invalid, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results", hasSize(3)))
+                .andExpect(jsonPath("$.results[0].application_id").value(123))
+                .andExpect(jsonPath("$.results[0].status").value("processed"))
+                .andExpect(jsonPath("$.results[0].result.decision", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].result.decision[0].rule_name").value("mortgage_rule"))
+                .andExpect(jsonPath("$.results[0].result.decision[1].decision").value("eligible"))
+                .andExpect(jsonPath("$.results[1].application_id").value(125))
+                .andExpect(jsonPath("$.results[1].status").value("invalid"))
+                .andExpect(jsonPath("$.results[1].errors[0]").value("ssn is required"))
+                .andExpect(jsonPath("$.results[2].application_id").value(124))
+                .andExpect(jsonPath("$.results[2].status").value("processed"));
+    }
+
+    @Test
+    void testCreateBatchRejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/decisions/batch")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Batch is empty"));
+    }
+
+    @Test
+    void testCreateStreamReturnsOneResultLinePerRecord() throws Exception {
+        Map<String, Object> second = getValidRequestData();
+        second.put("applicationId", 124);
+
+        String body = objectMapper.writeValueAsString(getValidRequestData()) + "\n"
+            + "\n"
+            + "{not json\n"
+            + objectMapper.writeValueAsString(second) + "\n";
+
+        String response = mockMvc.perform(post("/api/v1/decisions/stream")
+                .header("API-TOKEN", "test-token-12345")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"status\":\"invalid\"")))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String line : response.lines().toList()) {
+            results.add(objectMapper.readValue(line, new TypeReference<Map<String, Object>>() {}));
+        }
+
+        assertEquals(3, results.size());
+        assertEquals(2, results.stream().filter(result -> "processed".equals(result.get("status"))).count());
+        assertEquals(1, results.stream().filter(result -> Integer.valueOf(1).equals(result.get("index"))
+            && "invalid".equals(result.get("status"))).count());
+    }
+}
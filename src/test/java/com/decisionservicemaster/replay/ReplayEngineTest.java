@@ -0,0 +1,53 @@
+package com.decisionservicemaster.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.decisionservicemaster.service.rule.RuleSnapshot;
+import com.decisionservicemaster.service.rule.RuleSnapshotRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ReplayEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RuleSnapshot rules(String name, int creditThreshold) throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve(name));
+        Files.writeString(directory.resolve("credit-rule.yml"),
+            "California:\n  enabled: true\n  credit_score_threshold: " + creditThreshold + "\n");
+        Files.writeString(directory.resolve("mortgage-rule.yml"),
+            "California:\n  enabled: false\n");
+        return RuleSnapshotRegistry.compile(directory);
+    }
+
+    private String record(int applicationId, String ssn) {
+        return "{\"applicationId\":" + applicationId + ",\"ssn\":\"" + ssn + "\",\"income\":10000,"
+            + "\"address\":{\"street\":\"212 encounter bay\",\"state\":\"California\",\"county\":\"Butte\"}}";
+    }
+
+    @Test
+    void testReportsFlipsBetweenRuleVersions() throws IOException {
+        Path input = tempDir.resolve("requests.jsonl");
+        Files.writeString(input, String.join("\n",
+            record(1, "123456785"),
+            record(2, "123456789"),
+            "",
+            "{not json"
+        ));
+
+        ReplayEngine engine = new ReplayEngine(rules("baseline", 4), rules("candidate", 6), new ObjectMapper());
+        ReplayReport report = engine.run(input);
+
+        assertEquals(2, report.getRecords());
+        assertEquals(1, report.getInvalid());
+        assertEquals(1, report.getFlippedCount());
+        assertEquals(1, report.getFlips("California", "Butte", "credit_rule", "eligible", "decline"));
+        assertEquals(1, report.getFlips("California", "Butte", "final_decision", "eligible", "decline"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.decisionservicemaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.testutil.TestDataBuilders;
+
+@SpringBootTest(properties = "app.processor.execution-mode=concurrent")
+@ActiveProfiles("test")
+@Transactional
+class ProcessorConcurrentModeTest {
+
+    @Autowired
+    private Processor processor;
+
+    private DecisionRequest alamedaRequest() {
+        DecisionRequest decisionRequest = TestDataBuilders.completeDecisionRequest();
+        decisionRequest.getPrimaryAddress().setState("California");
+        decisionRequest.getPrimaryAddress().setCounty("Alameda");
+        return decisionRequest;
+    }
+
+    @Test
+    void testConcurrentModeMergesDecisionsInRuleOrder() {
+        DecisionRequest processed = processor.process(alamedaRequest());
+
+        assertEquals(2, processed.getDecisions().size());
+        assertEquals("mortgage_rule", processed.getDecisions().get(0).getRuleName());
+        assertEquals("credit_rule", processed.getDecisions().get(1).getRuleName());
+        assertEquals("eligible", processed.getDecisions().get(1).getDecision());
+        assertNotNull(processed.getDecisions().get(0).getRuleSnapshotVersion());
+    }
+
+    @Test
+    void testConcurrentModeAttachesReportsFetchedOnVirtualThreads() {
+        DecisionRequest processed = processor.process(alamedaRequest());
+
+        assertEquals(1, processed.getPrimaryApplicant().getCreditReports().size());
+        assertEquals(9, processed.getPrimaryApplicant().getCreditReports().get(0).getCreditScore());
+    }
+}
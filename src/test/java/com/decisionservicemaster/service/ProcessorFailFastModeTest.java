@@ -0,0 +1,72 @@
+package com.decisionservicemaster.service;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.decisionservicemaster.service.rule.AdaptiveRuleOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.decisionservicemaster.testutil.TestDataBuilders;
+
+@SpringBootTest(properties = "app.processor.execution-mode=fail-fast")
+@ActiveProfiles("test")
+@Transactional
+class ProcessorFailFastModeTest {
+
+    @Autowired
+    private Processor processor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdaptiveRuleOrder adaptiveRuleOrder;
+
+    @Test
+    void testRulesAfterDeclineAreSkippedWithoutFetchingReports() {
+        DecisionRequest decisionRequest = TestDataBuilders.completeDecisionRequest();
+        decisionRequest.getPrimaryAddress().setState("California");
+        decisionRequest.getPrimaryAddress().setCounty("Alameda");
+        double avoidedBefore = avoidedCreditFetches();
+
+        DecisionRequest processed = processor.process(decisionRequest);
+
+        assertEquals(2, processed.getDecisions().size());
+        assertEquals("mortgage_rule", processed.getDecisions().get(0).getRuleName());
+        assertEquals("decline", processed.getDecisions().get(0).getDecision());
+        assertEquals("credit_rule", processed.getDecisions().get(1).getRuleName());
+        assertEquals("skipped", processed.getDecisions().get(1).getDecision());
+        assertEquals("decline", DecisionRequest.finalDecisionOf(processed.getDecisions()));
+        // The credit bureau was never called
+        assertTrue(processed.getPrimaryApplicant().getCreditReports().isEmpty());
+        assertEquals(avoidedBefore + 1, avoidedCreditFetches());
+    }
+
+    @Test
+    void testUnknownStateIsNotKeyedInRuleOrder() {
+        DecisionRequest decisionRequest = TestDataBuilders.completeDecisionRequest();
+        String state = "Atlantis-" + System.nanoTime();
+        decisionRequest.getPrimaryAddress().setState(state);
+
+        processor.process(decisionRequest);
+
+        Map<?, ?> orders = (Map<?, ?>) ReflectionTestUtils.getField(adaptiveRuleOrder, "orders");
+        Map<?, ?> stats = (Map<?, ?>) ReflectionTestUtils.getField(adaptiveRuleOrder, "stats");
+        assertFalse(orders.containsKey(state));
+        stats.values().forEach(byState -> assertFalse(((Map<?, ?>) byState).containsKey(state)));
+    }
+
+    private double avoidedCreditFetches() {
+        var counter = meterRegistry.find("decision.report.avoided").tag("report_type", "Credit").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
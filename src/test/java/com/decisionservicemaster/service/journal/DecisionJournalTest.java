@@ -0,0 +1,196 @@
+package com.decisionservicemaster.service.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.decisionservicemaster.domain.entity.DecisionRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class DecisionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<DecisionRequest> persisted = new CopyOnWriteArrayList<>();
+    private DecisionJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    private DecisionJournal open(DecisionJournal.Persister persister) {
+        return open(persister, Duration.ofSeconds(5));
+    }
+
+    private DecisionJournal open(DecisionJournal.Persister persister, Duration appendTimeout) {
+        DecisionJournal opened = new DecisionJournal(new ObjectMapper(), true, directory, 16, 10, 2,
+            1024 * 1024, Duration.ofMillis(50), appendTimeout, persister);
+        opened.start();
+        return opened;
+    }
+
+    private static JournalEntry entry(int applicationId) {
+        return entry(applicationId, "first");
+    }
+
+    private static JournalEntry entry(int applicationId, String firstName) {
+        return new JournalEntry(applicationId, "eligible",
+            List.of(new JournalEntry.AddressRecord("212 encounter bay", null, "bay view", "12345", "CA", "chapara",
+                List.of(new JournalEntry.MortgageReportRecord(100000, 0, "yes")))),
+            List.of(new JournalEntry.ApplicantRecord(firstName, "last", "encrypted", "iv", 10000.0, "salary",
+                100000.0, List.of(800))),
+            List.of(new JournalEntry.DecisionRecord("credit_rule", "eligible", null, "v1")));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the journal to drain");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testAppendedEntriesAreDrained() throws InterruptedException {
+        journal = open(persisted::addAll);
+
+        journal.append(entry(1));
+        journal.append(entry(2));
+        await(() -> persisted.size() == 2);
+
+        DecisionRequest first = persisted.get(0);
+        assertEquals(1, first.getApplicationId());
+        assertEquals("eligible", first.getDecision());
+        assertSame(first, first.getAddresses().get(0).getDecisionRequest());
+        assertEquals(800, first.getApplicants().get(0).getCreditReports().get(0).getCreditScore());
+        assertEquals("v1", first.getDecisions().get(0).getRuleSnapshotVersion());
+    }
+
+    @Test
+    void testUndrainedEntriesAreReplayedOnRestart() throws InterruptedException {
+        journal = open(requests -> {
+            throw new IllegalStateException("database down");
+        });
+        journal.append(entry(1));
+        journal.append(entry(2));
+        journal.stop();
+
+        journal = open(persisted::addAll);
+        await(() -> persisted.size() == 2);
+        assertEquals(List.of(1, 2), persisted.stream().map(DecisionRequest::getApplicationId).toList());
+    }
+
+    @Test
+    void testTornTailIsDiscarded() throws Exception {
+        journal = open(requests -> {
+            throw new IllegalStateException("database down");
+        });
+        journal.append(entry(1));
+        journal.stop();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        Files.write(segment, "0badf00d {\"applicationId\":".getBytes(StandardCharsets.US_ASCII),
+            StandardOpenOption.APPEND);
+
+        journal = open(persisted::addAll);
+        journal.append(entry(2));
+        await(() -> persisted.size() == 2);
+        assertEquals(List.of(1, 2), persisted.stream().map(DecisionRequest::getApplicationId).toList());
+    }
+
+    @Test
+    void testUnpersistableEntryIsDeadLetteredAndLaterEntriesDrain() throws Exception {
+        // Rejects any batch holding an applicant without a first name, as the NOT NULL column would
+        journal = open(requests -> {
+            if (requests.stream().anyMatch(request -> request.getApplicants().get(0).getFirstName() == null)) {
+                throw new DataIntegrityViolationException("NULL not allowed for column FIRST_NAME");
+            }
+            persisted.addAll(requests);
+        });
+
+        journal.append(entry(1));
+        journal.append(entry(2, null));
+        journal.append(entry(3));
+        await(() -> persisted.size() == 2);
+        assertEquals(List.of(1, 3), persisted.stream().map(DecisionRequest::getApplicationId).toList());
+
+        String deadLetters = Files.readString(directory.resolve("dead-letter.journal"), StandardCharsets.US_ASCII);
+        assertTrue(deadLetters.contains("\"applicationId\":2"));
+        assertFalse(deadLetters.contains("\"applicationId\":1"));
+
+        journal.append(entry(4));
+        await(() -> persisted.size() == 3);
+        assertEquals(4, persisted.get(2).getApplicationId());
+
+        // The checkpoint moved past the dead-lettered entry, so a restart does not retry it
+        journal.stop();
+        persisted.clear();
+        journal = open(persisted::addAll);
+        journal.append(entry(5));
+        await(() -> persisted.size() == 1);
+        Thread.sleep(100);
+        assertEquals(List.of(5), persisted.stream().map(DecisionRequest::getApplicationId).toList());
+    }
+
+    @Test
+    void testTimedOutAppendIsNeverDrained() throws Exception {
+        // With no time to wait, some appends are withdrawn before the writer takes them
+        journal = open(persisted::addAll, Duration.ZERO);
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            try {
+                journal.append(entry(i));
+                accepted.add(i);
+            } catch (IllegalStateException e) {
+                // Timed out; the caller saves this one itself
+            }
+        }
+        journal.stop();
+
+        journal = open(persisted::addAll);
+        await(() -> persisted.size() >= accepted.size());
+        Thread.sleep(100);
+        assertEquals(accepted, persisted.stream().map(DecisionRequest::getApplicationId).toList());
+    }
+
+    @Test
+    void testTornTailOfClosedSegmentIsSkipped() throws Exception {
+        journal = open(requests -> {
+            throw new IllegalStateException("database down");
+        });
+        journal.append(entry(1));
+        journal.stop();
+
+        // Recovery only repairs the last segment, so leave the fragment in one that is already closed
+        Files.write(directory.resolve(String.format("segment-%020d.journal", 1)),
+            "0badf00d {\"applicationId\":".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+        Files.createFile(directory.resolve(String.format("segment-%020d.journal", 2)));
+
+        journal = open(persisted::addAll);
+        journal.append(entry(2));
+        await(() -> persisted.size() == 2);
+        assertEquals(List.of(1, 2), persisted.stream().map(DecisionRequest::getApplicationId).toList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.decisionservicemaster.service.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PropertyDataServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PropertyDataService propertyDataService;
+
+    @AfterEach
+    void tearDown() {
+        propertyDataService.close();
+    }
+
+    private PropertyDataService open(int maxEdits) {
+        PropertyDataService opened = new PropertyDataService(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(opened, "maxEdits", maxEdits);
+        opened.init();
+        return opened;
+    }
+
+    private double fuzzyMatches() {
+        return meterRegistry.get("decision.report.address.fuzzy").counter().count();
+    }
+
+    @Test
+    void testTypoDoesNotMatchByDefault() {
+        propertyDataService = new PropertyDataService(new ObjectMapper(), meterRegistry);
+        propertyDataService.init();
+
+        assertFalse(propertyDataService.call("2233 Ashbourne Drive").isEmpty());
+        assertThrows(PropertyDataService.ReportNotFoundException.class,
+            () -> propertyDataService.call("2233 Ashborne Drive"));
+        assertEquals(0.0, fuzzyMatches());
+    }
+
+    @Test
+    void testFuzzyMatchIsOptInAndCounted() {
+        propertyDataService = open(1);
+
+        assertEquals(propertyDataService.call("2233 Ashbourne Drive"), propertyDataService.call("2233 Ashborne Drive"));
+        assertEquals(1.0, fuzzyMatches());
+    }
+}
@@ -0,0 +1,99 @@
+package com.decisionservicemaster.service.report;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ReportCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportCache reportCache;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reportCache = new ReportCache(new MockEnvironment(), meterRegistry);
+        ReflectionTestUtils.setField(reportCache, "enabled", true);
+        ReflectionTestUtils.setField(reportCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(reportCache, "defaultTtl", Duration.ofMinutes(15));
+        calls = new AtomicInteger();
+    }
+
+    private CompletableFuture<Map<String, Object>> load() {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture(Map.of("credit_score", 9));
+    }
+
+    @Test
+    void testRepeatedLookupsHitProviderOnce() {
+        reportCache.get("Credit", "key", this::load);
+        reportCache.get("Credit", "key", this::load);
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        CompletionException failure = assertThrows(CompletionException.class, () ->
+            reportCache.get("Credit", "missing", () -> CompletableFuture.failedFuture(
+                new ApplicantDataService.ReportNotFoundException("not found"))).join());
+        assertInstanceOf(ApplicantDataService.ReportNotFoundException.class, failure.getCause());
+
+        reportCache.get("Credit", "missing", this::load);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testNullKeyBypassesCache() {
+        reportCache.get("Credit", null, this::load);
+        reportCache.get("Credit", null, this::load);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testProviderCallStartsOutsideTheCacheLock() {
+        AtomicReference<CompletableFuture<Map<String, Object>>> nested = new AtomicReference<>();
+        CompletableFuture<Map<String, Object>> first = reportCache.get("Credit", "key", () -> {
+            // Under the cache's compute lock this lookup of the same key would be a recursive update
+            nested.set(reportCache.get("Credit", "key", this::load));
+            return load();
+        });
+
+        assertSame(first, nested.get());
+        assertEquals(9, first.join().get("credit_score"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testHashKeyDoesNotExposeValue() throws NoSuchAlgorithmException {
+        String hashed = ReportCache.hashKey("123456789");
+
+        assertEquals(64, hashed.length());
+        assertNotEquals("123456789", hashed);
+        assertEquals(hashed, ReportCache.hashKey("123456789"));
+        // Keyed, so the hash of a guessed SSN does not match
+        assertNotEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+            .digest("123456789".getBytes(StandardCharsets.UTF_8))), hashed);
+    }
+}
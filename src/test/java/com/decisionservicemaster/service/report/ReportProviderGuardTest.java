@@ -0,0 +1,156 @@
+package com.decisionservicemaster.service.report;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ReportProviderGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private ReportProviderGuard guard;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        guard = new ReportProviderGuard(new MockEnvironment()
+            .withProperty("app.reports.resilience.mortgage.max-concurrent-calls", "1"), meterRegistry, clock::get);
+        ReflectionTestUtils.setField(guard, "windowSize", 4);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(guard, "openDuration", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(guard, "halfOpenProbes", 2);
+        calls = new AtomicInteger();
+    }
+
+    private Map<String, Object> succeed() {
+        calls.incrementAndGet();
+        return Map.of("credit_score", 9);
+    }
+
+    private Map<String, Object> fail() {
+        calls.incrementAndGet();
+        throw new IllegalStateException("Credit bureau returned HTTP 503");
+    }
+
+    private void callQuietly(Supplier<Map<String, Object>> providerCall) {
+        try {
+            guard.call("Credit", providerCall);
+        } catch (RuntimeException e) {
+            // Expected provider failure
+        }
+    }
+
+    private double circuit(String state) {
+        return meterRegistry.get("decision.report.circuit").tag("report_type", "Credit").tag("state", state)
+            .gauge().value();
+    }
+
+    @Test
+    void testCircuitOpensAndRejectsWithoutCallingProvider() {
+        callQuietly(this::succeed);
+        callQuietly(this::succeed);
+        callQuietly(this::fail);
+        callQuietly(this::fail);
+        assertEquals(ReportProviderGuard.State.OPEN, guard.state("Credit"));
+        assertEquals(1.0, circuit("open"));
+        assertEquals(0.0, circuit("closed"));
+
+        ReportProviderGuard.ProviderUnavailableException e = assertThrows(
+            ReportProviderGuard.ProviderUnavailableException.class, () -> guard.call("Credit", this::succeed));
+        assertEquals(ReportProviderGuard.REJECTED_CIRCUIT_OPEN, e.getReason());
+        assertEquals(4, calls.get());
+        assertEquals(1.0, meterRegistry.get("decision.report.rejected").tag("reason", "circuit-open")
+            .counter().count());
+    }
+
+    @Test
+    void testNotFoundIsNotAFailure() {
+        for (int i = 0; i < 4; i++) {
+            callQuietly(() -> {
+                throw new ApplicantDataService.ReportNotFoundException("not found");
+            });
+        }
+        assertEquals(ReportProviderGuard.State.CLOSED, guard.state("Credit"));
+    }
+
+    @Test
+    void testHalfOpenProbesCloseOrReopenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            callQuietly(this::fail);
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // A failed probe reopens the circuit for another open-duration
+        callQuietly(this::fail);
+        assertEquals(ReportProviderGuard.State.OPEN, guard.state("Credit"));
+        assertThrows(ReportProviderGuard.ProviderUnavailableException.class, () -> guard.call("Credit", this::succeed));
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        guard.call("Credit", this::succeed);
+        assertEquals(ReportProviderGuard.State.HALF_OPEN, guard.state("Credit"));
+        assertEquals(1.0, circuit("half-open"));
+        guard.call("Credit", this::succeed);
+        assertEquals(ReportProviderGuard.State.CLOSED, guard.state("Credit"));
+    }
+
+    @Test
+    void testFullBulkheadRejectsOtherCallsOfThatProviderOnly() throws InterruptedException {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slowCall = Thread.ofVirtual().start(() -> guard.call("Mortgage", () -> {
+            inCall.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("pending_mortgage_amount", "20000");
+        }));
+        assertTrue(inCall.await(5, TimeUnit.SECONDS));
+
+        ReportProviderGuard.ProviderUnavailableException e = assertThrows(
+            ReportProviderGuard.ProviderUnavailableException.class, () -> guard.call("Mortgage", this::succeed));
+        assertEquals(ReportProviderGuard.REJECTED_BULKHEAD_FULL, e.getReason());
+        guard.call("Credit", this::succeed);
+
+        release.countDown();
+        slowCall.join();
+        guard.call("Mortgage", this::succeed);
+        assertEquals(2, calls.get());
+        assertEquals(ReportProviderGuard.State.CLOSED, guard.state("Mortgage"));
+    }
+
+    @Test
+    void testAsyncCallHoldsBulkheadUntilItCompletes() {
+        CompletableFuture<Map<String, Object>> answer = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> pending = guard.callAsync("Mortgage", () -> answer);
+
+        CompletionException e = assertThrows(CompletionException.class,
+            () -> guard.callAsync("Mortgage", () -> CompletableFuture.completedFuture(succeed())).join());
+        assertEquals(ReportProviderGuard.REJECTED_BULKHEAD_FULL,
+            ((ReportProviderGuard.ProviderUnavailableException) e.getCause()).getReason());
+
+        answer.complete(Map.of("pending_mortgage_amount", "20000"));
+        assertEquals("20000", pending.join().get("pending_mortgage_amount"));
+        guard.callAsync("Mortgage", () -> CompletableFuture.completedFuture(succeed())).join();
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,49 @@
+package com.decisionservicemaster.service.report.address;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class AddressIndexTest {
+
+    private final AddressIndex index = AddressIndex.build(List.of(
+        "212_encounter_bay",
+        "977_stannage_avenue",
+        "978_stannage_avenue",
+        "1313_lee_street",
+        "2233_ashbourne_dr",
+        "40_oak_ln",
+        "40_oak_ct")::forEach);
+
+    @Test
+    void testNormalizerAppliesUspsAbbreviations() {
+        assertEquals("2233_ashbourne_dr", StreetNormalizer.normalize("  2233 Ashbourne Drive. "));
+        assertEquals("1313_lee_st_apt_4", StreetNormalizer.normalize("1313 Lee Street, Apt #4"));
+        assertEquals("1313_lee_st_unit_4", StreetNormalizer.normalize("1313 Lee St #4"));
+        assertEquals("10_n_main_st_ste_200", StreetNormalizer.normalize("10 NORTH Main Street Suite 200"));
+        assertEquals("212_encounter_bay", StreetNormalizer.normalize("212 encounter bay"));
+        assertEquals("", StreetNormalizer.normalize(" - "));
+    }
+
+    @Test
+    void testExactLookupMatchesSpellingVariants() {
+        assertEquals(7, index.size());
+        assertEquals("977_stannage_avenue", index.find(StreetNormalizer.normalize("977 Stannage Ave"), 0));
+        assertEquals("2233_ashbourne_dr", index.find(StreetNormalizer.normalize("2233 Ashbourne Drive"), 0));
+        assertNull(index.find(StreetNormalizer.normalize("2233 Ashborne Drive"), 0));
+    }
+
+    @Test
+    void testFuzzyLookupKeepsHouseNumberAndRejectsAmbiguousMatches() {
+        assertEquals("2233_ashbourne_dr", index.find(StreetNormalizer.normalize("2233 Ashborne Drive"), 1));
+        assertEquals("977_stannage_avenue", index.find(StreetNormalizer.normalize("977 Stanage Ave"), 1));
+        // A typo in the house number never matches a neighbour
+        assertNull(index.find(StreetNormalizer.normalize("979 Stannage Ave"), 1));
+        assertNull(index.find(StreetNormalizer.normalize("123 Encounter Bay"), 2));
+        // "oak_lt" is one edit from both "oak_ln" and "oak_ct"
+        assertNull(index.find("40_oak_lt", 1));
+        assertNull(index.find(StreetNormalizer.normalize("2233 Ashbrne Drive"), 1));
+    }
+}
@@ -0,0 +1,100 @@
+package com.decisionservicemaster.service.report.http;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.decisionservicemaster.service.DecisionMetrics;
+import com.decisionservicemaster.service.report.ApplicantDataService;
+import com.decisionservicemaster.service.report.PropertyDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ReportHttpClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReportHttpClient client(MockEnvironment environment) {
+        // Durations are converted the way the application environment converts them
+        environment.setConversionService(new ApplicationConversionService());
+        ReportHttpClient client = new ReportHttpClient(environment, objectMapper, new DecisionMetrics(meterRegistry));
+        ReflectionTestUtils.setField(client, "provider", ReportHttpClient.PROVIDER_HTTP);
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        return client;
+    }
+
+    @Test
+    void testReportsAreServedByTheStubServer() throws IOException {
+        ApplicantDataService applicantDataService = new ApplicantDataService(objectMapper);
+        applicantDataService.init();
+        PropertyDataService propertyDataService = new PropertyDataService(objectMapper);
+        propertyDataService.init();
+        ReportStubServer stub = new ReportStubServer(applicantDataService, propertyDataService, objectMapper,
+            true, 0, Duration.ZERO, Duration.ZERO, 0, Duration.ZERO);
+        stub.start();
+        String baseUrl = "http://127.0.0.1:" + stub.getPort();
+        ReportHttpClient client = client(new MockEnvironment()
+            .withProperty("app.reports.http.credit.url", baseUrl + "/credit")
+            .withProperty("app.reports.http.mortgage.url", baseUrl + "/property"));
+        try {
+            assertEquals(9, client.postAsync("Credit", Map.of("ssn", "123456789")).join().get("credit_score"));
+            assertNull(client.postAsync("Credit", Map.of("ssn", "000000000")).join());
+            assertEquals("20000", client.postAsync("Mortgage", Map.of("street", "2233 Ashbourne Drive"))
+                .join().get("pending_mortgage_amount"));
+        } finally {
+            client.close();
+            stub.stop();
+            applicantDataService.close();
+            propertyDataService.close();
+        }
+    }
+
+    @Test
+    void testSlowRequestIsHedged() throws IOException {
+        // The first request stalls; the hedge sent after 50ms is answered at once
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/credit", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                if (requests.incrementAndGet() == 1) {
+                    Thread.sleep(3000);
+                }
+                byte[] body = "{\"credit_score\": 7}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException | IOException e) {
+                // Cancelled attempt
+            }
+        });
+        server.start();
+        ReportHttpClient client = client(new MockEnvironment()
+            .withProperty("app.reports.http.credit.url", "http://127.0.0.1:" + server.getAddress().getPort() + "/credit")
+            .withProperty("app.reports.http.credit.timeout", "5s")
+            .withProperty("app.reports.http.credit.hedge-after", "50ms"));
+        try {
+            long start = System.nanoTime();
+            assertEquals(7, client.postAsync("Credit", Map.of("ssn", "123456787")).join().get("credit_score"));
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+            assertEquals(1, meterRegistry.get("decision.report.hedged").tag("report_type", "Credit").counter().count());
+        } finally {
+            client.close();
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.decisionservicemaster.service.report.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ReportStore build(String json) throws IOException {
+        Path file = directory.resolve("test.store");
+        new ReportStoreBuilder(new JsonFactory())
+            .build(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), file);
+        return ReportStore.open(file);
+    }
+
+    @Test
+    void testRecordsDecodeToJacksonValueTypes() throws IOException {
+        try (ReportStore store = build("""
+                {"123456789": {"credit_score": 9, "balance": 12345678901, "ratio": 0.5,
+                               "other_data": "abc", "verified": true, "note": null},
+                 "212_encounter_bay": {"total_mortgage_amount": "100000"}}
+                """)) {
+            assertEquals(2, store.size());
+            Map<String, Object> credit = store.get("123456789");
+            assertEquals(9, credit.get("credit_score"));
+            assertEquals(12345678901L, credit.get("balance"));
+            assertEquals(0.5, credit.get("ratio"));
+            assertEquals("abc", credit.get("other_data"));
+            assertEquals(true, credit.get("verified"));
+            assertNull(credit.get("note"));
+            assertEquals(6, credit.size());
+            assertEquals(Map.of("total_mortgage_amount", "100000"), store.get("212_encounter_bay"));
+            assertNull(store.get("000000000"));
+        }
+    }
+
+    @Test
+    void testEveryKeyIsFoundInALargeStore() throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 20_000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"ssn-").append(i).append("\": {\"credit_score\": ").append(i).append('}');
+        }
+        try (ReportStore store = build(json.append('}').toString())) {
+            for (int i = 0; i < 20_000; i++) {
+                assertEquals(i, store.get("ssn-" + i).get("credit_score"));
+            }
+            assertNull(store.get("ssn-20000"));
+        }
+    }
+
+    @Test
+    void testDuplicateKeysAndNestedValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> build("{\"a\": {\"x\": 1}, \"a\": {\"x\": 2}}"));
+        assertThrows(IllegalArgumentException.class, () -> build("{\"a\": {\"x\": {\"y\": 1}}}"));
+    }
+}
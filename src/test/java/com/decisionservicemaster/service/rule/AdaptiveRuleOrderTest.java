@@ -0,0 +1,77 @@
+package com.decisionservicemaster.service.rule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveRuleOrderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveRuleOrder adaptiveRuleOrder;
+    private RuleRegistry.Plan plan;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adaptiveRuleOrder = new AdaptiveRuleOrder(meterRegistry, true, Duration.ofSeconds(30), 4, 10, 0.5);
+        plan = new RuleRegistry(List.of(
+            RuleDefinition.of("mortgage_rule", List.of(), MortgageRule::new),
+            RuleDefinition.of("credit_rule", List.of(), CreditRule::new),
+            RuleDefinition.of("limit_rule", List.of("mortgage_rule"), MortgageRule::new)))
+            .plan(new RuleSnapshot("v1", "test", Instant.now(), Map.of()));
+    }
+
+    private void record(String ruleName, String state, int times, long nanos, int declines) {
+        for (int i = 0; i < times; i++) {
+            adaptiveRuleOrder.record(ruleName, state, nanos, i < declines);
+        }
+    }
+
+    @Test
+    void testCheapFrequentlyDecliningRuleMovesFirstWithinItsLevel() {
+        record("mortgage_rule", "California", 20, 10_000, 2);
+        record("credit_rule", "California", 20, 1_000, 10);
+        record("limit_rule", "California", 20, 1, 20);
+
+        assertEquals(List.of("mortgage_rule", "credit_rule", "limit_rule"), adaptiveRuleOrder.order(plan, "California"));
+
+        adaptiveRuleOrder.recompute();
+
+        // limit_rule is the cheapest but depends on mortgage_rule
+        assertEquals(List.of("credit_rule", "mortgage_rule", "limit_rule"), adaptiveRuleOrder.order(plan, "California"));
+        // Too few samples for Texas: falls back to the ranks over all states
+        record("mortgage_rule", "Texas", 2, 1, 2);
+        adaptiveRuleOrder.recompute();
+        assertEquals(List.of("credit_rule", "mortgage_rule", "limit_rule"), adaptiveRuleOrder.order(plan, "Texas"));
+        assertEquals(0, meterRegistry.get("decision.rule.order")
+            .tags("rule", "credit_rule", "state", "California").gauge().value());
+    }
+
+    @Test
+    void testLevelWithoutEnoughSamplesKeepsDeclaredOrder() {
+        record("credit_rule", "California", 20, 1, 20);
+        record("mortgage_rule", "California", 5, 1_000_000, 0);
+
+        adaptiveRuleOrder.recompute();
+
+        assertEquals(List.of("mortgage_rule", "credit_rule", "limit_rule"), adaptiveRuleOrder.order(plan, "California"));
+    }
+
+    @Test
+    void testEveryNthRequestExplores() {
+        assertFalse(adaptiveRuleOrder.explore());
+        assertFalse(adaptiveRuleOrder.explore());
+        assertFalse(adaptiveRuleOrder.explore());
+        assertTrue(adaptiveRuleOrder.explore());
+        assertFalse(AdaptiveRuleOrder.disabled().explore());
+    }
+}
@@ -0,0 +1,88 @@
+package com.decisionservicemaster.service.rule;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class RuleIndexCompilerTest {
+
+    private RuleIndex compile() {
+        Map<String, Object> configs = Map.of(
+            "California", Map.of(
+                "enabled", false,
+                "mortgage_threshold", 4,
+                "counties", Map.of(
+                    "Alameda", Map.of("enabled", true, "mortgage_threshold", 10),
+                    "Butte", Map.of("enabled", true)
+                )
+            ),
+            "Florida", Map.of(
+                "enabled", true,
+                "mortgage_threshold", 5,
+                "counties", Map.of()
+            )
+        );
+        return RuleIndexCompiler.compile("mortgage_rule", configs, "mortgage_threshold");
+    }
+
+    @Test
+    void testCountyValuesOverrideStateDefaults() {
+        RuleConfig config = compile().lookup("California", "Alameda");
+
+        assertTrue(config.isEnabled());
+        assertEquals(10, config.getThreshold());
+    }
+
+    @Test
+    void testCountyInheritsMissingFieldsFromState() {
+        RuleConfig config = compile().lookup("California", "Butte");
+
+        assertTrue(config.isEnabled());
+        assertEquals(4, config.getThreshold());
+    }
+
+    @Test
+    void testUnlistedCountyFallsBackToState() {
+        RuleConfig config = compile().lookup("California", "Kern");
+
+        assertFalse(config.isEnabled());
+        assertEquals(4, config.getThreshold());
+        assertEquals(5, compile().lookup("Florida", null).getThreshold());
+    }
+
+    @Test
+    void testUnknownStateIsDisabled() {
+        assertSame(RuleConfig.DISABLED, compile().lookup("Texas", "Travis"));
+        assertSame(RuleConfig.DISABLED, compile().lookup(null, null));
+        assertNull(RuleConfig.DISABLED.getThreshold());
+    }
+
+    @Test
+    void testSlotsExposeConfigsAsPrimitives() {
+        RuleIndex index = compile();
+        int alameda = index.slot("California", "Alameda");
+        int unlisted = index.slot("California", "Unlisted");
+
+        assertTrue(index.isEnabled(alameda));
+        assertEquals(10, index.threshold(alameda));
+        assertEquals(index.slot("California", null), unlisted);
+        assertFalse(index.isEnabled(unlisted));
+        assertEquals(RuleIndex.NO_SLOT, index.slot("Texas", "Travis"));
+        assertFalse(index.isEnabled(RuleIndex.NO_SLOT));
+        assertEquals(0, index.threshold(RuleIndex.NO_SLOT));
+    }
+
+    @Test
+    void testInvalidThresholdFailsCompilation() {
+        Map<String, Object> configs = Map.of("Florida", Map.of("enabled", true, "mortgage_threshold", "high"));
+
+        assertThrows(IllegalStateException.class,
+            () -> RuleIndexCompiler.compile("mortgage_rule", configs, "mortgage_threshold"));
+    }
+}
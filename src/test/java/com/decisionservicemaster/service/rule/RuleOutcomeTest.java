@@ -0,0 +1,29 @@
+package com.decisionservicemaster.service.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class RuleOutcomeTest {
+
+    @Test
+    void testCreditScoreAtThresholdDeclines() {
+        assertEquals(RuleOutcome.DECLINE, CreditRule.decide(600, 600));
+        assertEquals(RuleOutcome.ELIGIBLE, CreditRule.decide(601, 600));
+        assertEquals(RuleOutcome.DECLINE, CreditRule.decide(CreditRule.NO_SCORE, 0));
+    }
+
+    @Test
+    void testPendingMortgageAtIncomeMultipleIsEligible() {
+        assertEquals(RuleOutcome.ELIGIBLE, MortgageRule.decide(40000, 10000.0, 4));
+        assertEquals(RuleOutcome.DECLINE, MortgageRule.decide(40001, 10000.0, 4));
+        assertEquals(RuleOutcome.DECLINE, MortgageRule.decide(MortgageRule.NO_PENDING_MORTGAGE, 10000.0, 4));
+        assertEquals(RuleOutcome.DECLINE, MortgageRule.decide(0, Double.NaN, 4));
+    }
+
+    @Test
+    void testValuesMatchStoredDecisionStrings() {
+        assertEquals("eligible", RuleOutcome.ELIGIBLE.value());
+        assertEquals("decline", RuleOutcome.DECLINE.value());
+        assertEquals("unavailable", RuleOutcome.UNAVAILABLE.value());
+    }
+}
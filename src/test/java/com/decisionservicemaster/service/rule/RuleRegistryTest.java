@@ -0,0 +1,49 @@
+package com.decisionservicemaster.service.rule;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class RuleRegistryTest {
+
+    private static RuleDefinition rule(String ruleName, String... dependsOn) {
+        return RuleDefinition.of(ruleName, List.of(dependsOn), MortgageRule::new);
+    }
+
+    private static final RuleSnapshot NO_EXPRESSION_RULES = new RuleSnapshot("v1", "test", Instant.now(), Map.of());
+
+    @Test
+    void testRulesArePlannedInDependencyLevels() {
+        RuleRegistry registry = new RuleRegistry(List.of(
+            rule("income_rule", "credit_rule"),
+            rule("credit_rule"),
+            rule("fraud_rule"),
+            rule("limit_rule", "income_rule", "fraud_rule")));
+
+        RuleRegistry.Plan plan = registry.plan(NO_EXPRESSION_RULES);
+
+        assertEquals(List.of(List.of("credit_rule", "fraud_rule"), List.of("income_rule"), List.of("limit_rule")),
+                     plan.levels());
+        assertEquals(List.of("credit_rule", "fraud_rule", "income_rule", "limit_rule"), plan.ruleNames());
+    }
+
+    @Test
+    void testBuiltInRulesKeepTheirOrder() {
+        assertEquals(List.of("mortgage_rule", "credit_rule"), RuleRegistry.standalone().ruleNames(NO_EXPRESSION_RULES));
+    }
+
+    @Test
+    void testInvalidDependenciesAreRejected() {
+        IllegalStateException cycle = assertThrows(IllegalStateException.class, () -> new RuleRegistry(List.of(
+            rule("a_rule", "b_rule"), rule("b_rule", "a_rule"))));
+        assertTrue(cycle.getMessage().contains("cycle"));
+
+        assertThrows(IllegalStateException.class, () -> new RuleRegistry(List.of(rule("a_rule", "missing_rule"))));
+        assertThrows(IllegalStateException.class, () -> new RuleRegistry(List.of(rule("a_rule"), rule("a_rule"))));
+    }
+}
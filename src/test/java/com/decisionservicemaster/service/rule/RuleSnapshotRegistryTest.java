@@ -0,0 +1,86 @@
+package com.decisionservicemaster.service.rule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RuleSnapshotRegistryTest {
+
+    @TempDir
+    Path rulesDirectory;
+
+    private RuleSnapshotRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeRules(4);
+        registry = new RuleSnapshotRegistry();
+        ReflectionTestUtils.setField(registry, "rulesDirectory", rulesDirectory.toString());
+        registry.init();
+    }
+
+    private void writeRules(int creditThreshold) throws IOException {
+        Files.writeString(rulesDirectory.resolve("credit-rule.yml"),
+            "Florida:\n  enabled: true\n  credit_score_threshold: " + creditThreshold + "\n");
+        Files.writeString(rulesDirectory.resolve("mortgage-rule.yml"),
+            "Florida:\n  enabled: true\n  mortgage_threshold: 5\n");
+    }
+
+    @Test
+    void testReloadPublishesNewSnapshot() throws IOException {
+        RuleSnapshot before = registry.current();
+
+        writeRules(7);
+
+        assertTrue(registry.reload());
+        RuleSnapshot after = registry.current();
+        assertNotEquals(before.getVersion(), after.getVersion());
+        assertEquals(7, after.getIndex("credit_rule").lookup("Florida", null).getThreshold());
+        // Readers holding the old snapshot keep seeing consistent values
+        assertEquals(4, before.getIndex("credit_rule").lookup("Florida", null).getThreshold());
+    }
+
+    @Test
+    void testReloadWithUnchangedFilesKeepsSnapshot() {
+        RuleSnapshot before = registry.current();
+
+        assertFalse(registry.reload());
+        assertSame(before, registry.current());
+    }
+
+    @Test
+    void testInvalidFileKeepsCurrentSnapshot() throws IOException {
+        RuleSnapshot before = registry.current();
+
+        Files.writeString(rulesDirectory.resolve("credit-rule.yml"), "Florida:\n  enabled: maybe-not\n");
+
+        assertFalse(registry.reload());
+        assertSame(before, registry.current());
+    }
+
+    @Test
+    void testExpressionRulesAreAddedAfterBuiltInRules() throws IOException {
+        assertTrue(registry.current().getExpressionRuleNames().isEmpty());
+
+        Files.writeString(rulesDirectory.resolve("expression-rules.yml"),
+            "loan_rule:\n  eligible_when: \"requested_loan_amount <= income * threshold\"\n"
+                + "  states:\n    Florida:\n      enabled: true\n      threshold: 3\n");
+
+        assertTrue(registry.reload());
+        RuleSnapshot snapshot = registry.current();
+        assertEquals(List.of("loan_rule"), snapshot.getExpressionRuleNames());
+        assertEquals(3, snapshot.getIndex("loan_rule").lookup("Florida", null).getThreshold());
+        assertEquals(List.of("mortgage_rule", "credit_rule", "loan_rule"), RuleRegistry.standalone().ruleNames(snapshot));
+    }
+}
@@ -0,0 +1,108 @@
+package com.decisionservicemaster.service.rule.expression;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.decisionservicemaster.service.rule.MortgageRule;
+import com.decisionservicemaster.service.rule.RuleOutcome;
+
+class ExpressionCompilerTest {
+
+    private record Inputs(double creditScore, double pendingMortgage, double totalMortgage,
+                          double income, double requestedLoanAmount, double ruleThreshold) implements RuleInputs {
+    }
+
+    private static boolean compiled(String source, RuleInputs inputs) {
+        return ExpressionCompiler.compile(ExpressionParser.parse(source, "threshold")).test(inputs);
+    }
+
+    private static boolean interpreted(String source, RuleInputs inputs) {
+        return ExpressionInterpreter.test(ExpressionParser.parse(source, "threshold"), inputs);
+    }
+
+    @Test
+    void testMortgageConditionMatchesHandWrittenRule() {
+        String source = "pending_mortgage <= income * mortgage_threshold";
+        ExpressionCompiler.CompiledCondition condition =
+            ExpressionCompiler.compile(ExpressionParser.parse(source, "mortgage_threshold"));
+
+        double[] pendingMortgages = {0, 39999, 40000, 40001, Double.NaN};
+        double[] incomes = {0, 10000, Double.NaN};
+        for (double pendingMortgage : pendingMortgages) {
+            for (double income : incomes) {
+                Inputs inputs = new Inputs(Double.NaN, pendingMortgage, 0, income, 0, 4);
+                RuleOutcome expected = MortgageRule.decide(
+                    Double.isNaN(pendingMortgage) ? MortgageRule.NO_PENDING_MORTGAGE : (int) pendingMortgage, income, 4);
+                RuleOutcome actual = condition.test(inputs) ? RuleOutcome.ELIGIBLE : RuleOutcome.DECLINE;
+                assertEquals(expected, actual, "pending=" + pendingMortgage + " income=" + income);
+            }
+        }
+    }
+
+    @Test
+    void testCompiledMatchesInterpreter() {
+        List<String> sources = List.of(
+            "credit_score > 600 and not (income * 2 < 10 + 5) or total_mortgage == 0",
+            "-(requested_loan_amount - 100) / 2 >= -income",
+            "(1 + 2) * 3 == 9 && ! (credit_score != 700)",
+            "credit_score != 700 || 2 < 1");
+        double[] values = {0, 4.5, 700, Double.NaN};
+        for (String source : sources) {
+            for (double value : values) {
+                Inputs inputs = new Inputs(value, value, value, value, value, value);
+                assertEquals(interpreted(source, inputs), compiled(source, inputs), source + " at " + value);
+            }
+        }
+        // A missing value fails every comparison, "!=" included
+        assertFalse(compiled("credit_score != 700", new Inputs(Double.NaN, 0, 0, 0, 0, 0)));
+        assertTrue(compiled("not credit_score == 700", new Inputs(Double.NaN, 0, 0, 0, 0, 0)));
+    }
+
+    @Test
+    void testInvalidExpressionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("income * 2", "threshold"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("salary > 1", "threshold"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("income > 1 >", "threshold"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("(income > 1) + 2 > 0", "threshold"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionParser.parse("income > 1 and 2", "threshold"));
+    }
+
+    @Test
+    void testRuleFileCompilesConditionsReportsAndThresholds() {
+        String yaml = """
+            loan_rule:
+              message: "Loan checked against income"
+              threshold_key: loan_threshold
+              eligible_when: "requested_loan_amount <= income * loan_threshold and credit_score > 600"
+              states:
+                California:
+                  enabled: true
+                  loan_threshold: 5
+                  counties:
+                    Alameda:
+                      loan_threshold: 4
+            """;
+
+        ExpressionRuleCompiler.CompiledRules compiled = ExpressionRuleCompiler.compile(
+            new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+
+        ExpressionRuleDefinition definition = compiled.definitions().get("loan_rule");
+        assertEquals("Loan checked against income", definition.message());
+        assertEquals(List.of("Credit"), definition.reportsRequired());
+        assertTrue(definition.condition().test(new Inputs(601, 0, 0, 10000, 50000, 5)));
+        assertFalse(definition.condition().test(new Inputs(601, 0, 0, 10000, 50001, 5)));
+        assertEquals(4, compiled.indexes().get("loan_rule").lookup("California", "Alameda").getThreshold());
+
+        String invalid = "bad_rule:\n  eligible_when: \"income >\"\n";
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ExpressionRuleCompiler.compile(
+            new ByteArrayInputStream(invalid.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(e.getMessage().startsWith("Invalid bad_rule config at eligible_when"));
+    }
+}